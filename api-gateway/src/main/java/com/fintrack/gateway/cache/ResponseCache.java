@@ -0,0 +1,98 @@
+package com.fintrack.gateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Per-user store of cached GET responses
+ * - Entries live for ttl-ms; each user holds at most max-entries-per-user, at most max-users users are cached
+ * - invalidate(userId) swaps the user's whole entry set for an empty one; a response fetched before the swap
+ *   is stored into the old (detached) set and never becomes visible, so a write can't be undone by a slow read
+ */
+@Component
+public class ResponseCache {
+    private final Map<Long, UserEntries> users = new ConcurrentHashMap<>();
+    private final long ttlMs;
+    private final int maxUsers;
+    private final int maxEntriesPerUser;
+
+    public ResponseCache(@Value("${gateway.response-cache.ttl-ms:5000}") long ttlMs,
+                         @Value("${gateway.response-cache.max-users:50000}") int maxUsers,
+                         @Value("${gateway.response-cache.max-entries-per-user:16}") int maxEntriesPerUser) {
+        this.ttlMs = ttlMs;
+        this.maxUsers = maxUsers;
+        this.maxEntriesPerUser = maxEntriesPerUser;
+    }
+
+    // The user's current entry set; pass it back to put() so a concurrent invalidation wins
+    public UserEntries entriesFor(Long userId) {
+        UserEntries entries = users.get(userId);
+        if (entries == null) {
+            if (users.size() >= maxUsers) {
+                users.clear();
+            }
+            entries = users.computeIfAbsent(userId, id -> new UserEntries());
+        }
+        return entries;
+    }
+
+    public CachedResponse get(UserEntries entries, String key, long nowMs) {
+        CachedResponse cached = entries.responses.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.getExpiresAtMs() <= nowMs) {
+            entries.responses.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    public void put(UserEntries entries, String key, CachedResponse response) {
+        if (entries.responses.size() >= maxEntriesPerUser) {
+            entries.responses.clear();
+        }
+        entries.responses.put(key, response);
+    }
+
+    public void invalidate(Long userId) {
+        users.remove(userId);
+    }
+
+    public long getTtlMs() {
+        return ttlMs;
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    public static final class UserEntries {
+        private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+    }
+
+    public static final class CachedResponse {
+        private final byte[] body;
+        private final String contentType;
+        private final long createdAtMs;
+        private final long expiresAtMs;
+
+        public CachedResponse(byte[] body, String contentType, long createdAtMs, long expiresAtMs) {
+            this.body = body;
+            this.contentType = contentType;
+            this.createdAtMs = createdAtMs;
+            this.expiresAtMs = expiresAtMs;
+        }
+
+        public byte[] getBody() { return body; }
+
+        public String getContentType() { return contentType; }
+
+        public long getCreatedAtMs() { return createdAtMs; }
+
+        public long getExpiresAtMs() { return expiresAtMs; }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Short-lived, per-user cache for hot GET routes (transaction list, summary)
+ * - Key: userId + path + raw query; only 200 responses up to max-entry-bytes are stored
+ * - A successful POST/PUT/DELETE by the same user (any route) drops all of that user's cached responses
+ * - Cache-Control: no-cache on the request skips the lookup but still refreshes the entry
+ * Runs after AuthenticationFilter (needs X-User_Id) and RateLimitFilter (hits still count against the budget), and
+ * before NettyWriteResponseFilter: that filter writes the upstream body into the response it was handed, so only a
+ * filter ordered ahead of it gets its decorated response written to.
+ */
+package com.fintrack.gateway.cache;
+
+import com.fintrack.common.security.IdentityAssertion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 3;
+
+    private final ResponseCache cache;
+    private final boolean enabled;
+    private final Set<String> cacheablePaths;
+    private final int maxEntryBytes;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public ResponseCacheFilter(ResponseCache cache,
+                               @Value("${gateway.response-cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.response-cache.paths:/api/transactions,/api/transactions/summary}") String[] cacheablePaths,
+                               @Value("${gateway.response-cache.max-entry-bytes:262144}") int maxEntryBytes,
+                               MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.cache = cache;
+        this.enabled = enabled;
+        this.cacheablePaths = Set.of(cacheablePaths);
+        this.maxEntryBytes = maxEntryBytes;
+        this.hits = meterRegistry.counter("gateway.response.cache", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.response.cache", "result", "miss");
+        this.invalidations = meterRegistry.counter("gateway.response.cache.invalidations");
+        meterRegistry.gauge("gateway.response.cache.users", cache, ResponseCache::size);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String userIdHeader = request.getHeaders().getFirst(IdentityAssertion.USER_ID_HEADER);
+            if (!enabled || userIdHeader == null) {
+                return chain.filter(exchange);
+            }
+            Long userId = Long.valueOf(userIdHeader);
+            HttpMethod method = request.getMethod();
+
+            if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method) || HttpMethod.DELETE.equals(method)) {
+                return chain.filter(exchange).doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        cache.invalidate(userId);
+                        invalidations.increment();
+                    }
+                });
+            }
+
+            String path = request.getPath().value();
+            if (!HttpMethod.GET.equals(method) || !cacheablePaths.contains(path)) {
+                return chain.filter(exchange);
+            }
+
+            String key = request.getURI().getRawQuery() == null ? path : path + "?" + request.getURI().getRawQuery();
+            ResponseCache.UserEntries entries = cache.entriesFor(userId);
+            long now = System.currentTimeMillis();
+            boolean revalidate = "no-cache".equalsIgnoreCase(request.getHeaders().getCacheControl());
+            ResponseCache.CachedResponse cached = revalidate ? null : cache.get(entries, key, now);
+            if (cached != null) {
+                hits.increment();
+                return writeCached(exchange, cached, now);
+            }
+
+            misses.increment();
+            return chain.filter(exchange.mutate().response(new CapturingResponse(exchange.getResponse(), entries, key)).build());
+        }, ORDER);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, ResponseCache.CachedResponse cached, long now) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        HttpHeaders headers = response.getHeaders();
+        if (cached.getContentType() != null) {
+            headers.set(HttpHeaders.CONTENT_TYPE, cached.getContentType());
+        }
+        headers.setContentLength(cached.getBody().length);
+        headers.set(HttpHeaders.AGE, Long.toString((now - cached.getCreatedAtMs()) / 1000));
+        headers.set("X-Cache", "HIT");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    // Buffers the upstream body once so it can be both stored and forwarded
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+        private final ResponseCache.UserEntries entries;
+        private final String key;
+
+        CapturingResponse(ServerHttpResponse delegate, ResponseCache.UserEntries entries, String key) {
+            super(delegate);
+            this.entries = entries;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!HttpStatus.OK.equals(getStatusCode())) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(Flux.from(body)).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                if (bytes.length <= maxEntryBytes) {
+                    long now = System.currentTimeMillis();
+                    cache.put(entries, key, new ResponseCache.CachedResponse(bytes,
+                            getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), now, now + cache.getTtlMs()));
+                }
+                getHeaders().set("X-Cache", "MISS");
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }).switchIfEmpty(Mono.defer(this::setComplete));
+        }
+    }
+
+    public static class Config {
+        // Settings come from gateway.response-cache.*
+    }
+}
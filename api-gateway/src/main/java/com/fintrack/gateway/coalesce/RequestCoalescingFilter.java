@@ -0,0 +1,171 @@
+/*
+ * Single-flight for identical concurrent GETs
+ * - The first GET for (userId, path, query) goes upstream; identical GETs arriving while it is in flight wait for
+ *   its response instead of sending their own, and get a copy (status, upstream headers, body); headers this
+ *   gateway already set on the follower's own response (rate-limit budget, CORS) are kept
+ * - Followers wait at most max-wait-ms, then go upstream themselves; the same happens if the leader fails, is
+ *   cancelled, or its body is larger than max-body-bytes
+ * Nothing outlives the leader's request: this is coalescing, not caching (ResponseCacheFilter does that).
+ * Ordered ahead of NettyWriteResponseFilter, like ResponseCacheFilter, so the leader's body passes through
+ * SharingResponse.
+ */
+package com.fintrack.gateway.coalesce;
+
+import com.fintrack.common.security.IdentityAssertion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final Duration maxWait;
+    private final int maxBodyBytes;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter fallbacks;
+
+    public RequestCoalescingFilter(@Value("${gateway.coalescing.enabled:true}") boolean enabled,
+                                   @Value("${gateway.coalescing.max-wait-ms:2000}") long maxWaitMs,
+                                   @Value("${gateway.coalescing.max-body-bytes:1048576}") int maxBodyBytes,
+                                   MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.enabled = enabled;
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+        this.maxBodyBytes = maxBodyBytes;
+        this.leaders = meterRegistry.counter("gateway.coalescing.requests", "role", "leader");
+        this.coalesced = meterRegistry.counter("gateway.coalescing.requests", "role", "follower");
+        this.fallbacks = meterRegistry.counter("gateway.coalescing.fallbacks");
+        meterRegistry.gaugeMapSize("gateway.coalescing.in-flight", Tags.empty(), inFlight);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String userId = request.getHeaders().getFirst(IdentityAssertion.USER_ID_HEADER);
+            if (!enabled || userId == null || !HttpMethod.GET.equals(request.getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            String query = request.getURI().getRawQuery();
+            String key = userId + " " + request.getPath().value() + (query == null ? "" : "?" + query);
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+            if (leader != null) {
+                coalesced.increment();
+                return leader.asMono()
+                        .timeout(maxWait)
+                        .map(Optional::of)
+                        .onErrorResume(TimeoutException.class, e -> Mono.just(Optional.empty()))
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(shared -> {
+                            if (shared.isPresent()) {
+                                return write(exchange, shared.get());
+                            }
+                            fallbacks.increment();
+                            return chain.filter(exchange);
+                        });
+            }
+
+            leaders.increment();
+            return chain.filter(exchange.mutate().response(new SharingResponse(exchange.getResponse(), sink)).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, sink);
+                        // No-op if the response was already shared; otherwise releases the followers
+                        sink.tryEmitEmpty();
+                    });
+        }, ORDER);
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status);
+        HttpHeaders headers = response.getHeaders();
+        shared.headers.forEach(headers::putIfAbsent);
+        headers.setContentLength(shared.body.length);
+        headers.set("X-Coalesced", "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body)));
+    }
+
+    // Hands the leader's response to the followers before forwarding it
+    private class SharingResponse extends ServerHttpResponseDecorator {
+        private final Sinks.One<SharedResponse> sink;
+
+        SharingResponse(ServerHttpResponse delegate, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(Flux.from(body))
+                    .flatMap(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        share(bytes);
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    })
+                    .switchIfEmpty(Mono.defer(() -> {
+                        share(new byte[0]);
+                        return setComplete();
+                    }));
+        }
+
+        private void share(byte[] bytes) {
+            HttpStatusCode status = getStatusCode();
+            if (status != null && bytes.length <= maxBodyBytes) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.addAll(getHeaders());
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                sink.tryEmitValue(new SharedResponse(status, headers, bytes));
+            }
+        }
+    }
+
+    private static final class SharedResponse {
+        private final HttpStatusCode status;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    public static class Config {
+        // Settings come from gateway.coalescing.*
+    }
+}
@@ -1,42 +1,91 @@
 package com.fintrack.gateway.config;
 
+import com.fintrack.gateway.cache.ResponseCacheFilter;
+import com.fintrack.gateway.coalesce.RequestCoalescingFilter;
+import com.fintrack.gateway.ratelimit.RateLimitFilter;
+import com.fintrack.gateway.resilience.RouteResilienceFilter;
 import com.fintrack.gateway.security.AuthenticationFilter;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.GatewayFilterSpec;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.route.builder.UriSpec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
 
 @Configuration
 public class GatewayConfig {
     private final AuthenticationFilter authenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ResponseCacheFilter responseCacheFilter;
+    private final RequestCoalescingFilter coalescingFilter;
+    private final RouteResilienceFilter resilienceFilter;
+    private final Environment environment;
 
-    @Value("${USER_SERVICE_URL:http://user-service:8081}")
-    private String userServiceUrl;
-
-    @Value("${TRANSACTION_SERVICE_URL:http://transaction-service:8082}")
-    private String transactionServiceUrl;
-
-    public GatewayConfig(AuthenticationFilter authenticationFilter) {
+    public GatewayConfig(AuthenticationFilter authenticationFilter, RateLimitFilter rateLimitFilter,
+                         ResponseCacheFilter responseCacheFilter, RequestCoalescingFilter coalescingFilter,
+                         RouteResilienceFilter resilienceFilter, Environment environment) {
         this.authenticationFilter = authenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.responseCacheFilter = responseCacheFilter;
+        this.coalescingFilter = coalescingFilter;
+        this.resilienceFilter = resilienceFilter;
+        this.environment = environment;
     }
 
+    // lb:// URIs resolve to replicas from gateway.load-balancing.replicas.* (see loadbalancer.UserAffinityLoadBalancer)
     @Bean
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
         return builder.routes()
             // User Service Routes
             .route("user-service", r -> r
                 .path("/api/users/**")
-                .filters(f -> f.filter(authenticationFilter.apply(new AuthenticationFilter.Config())))
-                .uri(userServiceUrl))
+                .metadata(RESPONSE_TIMEOUT_ATTR, responseTimeoutMs("user-service"))
+                .metadata(CONNECT_TIMEOUT_ATTR, connectTimeoutMs("user-service"))
+                .filters(f -> routeFilters(f, "user-service"))
+                .uri("lb://user-service"))
 
             // Transaction Service Routes
             .route("transaction-service", r -> r
                 .path("/api/transactions/**")
-                .filters(f -> f.filter(authenticationFilter.apply(new AuthenticationFilter.Config())))
-                .uri(transactionServiceUrl))
+                .metadata(RESPONSE_TIMEOUT_ATTR, responseTimeoutMs("transaction-service"))
+                .metadata(CONNECT_TIMEOUT_ATTR, connectTimeoutMs("transaction-service"))
+                .filters(f -> routeFilters(f, "transaction-service"))
+                .uri("lb://transaction-service"))
+
+            // Notification Service Routes (user-facing endpoints only, DLT replay stays internal)
+            .route("notification-service", r -> r
+                .path("/api/notifications/alert-rules/**", "/api/notifications/preferences/**",
+                      "/api/notifications/reminders/**", "/api/notifications/inbox/**")
+                .metadata(RESPONSE_TIMEOUT_ATTR, responseTimeoutMs("notification-service"))
+                .metadata(CONNECT_TIMEOUT_ATTR, connectTimeoutMs("notification-service"))
+                .filters(f -> routeFilters(f, "notification-service"))
+                .uri("lb://notification-service"))
             
             .build();
     }
-}
 
+    // Same chain on every route: authenticate, rate limit, serve from cache, coalesce, then isolate the upstream call.
+    // Unordered route filters default to order 0, behind NettyWriteResponseFilter (-1); the response cache, the
+    // coalescing filter and the resilience filter order themselves ahead of it, so authentication and rate limiting
+    // are placed ahead of the cache explicitly.
+    private UriSpec routeFilters(GatewayFilterSpec f, String routeId) {
+        return f
+            .filter(authenticationFilter.apply(new AuthenticationFilter.Config()), ResponseCacheFilter.ORDER - 2)
+            .filter(rateLimitFilter.apply(new RateLimitFilter.Config()), ResponseCacheFilter.ORDER - 1)
+            .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config()))
+            .filter(coalescingFilter.apply(new RequestCoalescingFilter.Config()))
+            .filter(resilienceFilter.apply(new RouteResilienceFilter.Config(routeId)));
+    }
+
+    private int responseTimeoutMs(String routeId) {
+        return environment.getProperty("gateway.routes." + routeId + ".response-timeout-ms", Integer.class, 5000);
+    }
+
+    private int connectTimeoutMs(String routeId) {
+        return environment.getProperty("gateway.routes." + routeId + ".connect-timeout-ms", Integer.class, 2000);
+    }
+}
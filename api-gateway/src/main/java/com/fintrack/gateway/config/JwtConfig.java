@@ -0,0 +1,23 @@
+package com.fintrack.gateway.config;
+
+import com.fintrack.common.security.IdentityAssertion;
+import com.fintrack.common.security.JwtTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JwtConfig {
+    @Bean
+    public JwtTokenService jwtTokenService(@Value("${jwt.secret}") String secret,
+                                           @Value("${jwt.expiration}") long expiration) {
+        return new JwtTokenService(secret, expiration);
+    }
+
+    // Shared with the services: the gateway signs the identity headers, the services verify them
+    @Bean
+    public IdentityAssertion identityAssertion(@Value("${internal-auth.secret}") String secret,
+                                               @Value("${internal-auth.max-age-ms:30000}") long maxAgeMs) {
+        return new IdentityAssertion(secret, maxAgeMs);
+    }
+}
@@ -0,0 +1,56 @@
+package com.fintrack.gateway.loadbalancer;
+
+import com.fintrack.gateway.upstream.UpstreamPoolExhaustedException;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/*
+ * Gives back the in-flight slot UserAffinityLoadBalancer took when it picked an instance
+ * - Runs just outside the load balancer filter, so it sees the chosen instance once the proxied call terminates
+ * - Cancellation (client gone, route timeout) releases too, which the load balancer lifecycle hooks miss
+ * - Errors and 502/503/504 count towards the instance's ejection threshold; cancellations and an exhausted
+ *   gateway-side connection pool count as neither
+ */
+@Component
+public class InstanceLoadReleaseFilter implements GlobalFilter, Ordered {
+    private final InstanceLoadTracker loadTracker;
+
+    public InstanceLoadReleaseFilter(InstanceLoadTracker loadTracker) {
+        this.loadTracker = loadTracker;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return chain.filter(exchange)
+                .doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    release(exchange, status != null
+                            && (status.value() == 502 || status.value() == 503 || status.value() == 504));
+                })
+                // A full gateway-side pool is not the instance's fault
+                .doOnError(e -> release(exchange, !(e instanceof UpstreamPoolExhaustedException)))
+                .doOnCancel(() -> release(exchange, false));
+    }
+
+    private void release(ServerWebExchange exchange, boolean failed) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen != null && chosen.hasServer()) {
+            loadTracker.release(chosen.getServer().getInstanceId(), failed);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+}
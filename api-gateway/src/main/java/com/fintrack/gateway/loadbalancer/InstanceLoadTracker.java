@@ -0,0 +1,62 @@
+package com.fintrack.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * In-flight requests and passive outlier detection per backend instance (keyed by instanceId = base URI)
+ * - acquire() when the load balancer picks an instance, release() when the proxied exchange terminates
+ * - failure-threshold consecutive failures (connect errors, timeouts, 502/503/504) eject the instance for eject-ms;
+ *   after that it is tried again and the first success clears its record
+ */
+@Component
+public class InstanceLoadTracker {
+    private final Map<String, InstanceState> instances = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long ejectMs;
+
+    public InstanceLoadTracker(@Value("${gateway.load-balancing.ejection.failure-threshold:5}") int failureThreshold,
+                               @Value("${gateway.load-balancing.ejection.eject-ms:30000}") long ejectMs) {
+        this.failureThreshold = failureThreshold;
+        this.ejectMs = ejectMs;
+    }
+
+    public void acquire(String instanceId) {
+        state(instanceId).inFlight.incrementAndGet();
+    }
+
+    public void release(String instanceId, boolean failed) {
+        InstanceState state = state(instanceId);
+        state.inFlight.decrementAndGet();
+        if (!failed) {
+            state.consecutiveFailures.set(0);
+        } else if (state.consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            state.ejectedUntil = System.currentTimeMillis() + ejectMs;
+            state.consecutiveFailures.set(0);
+        }
+    }
+
+    public int inFlight(String instanceId) {
+        InstanceState state = instances.get(instanceId);
+        return state != null ? Math.max(0, state.inFlight.get()) : 0;
+    }
+
+    public boolean isEjected(String instanceId, long nowMs) {
+        InstanceState state = instances.get(instanceId);
+        return state != null && state.ejectedUntil > nowMs;
+    }
+
+    private InstanceState state(String instanceId) {
+        return instances.computeIfAbsent(instanceId, id -> new InstanceState());
+    }
+
+    private static final class InstanceState {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long ejectedUntil;
+    }
+}
@@ -0,0 +1,10 @@
+package com.fintrack.gateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+// lb://<service> routes pick a replica with UserAffinityLoadBalancer
+@Configuration
+@LoadBalancerClients(defaultConfiguration = UserAffinityLoadBalancerConfiguration.class)
+public class LoadBalancingConfig {
+}
@@ -0,0 +1,45 @@
+package com.fintrack.gateway.loadbalancer;
+
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replicas from gateway.load-balancing.replicas.<serviceId> (comma-separated base URLs), instanceId = the URL
+public class StaticReplicaListSupplier implements ServiceInstanceListSupplier {
+    private final String serviceId;
+    private final List<ServiceInstance> instances;
+
+    public StaticReplicaListSupplier(String serviceId, String replicas) {
+        this.serviceId = serviceId;
+        List<ServiceInstance> parsed = new ArrayList<>();
+        for (String replica : replicas.split(",")) {
+            String url = replica.trim();
+            if (url.isEmpty()) {
+                continue;
+            }
+            URI uri = URI.create(url);
+            boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+            parsed.add(new DefaultServiceInstance(url, serviceId, uri.getHost(), port, secure));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("No replicas configured for " + serviceId);
+        }
+        this.instances = List.copyOf(parsed);
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Flux.just(instances);
+    }
+}
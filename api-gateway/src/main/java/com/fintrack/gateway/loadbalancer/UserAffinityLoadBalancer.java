@@ -0,0 +1,181 @@
+package com.fintrack.gateway.loadbalancer;
+
+import com.fintrack.common.security.IdentityAssertion;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Consistent hashing on userId with bounded load ("consistent hashing with bounded loads")
+ * - Each replica owns virtual-nodes points on a 64-bit ring; a user maps to the first point clockwise of hash(userId),
+ *   so the same user keeps landing on the same warm replica and adding a replica only moves ~1/n of the users
+ * - No replica may take more than ceil(load-factor * (total in flight + 1) / replicas) requests; a full or ejected
+ *   replica is skipped and the walk continues clockwise, so hot users spill over to the next replica instead of piling up
+ * - Requests without a user (login, register) go to the least-loaded healthy replica
+ * Active health checks (health-check supplier) remove dead replicas from the list; InstanceLoadTracker ejects failing ones.
+ */
+public class UserAffinityLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final InstanceLoadTracker loadTracker;
+    private final double loadFactor;
+    private final int virtualNodes;
+    private volatile Ring ring = Ring.EMPTY;
+
+    public UserAffinityLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    InstanceLoadTracker loadTracker, double loadFactor, int virtualNodes) {
+        this.supplierProvider = supplierProvider;
+        this.loadTracker = loadTracker;
+        this.loadFactor = loadFactor;
+        this.virtualNodes = virtualNodes;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(instances -> {
+            ServiceInstance chosen = select(instances, userKey(request));
+            if (chosen == null) {
+                return new EmptyResponse();
+            }
+            // Released by InstanceLoadReleaseFilter when the exchange terminates
+            loadTracker.acquire(chosen.getInstanceId());
+            return new DefaultResponse(chosen);
+        });
+    }
+
+    // Package-private for tests; null only when there are no instances
+    ServiceInstance select(List<ServiceInstance> instances, String userKey) {
+        if (instances.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (userKey == null) {
+            return leastLoaded(instances, now);
+        }
+
+        Ring current = ring(instances);
+        int totalInFlight = 0;
+        for (ServiceInstance instance : current.instances) {
+            totalInFlight += loadTracker.inFlight(instance.getInstanceId());
+        }
+        int capacity = (int) Math.ceil(loadFactor * (totalInFlight + 1) / current.instances.size());
+
+        int start = current.indexOf(hash(userKey));
+        ServiceInstance firstHealthy = null;
+        for (int step = 0; step < current.owners.length; step++) {
+            ServiceInstance candidate = current.instances.get(current.owners[(start + step) % current.owners.length]);
+            if (loadTracker.isEjected(candidate.getInstanceId(), now)) {
+                continue;
+            }
+            if (firstHealthy == null) {
+                firstHealthy = candidate;
+            }
+            if (loadTracker.inFlight(candidate.getInstanceId()) < capacity) {
+                return candidate;
+            }
+        }
+        // Everything over capacity: keep affinity; everything ejected: fail open to the home replica
+        return firstHealthy != null ? firstHealthy : current.instances.get(current.owners[start]);
+    }
+
+    private ServiceInstance leastLoaded(List<ServiceInstance> instances, long now) {
+        ServiceInstance best = null;
+        int bestLoad = Integer.MAX_VALUE;
+        for (ServiceInstance instance : instances) {
+            int load = loadTracker.inFlight(instance.getInstanceId());
+            if (!loadTracker.isEjected(instance.getInstanceId(), now) && load < bestLoad) {
+                best = instance;
+                bestLoad = load;
+            }
+        }
+        return best != null ? best : instances.get(0);
+    }
+
+    // Rebuilt only when the replica list changes (health checks add or remove replicas)
+    private Ring ring(List<ServiceInstance> instances) {
+        Ring current = ring;
+        if (!current.instances.equals(instances)) {
+            current = Ring.build(instances, virtualNodes);
+            ring = current;
+        }
+        return current;
+    }
+
+    private static String userKey(Request request) {
+        if (request.getContext() instanceof RequestDataContext context && context.getClientRequest() != null) {
+            return context.getClientRequest().getHeaders().getFirst(IdentityAssertion.USER_ID_HEADER);
+        }
+        return null;
+    }
+
+    // FNV-1a followed by a 64-bit finalizer, so consecutive userIds spread over the whole ring
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Ring {
+        private static final Ring EMPTY = new Ring(List.of(), new long[0], new int[0]);
+
+        private final List<ServiceInstance> instances;
+        private final long[] points;
+        private final int[] owners;
+
+        private Ring(List<ServiceInstance> instances, long[] points, int[] owners) {
+            this.instances = instances;
+            this.points = points;
+            this.owners = owners;
+        }
+
+        static Ring build(List<ServiceInstance> instances, int virtualNodes) {
+            int size = instances.size() * virtualNodes;
+            long[][] entries = new long[size][2];
+            int n = 0;
+            for (int i = 0; i < instances.size(); i++) {
+                for (int v = 0; v < virtualNodes; v++) {
+                    entries[n][0] = hash(instances.get(i).getInstanceId() + "#" + v);
+                    entries[n][1] = i;
+                    n++;
+                }
+            }
+            Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+            long[] points = new long[size];
+            int[] owners = new int[size];
+            for (int i = 0; i < size; i++) {
+                points[i] = entries[i][0];
+                owners[i] = (int) entries[i][1];
+            }
+            return new Ring(List.copyOf(instances), points, owners);
+        }
+
+        // First ring point at or after the hash, wrapping around
+        int indexOf(long hash) {
+            int index = Arrays.binarySearch(points, hash);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index == points.length ? 0 : index;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.fintrack.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/*
+ * Per-service load balancer child context (see LoadBalancingConfig)
+ * Deliberately not a @Configuration: component scanning would otherwise register these beans in the main context
+ * for every service at once.
+ */
+public class UserAffinityLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context,
+                                                                   Environment environment) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        String replicas = environment.getProperty("gateway.load-balancing.replicas." + serviceId);
+        if (replicas == null) {
+            throw new IllegalStateException("Missing gateway.load-balancing.replicas." + serviceId);
+        }
+        // Active health checks drop replicas whose health endpoint fails (spring.cloud.loadbalancer.health-check.*)
+        return ServiceInstanceListSupplier.builder()
+                .withBase(new StaticReplicaListSupplier(serviceId, replicas))
+                .withHealthChecks()
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> userAffinityLoadBalancer(Environment environment,
+                                                                        LoadBalancerClientFactory clientFactory,
+                                                                        InstanceLoadTracker loadTracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> suppliers =
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        return new UserAffinityLoadBalancer(suppliers, loadTracker,
+                environment.getProperty("gateway.load-balancing.load-factor", Double.class, 1.25),
+                environment.getProperty("gateway.load-balancing.virtual-nodes", Integer.class, 160));
+    }
+}
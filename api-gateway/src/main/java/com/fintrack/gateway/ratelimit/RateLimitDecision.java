@@ -0,0 +1,31 @@
+package com.fintrack.gateway.ratelimit;
+
+// Outcome of one acquire, with what the rate-limit response headers need
+public class RateLimitDecision {
+    private final boolean allowed;
+    private final long limit;
+    private final long remaining;
+    private final long resetNanos;
+    private final long retryAfterNanos;
+
+    RateLimitDecision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+        this.allowed = allowed;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.resetNanos = resetNanos;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    public boolean isAllowed() { return allowed; }
+
+    // Burst capacity of the bucket
+    public long getLimit() { return limit; }
+
+    public long getRemaining() { return remaining; }
+
+    // Until the bucket is full again
+    public long getResetNanos() { return resetNanos; }
+
+    // Until the next request would be allowed (0 when allowed)
+    public long getRetryAfterNanos() { return retryAfterNanos; }
+}
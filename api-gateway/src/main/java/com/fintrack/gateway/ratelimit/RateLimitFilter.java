@@ -0,0 +1,128 @@
+/*
+ * Per-user and per-IP rate limiting for every route
+ * - Authenticated requests are limited per userId (X-User_Id, set by AuthenticationFilter, which runs first)
+ * - Public requests (login, register, health) are limited per client IP, with a tighter budget
+ * - Every response carries X-RateLimit-Limit / X-RateLimit-Remaining / X-RateLimit-Reset; a 429 adds Retry-After
+ * Budgets are local to this gateway instance. With several instances behind a load balancer, set
+ * gateway.rate-limit.instances and each instance enforces its share (there is no shared store such as Redis to sync through).
+ */
+package com.fintrack.gateway.ratelimit;
+
+import com.fintrack.common.security.IdentityAssertion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> {
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final RateLimiterRegistry userLimits;
+    private final RateLimiterRegistry ipLimits;
+    private final boolean enabled;
+    private final Counter userRejected;
+    private final Counter ipRejected;
+
+    public RateLimitFilter(@Value("${gateway.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${gateway.rate-limit.instances:1}") int instances,
+                           @Value("${gateway.rate-limit.user.replenish-rate:20}") double userRate,
+                           @Value("${gateway.rate-limit.user.burst-capacity:40}") long userBurst,
+                           @Value("${gateway.rate-limit.ip.replenish-rate:5}") double ipRate,
+                           @Value("${gateway.rate-limit.ip.burst-capacity:10}") long ipBurst,
+                           @Value("${gateway.rate-limit.idle-eviction-ms:60000}") long idleMs,
+                           @Value("${gateway.rate-limit.max-keys:200000}") int maxKeys,
+                           MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.enabled = enabled;
+        int share = Math.max(1, instances);
+        this.userLimits = new RateLimiterRegistry(userRate / share, Math.max(1, userBurst / share), idleMs, maxKeys);
+        this.ipLimits = new RateLimiterRegistry(ipRate / share, Math.max(1, ipBurst / share), idleMs, maxKeys);
+        this.userRejected = meterRegistry.counter("gateway.ratelimit.rejected", "scope", "user");
+        this.ipRejected = meterRegistry.counter("gateway.ratelimit.rejected", "scope", "ip");
+        meterRegistry.gauge("gateway.ratelimit.buckets", userLimits, RateLimiterRegistry::size);
+        meterRegistry.gauge("gateway.ratelimit.ip.buckets", ipLimits, RateLimiterRegistry::size);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!enabled) {
+                return chain.filter(exchange);
+            }
+
+            String userId = exchange.getRequest().getHeaders().getFirst(IdentityAssertion.USER_ID_HEADER);
+            RateLimitDecision decision;
+            if (userId != null) {
+                decision = userLimits.tryAcquire(userId);
+                if (!decision.isAllowed()) {
+                    userRejected.increment();
+                    log.warn("Rate limit exceeded for userId={}", userId);
+                }
+            } else {
+                String ip = clientIp(exchange);
+                decision = ipLimits.tryAcquire(ip);
+                if (!decision.isAllowed()) {
+                    ipRejected.increment();
+                    log.warn("Rate limit exceeded for ip={} on {}", ip, exchange.getRequest().getPath());
+                }
+            }
+
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.set("X-RateLimit-Limit", Long.toString(decision.getLimit()));
+            headers.set("X-RateLimit-Remaining", Long.toString(decision.getRemaining()));
+            headers.set("X-RateLimit-Reset", Long.toString(ceilSeconds(decision.getResetNanos())));
+
+            if (!decision.isAllowed()) {
+                headers.set(HttpHeaders.RETRY_AFTER, Long.toString(ceilSeconds(decision.getRetryAfterNanos())));
+                return tooManyRequests(exchange);
+            }
+            return chain.filter(exchange);
+        };
+    }
+
+    // The socket peer; X-Forwarded-For is client-controlled and not trusted here
+    private static String clientIp(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+
+        String errorResponse = String.format(
+            "{\"success\":false,\"error\":\"%s\",\"timestamp\":\"%s\"}",
+            "Too many requests",
+            java.time.LocalDateTime.now()
+        );
+
+        return response.writeWith(
+            Mono.just(response.bufferFactory().wrap(errorResponse.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
+    public static class Config {
+        // Limits come from gateway.rate-limit.* (shared by all routes)
+    }
+}
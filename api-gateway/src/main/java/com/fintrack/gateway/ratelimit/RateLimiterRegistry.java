@@ -0,0 +1,111 @@
+package com.fintrack.gateway.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Token buckets for one scope (per user or per IP), one bucket per key
+ * - Each bucket is a single AtomicLong "theoretical arrival time" (GCRA): acquiring a token is one CAS, no locks,
+ *   and the math is equivalent to a token bucket refilled at replenishRate with burstCapacity tokens
+ * - Buckets are spread over independent stripes; idle eviction sweeps one stripe at a time, piggy-backed on
+ *   requests, so there is no background thread and no full-map scan
+ * - Hard cap of maxKeys: a new key arriving at a full stripe triggers at most one sweep of that stripe per burst
+ *   refill time, and is rejected if the stripe is still full of partially drained buckets
+ * A bucket that has been full for idleNanos is indistinguishable from a new one, so evicting it loses nothing.
+ */
+public class RateLimiterRegistry {
+    private static final int STRIPES = 16;
+
+    private final long emissionNanos;
+    private final long toleranceNanos;
+    private final long burstCapacity;
+    private final long idleNanos;
+    private final int maxKeysPerStripe;
+    @SuppressWarnings("unchecked")
+    private final Map<String, AtomicLong>[] stripes = new Map[STRIPES];
+    private final AtomicLong[] floodSweepAt = new AtomicLong[STRIPES];
+    private final AtomicLong nextSweepAt;
+    private final AtomicInteger sweepCursor = new AtomicInteger();
+    private final long sweepIntervalNanos;
+
+    public RateLimiterRegistry(double replenishRatePerSecond, long burstCapacity, long idleMs, int maxKeys) {
+        if (replenishRatePerSecond <= 0 || burstCapacity <= 0) {
+            throw new IllegalArgumentException("replenishRate and burstCapacity must be positive");
+        }
+        this.emissionNanos = Math.max(1L, (long) (1_000_000_000L / replenishRatePerSecond));
+        this.burstCapacity = burstCapacity;
+        this.toleranceNanos = emissionNanos * burstCapacity;
+        this.idleNanos = idleMs * 1_000_000L;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        long now = System.nanoTime();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+            floodSweepAt[i] = new AtomicLong(now);
+        }
+        this.sweepIntervalNanos = Math.max(1L, idleNanos / STRIPES);
+        this.nextSweepAt = new AtomicLong(System.nanoTime() + sweepIntervalNanos);
+    }
+
+    public RateLimitDecision tryAcquire(String key) {
+        long now = System.nanoTime();
+        maybeSweep(now);
+
+        int index = (key.hashCode() & 0x7fffffff) % STRIPES;
+        Map<String, AtomicLong> stripe = stripes[index];
+        AtomicLong tat = stripe.get(key);
+        if (tat == null) {
+            if (stripe.size() >= maxKeysPerStripe && !makeRoom(index, now)) {
+                long retryAfter = Math.max(1L, floodSweepAt[index].get() - now);
+                return new RateLimitDecision(false, burstCapacity, 0, retryAfter, retryAfter);
+            }
+            tat = stripe.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + emissionNanos;
+            long horizon = next - now;
+            if (horizon > toleranceNanos) {
+                long retryAfter = horizon - toleranceNanos;
+                return new RateLimitDecision(false, burstCapacity, 0, current - now, retryAfter);
+            }
+            if (tat.compareAndSet(current, next)) {
+                return new RateLimitDecision(true, burstCapacity, (toleranceNanos - horizon) / emissionNanos, horizon, 0);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    // Under a flood of distinct keys, drop every bucket that is already full. A bucket is full again toleranceNanos
+    // after its last acquire, so one sweep per stripe per toleranceNanos frees everything idle since the previous
+    // one; keys arriving in between are turned away instead of each paying for a scan of the stripe.
+    // Concurrent new keys can overshoot the cap by at most one per caller.
+    private boolean makeRoom(int index, long now) {
+        Map<String, AtomicLong> stripe = stripes[index];
+        AtomicLong sweepAt = floodSweepAt[index];
+        long due = sweepAt.get();
+        if (now - due >= 0 && sweepAt.compareAndSet(due, now + toleranceNanos)) {
+            stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+        return stripe.size() < maxKeysPerStripe;
+    }
+
+    private void maybeSweep(long now) {
+        long due = nextSweepAt.get();
+        if (now - due < 0 || !nextSweepAt.compareAndSet(due, now + sweepIntervalNanos)) {
+            return;
+        }
+        long idleBefore = now - idleNanos;
+        Map<String, AtomicLong> stripe = stripes[(sweepCursor.getAndIncrement() & 0x7fffffff) % STRIPES];
+        stripe.values().removeIf(bucket -> bucket.get() - idleBefore <= 0);
+    }
+}
@@ -0,0 +1,75 @@
+package com.fintrack.gateway.resilience;
+
+/*
+ * Consecutive-failure circuit breaker for one route
+ * - CLOSED: requests go through; failureThreshold upstream failures in a row open the circuit
+ * - OPEN: requests are answered by the fallback for openMs
+ * - HALF_OPEN: one trial request; success closes the circuit, failure reopens it
+ * Outcomes of requests that started before the circuit opened are ignored while it is open.
+ */
+public class RouteCircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public RouteCircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    // true = send the request upstream; false = answer with the fallback
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state == State.OPEN) {
+            return;
+        }
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        if (state == State.OPEN) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            trialInFlight = false;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    // Cancelled by the client: no verdict, but let the next request be the trial
+    public synchronized void recordCancelled() {
+        trialInFlight = false;
+    }
+
+    public synchronized long millisUntilRetry() {
+        return state == State.OPEN ? Math.max(0, openedAt + openMs - System.currentTimeMillis()) : 0;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Per-route isolation in front of each backend service
+ * - Bulkhead: at most max-concurrent requests in flight per route; extra requests get 503 at once instead of
+ *   queueing on connections that other routes (login) also need
+ * - Circuit breaker: consecutive upstream failures (connect errors, timeouts, 502/503/504) open the circuit and
+ *   requests get a fallback 503 with Retry-After until the half-open trial succeeds
+ * - Fallback bodies use the gateway's JSON error shape; a response timeout becomes 504, an exhausted upstream
+ *   connection pool a "busy" 503 that leaves the circuit alone
+ * Ordered just ahead of NettyWriteResponseFilter, so a bulkhead slot is held until the upstream body has been
+ * streamed to the client, not just until the response headers arrived.
+ * Response and connect timeouts are route metadata (see GatewayConfig), enforced by the Netty routing filter.
+ * Live state shows up in /actuator/gateway/routes through the filter's toString().
+ */
+package com.fintrack.gateway.resilience;
+
+import com.fintrack.gateway.upstream.UpstreamPoolExhaustedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class RouteResilienceFilter extends AbstractGatewayFilterFactory<RouteResilienceFilter.Config> {
+    private static final Logger log = LoggerFactory.getLogger(RouteResilienceFilter.class);
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public RouteResilienceFilter(Environment environment, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String prefix = "gateway.routes." + config.getRouteId() + ".";
+        return new ResilientRoute(config.getRouteId(),
+                environment.getProperty(prefix + "max-concurrent", Integer.class, 200),
+                new RouteCircuitBreaker(
+                        environment.getProperty(prefix + "failure-threshold", Integer.class, 20),
+                        environment.getProperty(prefix + "open-ms", Long.class, 10000L)));
+    }
+
+    private class ResilientRoute implements GatewayFilter, Ordered {
+        private final String routeId;
+        private final int maxConcurrent;
+        private final RouteCircuitBreaker circuitBreaker;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter bulkheadRejected;
+        private final Counter circuitRejected;
+
+        ResilientRoute(String routeId, int maxConcurrent, RouteCircuitBreaker circuitBreaker) {
+            this.routeId = routeId;
+            this.maxConcurrent = maxConcurrent;
+            this.circuitBreaker = circuitBreaker;
+            Tags tags = Tags.of("route", routeId);
+            this.bulkheadRejected = meterRegistry.counter("gateway.route.rejected", tags.and("reason", "bulkhead"));
+            this.circuitRejected = meterRegistry.counter("gateway.route.rejected", tags.and("reason", "circuit-open"));
+            meterRegistry.gauge("gateway.route.in-flight", tags, inFlight);
+            meterRegistry.gauge("gateway.route.circuit.open", tags, circuitBreaker,
+                    cb -> cb.state() == RouteCircuitBreaker.State.CLOSED ? 0 : 1);
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            if (inFlight.incrementAndGet() > maxConcurrent) {
+                inFlight.decrementAndGet();
+                bulkheadRejected.increment();
+                return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, routeId + " is busy, retry shortly", 1);
+            }
+            if (!circuitBreaker.tryAcquire()) {
+                inFlight.decrementAndGet();
+                circuitRejected.increment();
+                long retryAfterSeconds = Math.max(1, (circuitBreaker.millisUntilRetry() + 999) / 1000);
+                return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, routeId + " is temporarily unavailable", retryAfterSeconds);
+            }
+
+            return chain.filter(exchange)
+                    .doOnSuccess(done -> {
+                        if (isUpstreamFailure(exchange.getResponse().getStatusCode())) {
+                            circuitBreaker.recordFailure();
+                        } else {
+                            circuitBreaker.recordSuccess();
+                        }
+                    })
+                    .doOnError(e -> {
+                        // An exhausted gateway-side pool says nothing about the backend's health
+                        if (e instanceof UpstreamPoolExhaustedException) {
+                            circuitBreaker.recordCancelled();
+                        } else {
+                            circuitBreaker.recordFailure();
+                        }
+                    })
+                    .doFinally(signal -> {
+                        inFlight.decrementAndGet();
+                        if (signal == SignalType.CANCEL) {
+                            circuitBreaker.recordCancelled();
+                        }
+                    })
+                    .onErrorResume(e -> {
+                        if (exchange.getResponse().isCommitted()) {
+                            return Mono.error(e);
+                        }
+                        if (e instanceof UpstreamPoolExhaustedException) {
+                            return fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, routeId + " is busy, retry shortly", 1);
+                        }
+                        boolean timedOut = e instanceof TimeoutException
+                                || (e instanceof ResponseStatusException rse && rse.getStatusCode().value() == 504);
+                        log.warn("Upstream {} failed for {}: {}", routeId, exchange.getRequest().getPath(), e.toString());
+                        return timedOut
+                                ? fallback(exchange, HttpStatus.GATEWAY_TIMEOUT, routeId + " timed out", 0)
+                                : fallback(exchange, HttpStatus.SERVICE_UNAVAILABLE, routeId + " is unavailable", 1);
+                    });
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+
+        // Shown by /actuator/gateway/routes
+        @Override
+        public String toString() {
+            return "RouteResilience{route=" + routeId
+                    + ", circuit=" + circuitBreaker.state()
+                    + ", inFlight=" + inFlight.get() + "/" + maxConcurrent + "}";
+        }
+    }
+
+    private static boolean isUpstreamFailure(HttpStatusCode status) {
+        if (status == null) {
+            return false;
+        }
+        int code = status.value();
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    private static Mono<Void> fallback(ServerWebExchange exchange, HttpStatus status, String message, long retryAfterSeconds) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+        if (retryAfterSeconds > 0) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+
+        String errorResponse = String.format(
+            "{\"success\":false,\"error\":\"%s\",\"timestamp\":\"%s\"}",
+            message,
+            java.time.LocalDateTime.now()
+        );
+
+        return response.writeWith(
+            Mono.just(response.bufferFactory().wrap(errorResponse.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
+    public static class Config {
+        private String routeId;
+
+        public Config() {}
+
+        public Config(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public String getRouteId() { return routeId; }
+        public void setRouteId(String routeId) { this.routeId = routeId; }
+    }
+}
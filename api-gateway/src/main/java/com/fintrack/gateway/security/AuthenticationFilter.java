@@ -4,11 +4,19 @@
  * Validates JWT tokens BEFORE requests reach any service
  * Routes requests to the correct microservice
  * Adds user info to requests for downstream services
+ * Each token is verified once (signature + expiry in a single parse); repeat requests are served from VerifiedTokenCache
+ * Identity headers sent by clients are always stripped; the gateway sets them itself, plus an HMAC-signed
+ * X-User_Assertion that lets downstream services skip JWT verification
  */
 package com.fintrack.gateway.security;
 
+import com.fintrack.common.security.IdentityAssertion;
+import com.fintrack.common.security.JwtIdentity;
+import com.fintrack.common.security.JwtTokenService;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
@@ -25,7 +33,10 @@ import java.util.List;
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
     private static final Logger log = LoggerFactory.getLogger(AuthenticationFilter.class);
 
-    private final JwtUtil jwtUtil;
+    private final JwtTokenService jwtTokenService;
+    private final VerifiedTokenCache tokenCache;
+    private final IdentityAssertion identityAssertion;
+    private final boolean signIdentity;
 
     // Public endpoints that don't need authentication
     private static final List<String> PUBLIC_ENDPOINTS = List.of(
@@ -35,9 +46,14 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
         "/api/transactions/health"
     );
 
-    public AuthenticationFilter(JwtUtil jwtUtil) {
+    public AuthenticationFilter(JwtTokenService jwtTokenService, VerifiedTokenCache tokenCache,
+                                IdentityAssertion identityAssertion,
+                                @Value("${internal-auth.enabled:true}") boolean signIdentity) {
         super(Config.class);
-        this.jwtUtil = jwtUtil;
+        this.jwtTokenService = jwtTokenService;
+        this.tokenCache = tokenCache;
+        this.identityAssertion = identityAssertion;
+        this.signIdentity = signIdentity;
     }
 
     @Override
@@ -51,7 +67,10 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
             // Skip authentication for public endpoints
             if (isPublicEndpoint(path)) {
                 log.debug("Public endpoint accessed: {}", path);
-                return chain.filter(exchange);
+                ServerHttpRequest stripped = request.mutate()
+                    .headers(AuthenticationFilter::removeIdentityHeaders)
+                    .build();
+                return chain.filter(exchange.mutate().request(stripped).build());
             }
 
             // Check for Authorization header
@@ -70,34 +89,62 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
             String token = authHeader.substring(7);
 
+            JwtIdentity verified;
             try {
-                // Validate token
-                if (!jwtUtil.validateToken(token)) {
-                    log.warn("Invalid or expired token for: {}", path);
-                    return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
-                }
-
-                // Extract user information
-                String username = jwtUtil.extractUsername(token);
-                Long userId = jwtUtil.extractUserId(token);
-
-                log.debug("Authenticated request: user={}, userId={}, path={}", username, userId, path);
-
-                // Add user info to request headers (userId, email) for downstream services
-                // Don't need to validate JWT again in downstream services, they get request headers from gateway
-                ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                    .header("X-User_Id", userId.toString())
-                    .header("X-User_Email", username)
-                    .build();
+                verified = authenticate(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.warn("Invalid or expired token for {}: {}", path, e.getMessage());
+                return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
+            }
 
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-            } catch (Exception e) {
-                log.error("JWT validation error for path {}: {}", path, e.getMessage());
+            if (verified.getUserId() == null) {
+                log.warn("Token without user claims for: {}", path);
                 return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
             }
+
+            log.debug("Authenticated request: user={}, userId={}, path={}", verified.getSubject(), verified.getUserId(), path);
+
+            // Add user info to request headers (userId, email) for downstream services
+            // Don't need to validate JWT again in downstream services, they verify the signed assertion instead
+            Long userId = verified.getUserId();
+            String email = verified.getSubject();
+            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    removeIdentityHeaders(headers);
+                    headers.set(IdentityAssertion.USER_ID_HEADER, userId.toString());
+                    headers.set(IdentityAssertion.USER_EMAIL_HEADER, email);
+                    if (signIdentity) {
+                        headers.set(IdentityAssertion.ASSERTION_HEADER,
+                                identityAssertion.sign(userId, email, System.currentTimeMillis()));
+                    }
+                })
+                .build();
+
+            return chain.filter(exchange.mutate().request(modifiedRequest).build());
         };
     }
 
+    // Cached identity if this token was verified before, otherwise one full parse (which also checks exp)
+    private JwtIdentity authenticate(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedTokenCache.TokenKey key = tokenCache.keyOf(token);
+        JwtIdentity verified = tokenCache.get(key, now);
+        if (verified != null) {
+            return verified;
+        }
+
+        verified = jwtTokenService.verify(token);
+        tokenCache.put(key, verified, now);
+        return verified;
+    }
+
+    // Only the gateway may assert who the caller is
+    private static void removeIdentityHeaders(HttpHeaders headers) {
+        headers.remove(IdentityAssertion.USER_ID_HEADER);
+        headers.remove(IdentityAssertion.USER_EMAIL_HEADER);
+        headers.remove(IdentityAssertion.ASSERTION_HEADER);
+    }
+
     private boolean isPublicEndpoint(String path) {
         return PUBLIC_ENDPOINTS.stream().anyMatch(path::startsWith);
     }
@@ -0,0 +1,125 @@
+package com.fintrack.gateway.security;
+
+import com.fintrack.common.security.JwtIdentity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Bounded cache of already-verified tokens, so a client reusing its token skips JWT parsing and HMAC verification
+ * - Keyed by the SHA-256 of the token (raw tokens are never kept in memory)
+ * - An entry is never served past the token's exp; expired entries are dropped on read, and each put first pops
+ *   whatever has expired off an expiry-ordered queue, so every entry is evicted once at O(log n) instead of the
+ *   whole cache being scanned when it fills up
+ * - Hard cap of max-entries: while the cache is full of live tokens new ones are simply not cached
+ * - Only successful verifications are cached, so garbage tokens cannot fill it
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Map<TokenKey, JwtIdentity> tokens = new ConcurrentHashMap<>();
+    // Every cached entry in expiry order; guarded by itself, only touched on the miss path
+    private final PriorityQueue<Expiry> expiries = new PriorityQueue<>(Comparator.comparingLong(Expiry::expiresAtMs));
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(@Value("${gateway.auth.token-cache.max-entries:100000}") int maxEntries,
+                              MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.hits = meterRegistry.counter("gateway.auth.token.cache", "result", "hit");
+        this.misses = meterRegistry.counter("gateway.auth.token.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("gateway.auth.token.cache.size", Tags.empty(), tokens);
+    }
+
+    public TokenKey keyOf(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new TokenKey(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    // null if not cached or already expired
+    public JwtIdentity get(TokenKey key, long nowMs) {
+        JwtIdentity verified = tokens.get(key);
+        if (verified == null) {
+            misses.increment();
+            return null;
+        }
+        if (verified.getExpiresAtMs() <= nowMs) {
+            tokens.remove(key, verified);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return verified;
+    }
+
+    public void put(TokenKey key, JwtIdentity verified, long nowMs) {
+        synchronized (expiries) {
+            Expiry oldest;
+            while ((oldest = expiries.peek()) != null && oldest.expiresAtMs() <= nowMs) {
+                expiries.poll();
+                tokens.remove(oldest.key(), oldest.identity());
+            }
+            if (expiries.size() >= maxEntries) {
+                // Still full of live tokens: stop caching new ones rather than evicting at random
+                return;
+            }
+            expiries.add(new Expiry(verified.getExpiresAtMs(), key, verified));
+            tokens.put(key, verified);
+        }
+    }
+
+    private record Expiry(long expiresAtMs, TokenKey key, JwtIdentity identity) {
+    }
+
+    // Full 256-bit digest, so distinct tokens never share an entry
+    public static final class TokenKey {
+        private final long a;
+        private final long b;
+        private final long c;
+        private final long d;
+
+        private TokenKey(long a, long b, long c, long d) {
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TokenKey other)) {
+                return false;
+            }
+            return a == other.a && b == other.b && c == other.c && d == other.d;
+        }
+
+        @Override
+        public int hashCode() {
+            // The digest is already uniformly distributed
+            return (int) a;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.fintrack.gateway.upstream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/*
+ * The gateway's proxying filter, but on the route's own pooled client (UpstreamHttpClients)
+ * Replaces the stock NettyRoutingFilter (spring.cloud.gateway.global-filter.netty-routing.enabled=false).
+ * Pool acquire timeouts and a full pending-acquire queue surface as UpstreamPoolExhaustedException, so the route's
+ * circuit breaker and the load balancer's ejection don't blame the backend for gateway-side queueing.
+ */
+@Component
+public class PooledNettyRoutingFilter extends NettyRoutingFilter {
+    private final UpstreamHttpClients upstreamClients;
+    private final MeterRegistry meterRegistry;
+
+    public PooledNettyRoutingFilter(HttpClient httpClient, ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                    HttpClientProperties properties, UpstreamHttpClients upstreamClients,
+                                    MeterRegistry meterRegistry) {
+        super(httpClient, headersFilters, properties);
+        this.upstreamClients = upstreamClients;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return super.filter(exchange, chain).onErrorMap(PooledNettyRoutingFilter::isPoolExhausted, e -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "unknown";
+            meterRegistry.counter("gateway.upstream.pool.exhausted", "route", routeId).increment();
+            return new UpstreamPoolExhaustedException(routeId, e);
+        });
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        return upstreamClients.forRoute(route);
+    }
+
+    // reactor-pool is shaded into Reactor Netty, so match the exception by name
+    private static boolean isPoolExhausted(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            String name = e.getClass().getSimpleName();
+            if (name.equals("PoolAcquireTimeoutException") || name.equals("PoolAcquirePendingLimitException")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
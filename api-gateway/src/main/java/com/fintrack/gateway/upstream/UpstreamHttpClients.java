@@ -0,0 +1,113 @@
+/*
+ * One Reactor Netty client and connection pool per route instead of the gateway's single shared pool
+ * - gateway.routes.<id>.pool.*: max connections (per replica address), pending-acquire queue length and timeout,
+ *   idle and lifetime eviction in the background, HTTP keep-alive
+ * - Idle connections are evicted before the backends' own keep-alive timeout closes them, so a request never
+ *   lands on a connection the server is about to drop ("Connection prematurely closed")
+ * - h2c: true multiplexes requests as HTTP/2 streams over a few connections (prior knowledge, backends run with
+ *   server.http2.enabled); max-connections then caps connections and max-concurrent-streams the streams on each
+ * - Metrics: reactor.netty.connection.provider.* (total/active/idle/pending connections, pending time,
+ *   active/pending streams for h2c) tagged name=upstream-<route>, and reactor.netty.http.client.* with uri=<route>
+ *   (connect.time counts new connections, i.e. churn)
+ */
+package com.fintrack.gateway.upstream;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+
+@Component
+public class UpstreamHttpClients {
+    private static final Logger log = LoggerFactory.getLogger(UpstreamHttpClients.class);
+
+    private final Environment environment;
+    private final HttpClientProperties httpClientProperties;
+    private final Map<String, HttpClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, ConnectionProvider> providers = new ConcurrentHashMap<>();
+
+    public UpstreamHttpClients(Environment environment, HttpClientProperties httpClientProperties) {
+        this.environment = environment;
+        this.httpClientProperties = httpClientProperties;
+    }
+
+    public HttpClient forRoute(Route route) {
+        return clients.computeIfAbsent(route.getId(), id -> create(route));
+    }
+
+    private HttpClient create(Route route) {
+        String routeId = route.getId();
+        String prefix = "gateway.routes." + routeId + ".pool.";
+        int maxConnections = environment.getProperty(prefix + "max-connections", Integer.class, 100);
+        boolean h2c = environment.getProperty(prefix + "h2c", Boolean.class, false);
+        boolean keepAlive = environment.getProperty(prefix + "keep-alive", Boolean.class, true);
+
+        ConnectionProvider.Builder pool = ConnectionProvider.builder("upstream-" + routeId)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(environment.getProperty(prefix + "pending-acquire-max-count", Integer.class, 200))
+                .pendingAcquireTimeout(Duration.ofMillis(environment.getProperty(prefix + "pending-acquire-timeout-ms", Long.class, 1000L)))
+                .maxIdleTime(Duration.ofMillis(environment.getProperty(prefix + "max-idle-time-ms", Long.class, 15000L)))
+                .maxLifeTime(Duration.ofMillis(environment.getProperty(prefix + "max-life-time-ms", Long.class, 300000L)))
+                .evictInBackground(Duration.ofMillis(environment.getProperty(prefix + "evict-interval-ms", Long.class, 10000L)))
+                .metrics(true);
+        if (h2c) {
+            pool.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(maxConnections)
+                    .maxConcurrentStreams(environment.getProperty(prefix + "max-concurrent-streams", Long.class, 100L))
+                    .build());
+        }
+        ConnectionProvider provider = pool.build();
+        providers.put(routeId, provider);
+
+        HttpClient client = HttpClient.create(provider)
+                .protocol(h2c ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                .keepAlive(keepAlive)
+                .option(ChannelOption.SO_KEEPALIVE, keepAlive)
+                // One uri tag value per route keeps the client metrics' cardinality bounded
+                .metrics(true, uri -> routeId);
+
+        Object connectTimeout = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, toInt(connectTimeout));
+        }
+        // Header limits from spring.cloud.gateway.httpclient.* still apply to every route
+        if (httpClientProperties.getMaxHeaderSize() != null || httpClientProperties.getMaxInitialLineLength() != null) {
+            client = client.httpResponseDecoder(spec -> {
+                if (httpClientProperties.getMaxHeaderSize() != null) {
+                    spec.maxHeaderSize((int) httpClientProperties.getMaxHeaderSize().toBytes());
+                }
+                if (httpClientProperties.getMaxInitialLineLength() != null) {
+                    spec.maxInitialLineLength((int) httpClientProperties.getMaxInitialLineLength().toBytes());
+                }
+                return spec;
+            });
+        }
+
+        log.info("Upstream pool for {}: maxConnections={}, protocol={}, keepAlive={}",
+                routeId, maxConnections, h2c ? "h2c" : "http/1.1", keepAlive);
+        return client;
+    }
+
+    private static int toInt(Object value) {
+        return value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        providers.values().forEach(ConnectionProvider::dispose);
+    }
+}
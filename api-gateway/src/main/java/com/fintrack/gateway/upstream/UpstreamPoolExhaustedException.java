@@ -0,0 +1,15 @@
+package com.fintrack.gateway.upstream;
+
+// No pooled connection to the route's backend within the pending-acquire limits: gateway-side saturation, not a backend failure
+public class UpstreamPoolExhaustedException extends RuntimeException {
+    private final String routeId;
+
+    public UpstreamPoolExhaustedException(String routeId, Throwable cause) {
+        super("Upstream connection pool exhausted for " + routeId + ": " + cause.getMessage(), cause);
+        this.routeId = routeId;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+}
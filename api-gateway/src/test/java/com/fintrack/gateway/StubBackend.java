@@ -0,0 +1,87 @@
+package com.fintrack.gateway;
+
+import com.fintrack.common.security.JwtTokenService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * In-process stand-in for a backend service, for tests that run the whole gateway on a random port
+ * - Answers every path of the service: health checks with 200 (not counted), anything else with the configured
+ *   JSON body after an optional delay, and counts those calls
+ * - Point a route at it with gateway.load-balancing.replicas.<service>=baseUrl()
+ */
+public final class StubBackend implements AutoCloseable {
+    public static final String JWT_SECRET = "stub-backend-test-secret-at-least-256-bits-long";
+    public static final String TRACE_HEADER = "X-Upstream-Trace";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+    private volatile byte[] body = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+    private volatile long delayMs;
+
+    public StubBackend() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start stub backend", e);
+        }
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public int calls() {
+        return calls.get();
+    }
+
+    public void respondWith(String json, long delayMs) {
+        this.body = json.getBytes(StandardCharsets.UTF_8);
+        this.delayMs = delayMs;
+    }
+
+    // A token the gateway started with JWT_SECRET accepts
+    public static String token(long userId) {
+        return new JwtTokenService(JWT_SECRET, 60_000).generateToken("user" + userId + "@fintrack.test", userId);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] response = body;
+        if (exchange.getRequestURI().getPath().endsWith("/health")) {
+            response = "{\"status\":\"UP\"}".getBytes(StandardCharsets.UTF_8);
+        } else {
+            int call = calls.incrementAndGet();
+            exchange.getResponseHeaders().set(TRACE_HEADER, "call-" + call);
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package com.fintrack.gateway.cache;
+
+import com.fintrack.gateway.StubBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * The whole gateway on a random port, transaction-service replaced by a StubBackend
+ * Checks the cache where it matters: the response really is captured on its way out, so a repeat GET never
+ * reaches the backend.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=" + StubBackend.JWT_SECRET,
+        "gateway.coalescing.enabled=false"
+})
+class ResponseCacheFilterTest {
+    private static final StubBackend backend = new StubBackend();
+    private static final String PAGE = "{\"success\":true,\"data\":{\"content\":[{\"id\":1,\"amount\":12.50}]}}";
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("gateway.load-balancing.replicas.transaction-service", backend::baseUrl);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.close();
+    }
+
+    @Test
+    void secondIdenticalGetIsServedFromTheCache() {
+        backend.respondWith(PAGE, 0);
+        WebTestClient client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+        String token = StubBackend.token(42);
+        int before = backend.calls();
+
+        EntityExchangeResult<String> first = client.get().uri("/api/transactions?page=0")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Cache", "MISS")
+                .expectBody(String.class).returnResult();
+        EntityExchangeResult<String> second = client.get().uri("/api/transactions?page=0")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Cache", "HIT")
+                .expectBody(String.class).returnResult();
+
+        assertEquals(PAGE, first.getResponseBody());
+        assertEquals(PAGE, second.getResponseBody());
+        assertEquals(1, backend.calls() - before);
+    }
+}
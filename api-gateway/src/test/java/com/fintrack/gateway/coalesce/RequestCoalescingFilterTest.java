@@ -0,0 +1,76 @@
+package com.fintrack.gateway.coalesce;
+
+import com.fintrack.gateway.StubBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/*
+ * The whole gateway on a random port, transaction-service replaced by a slow StubBackend
+ * Two identical GETs sent at once must cost one backend call, and the follower gets the leader's upstream
+ * headers along with the body. The response cache is off so only coalescing can save the second call.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=" + StubBackend.JWT_SECRET,
+        "gateway.response-cache.enabled=false"
+})
+class RequestCoalescingFilterTest {
+    private static final StubBackend backend = new StubBackend();
+    private static final String SUMMARY = "{\"success\":true,\"data\":{\"totalIncome\":5200.00,\"totalExpense\":3187.45}}";
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("gateway.load-balancing.replicas.transaction-service", backend::baseUrl);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.close();
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneUpstreamCall() {
+        // Slow enough that the second request arrives while the first is still upstream
+        backend.respondWith(SUMMARY, 500);
+        WebClient client = WebClient.create("http://localhost:" + port);
+        String token = StubBackend.token(42);
+        int before = backend.calls();
+
+        Mono<ResponseEntity<String>> get = client.get().uri("/api/transactions/summary")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .toEntity(String.class);
+        Tuple2<ResponseEntity<String>, ResponseEntity<String>> both = Mono.zip(get, get).block(Duration.ofSeconds(10));
+        assertNotNull(both);
+        List<ResponseEntity<String>> responses = List.of(both.getT1(), both.getT2());
+
+        assertEquals(1, backend.calls() - before);
+        for (ResponseEntity<String> response : responses) {
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(SUMMARY, response.getBody());
+            // Leader and follower both carry the one upstream response's headers
+            assertEquals("call-" + (before + 1), response.getHeaders().getFirst(StubBackend.TRACE_HEADER));
+        }
+        long followers = responses.stream()
+                .filter(response -> "true".equals(response.getHeaders().getFirst("X-Coalesced")))
+                .count();
+        assertEquals(1, followers);
+    }
+}
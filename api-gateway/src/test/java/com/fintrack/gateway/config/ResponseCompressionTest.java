@@ -0,0 +1,177 @@
+package com.fintrack.gateway.config;
+
+import com.fintrack.gateway.StubBackend;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * server.compression and server.http2 as the client sees them, against the whole gateway on a random port
+ * - transaction-service is a StubBackend serving a 100-row transactions page (the JSON shape transaction-service
+ *   returns, ApiResponse<Page<TransactionResponse>>) or a small error body
+ * - Requests go through a plain Reactor Netty client that neither asks for nor decodes compression on its own,
+ *   so Content-Encoding and the bytes on the wire are exactly what the gateway sent
+ * Latency needs a running stack: see benchmark-gateway-compression.sh.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "jwt.secret=" + StubBackend.JWT_SECRET,
+        "gateway.response-cache.enabled=false"
+})
+class ResponseCompressionTest {
+    private static final StubBackend backend = new StubBackend();
+
+    private static final String[] CATEGORIES = {"FOOD_DINING", "GROCERIES", "SHOPPING", "ENTERTAINMENT",
+            "TRANSPORTATION", "UTILITIES", "HEALTHCARE", "TRAVEL", "RENT", "SUBSCRIPTION", "SALARY", "REFUND"};
+    private static final String[] MERCHANTS = {"Whole Foods Market", "Amazon", "Uber", "Netflix", "Shell",
+            "Starbucks", "Delta Air Lines", "CVS Pharmacy", "Target", "Con Edison", "Spotify", "Trader Joe's"};
+    private static final String[] DESCRIPTIONS = {"Weekly groceries", "Coffee with team", "Ride to airport",
+            "Monthly subscription", "Fuel", "Online order", "Electricity bill", "Prescription", "Dinner out",
+            "Flight to Chicago", "Salary deposit", "Refund for returned item"};
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("gateway.load-balancing.replicas.transaction-service", backend::baseUrl);
+    }
+
+    @AfterAll
+    static void stopBackend() {
+        backend.close();
+    }
+
+    @Test
+    void pageAboveMinResponseSizeIsGzipped() throws IOException {
+        String page = transactionsPage(100);
+        backend.respondWith(page, 0);
+
+        Reply reply = get(HttpProtocol.HTTP11, "gzip");
+
+        assertEquals(200, reply.status);
+        assertEquals("gzip", reply.contentEncoding);
+        assertEquals(page, new String(gunzip(reply.body), StandardCharsets.UTF_8));
+        int identity = page.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("100-row page: identity %d bytes, gzip on the wire %d bytes%n", identity, reply.body.length);
+        assertTrue(reply.body.length * 5 < identity, "identity " + identity + " bytes, gzip " + reply.body.length);
+    }
+
+    @Test
+    void bodyBelowMinResponseSizeIsSentAsIs() {
+        // Error bodies and single-row lookups stay under server.compression.min-response-size (1KB)
+        String error = "{\"success\":false,\"error\":\"Transaction not found\",\"timestamp\":\"2026-10-19T14:57:45.123456\"}";
+        backend.respondWith(error, 0);
+
+        Reply reply = get(HttpProtocol.HTTP11, "gzip");
+
+        assertEquals(200, reply.status);
+        assertNull(reply.contentEncoding);
+        assertEquals(error, new String(reply.body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void h2cPriorKnowledgeIsAccepted() {
+        String page = transactionsPage(10);
+        backend.respondWith(page, 0);
+
+        // No Upgrade round trip: the client opens with the HTTP/2 connection preface
+        Reply reply = get(HttpProtocol.H2C, null);
+
+        assertEquals(200, reply.status);
+        assertEquals("HTTP/2.0", reply.version);
+        assertEquals(page, new String(reply.body, StandardCharsets.UTF_8));
+    }
+
+    private Reply get(HttpProtocol protocol, String acceptEncoding) {
+        Reply reply = HttpClient.create()
+                .protocol(protocol)
+                .baseUrl("http://localhost:" + port)
+                .headers(headers -> {
+                    headers.set(HttpHeaderNames.AUTHORIZATION, "Bearer " + StubBackend.token(7));
+                    if (acceptEncoding != null) {
+                        headers.set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding);
+                    }
+                })
+                .get()
+                .uri("/api/transactions?page=0&size=100")
+                .responseSingle((response, body) -> body.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> new Reply(response.status().code(), response.version().text(),
+                                response.responseHeaders().get(HttpHeaderNames.CONTENT_ENCODING), bytes)))
+                .block(Duration.ofSeconds(10));
+        assertNotNull(reply);
+        return reply;
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private record Reply(int status, String version, String contentEncoding, byte[] body) {
+    }
+
+    // Deterministic page of plausible rows for one user, newest first
+    static String transactionsPage(int rows) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 14, 57, 45, 123_456_000);
+        StringBuilder json = new StringBuilder(rows * 512);
+        json.append("{\"success\":true,\"data\":{\"content\":[");
+        for (int i = 0; i < rows; i++) {
+            int category = random.nextInt(CATEGORIES.length);
+            boolean income = CATEGORIES[category].equals("SALARY") || CATEGORIES[category].equals("REFUND");
+            LocalDateTime createdAt = now.minusMinutes(i * 397L + random.nextInt(300)).withNano(random.nextInt(1_000_000) * 1000);
+            LocalDate date = createdAt.toLocalDate();
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(184_233 - i * 7L - random.nextInt(7))
+                    .append(",\"userId\":1027")
+                    .append(",\"amount\":").append(BigDecimal.valueOf(100 + random.nextInt(2_500_000), 2))
+                    .append(",\"type\":\"").append(income ? "INCOME" : "EXPENSE")
+                    .append("\",\"category\":\"").append(CATEGORIES[category])
+                    .append("\",\"description\":\"").append(DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)])
+                    .append("\",\"transactionDate\":\"").append(date)
+                    .append("\",\"merchant\":\"").append(MERCHANTS[random.nextInt(MERCHANTS.length)])
+                    .append("\",\"accountNumber\":\"****").append(random.nextBoolean() ? "4821" : "0937")
+                    .append("\",\"notes\":").append(random.nextInt(4) == 0 ? "\"Split with Alex\"" : "null")
+                    .append(",\"status\":\"").append(random.nextInt(20) == 0 ? "PENDING" : "COMPLETED")
+                    .append("\",\"referenceNumber\":\"TXN-").append(date.toString().replace("-", ""))
+                    .append('-').append(String.format("%06d", random.nextInt(1_000_000)))
+                    .append("\",\"createdAt\":\"").append(createdAt)
+                    .append("\",\"updatedAt\":\"").append(createdAt.plusSeconds(random.nextInt(5)))
+                    .append("\"}");
+        }
+        String sort = "{\"empty\":false,\"sorted\":true,\"unsorted\":false}";
+        json.append("],\"pageable\":{\"pageNumber\":0,\"pageSize\":").append(rows)
+                .append(",\"sort\":").append(sort).append(",\"offset\":0,\"paged\":true,\"unpaged\":false}")
+                .append(",\"last\":false,\"totalPages\":5,\"totalElements\":").append(rows * 4 + 37)
+                .append(",\"size\":").append(rows).append(",\"number\":0,\"sort\":").append(sort)
+                .append(",\"first\":true,\"numberOfElements\":").append(rows).append(",\"empty\":false}")
+                .append(",\"timestamp\":\"").append(now).append("\"}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,176 @@
+package com.fintrack.gateway.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserAffinityLoadBalancerTest {
+    private static final int USERS = 3000;
+
+    private final InstanceLoadTracker loadTracker = new InstanceLoadTracker(1, 60_000);
+    private final UserAffinityLoadBalancer balancer = new UserAffinityLoadBalancer(null, loadTracker, 1.25, 100);
+
+    @Test
+    void sameUserLandsOnTheSameReplica() {
+        List<ServiceInstance> instances = instances(3);
+        for (int user = 0; user < 100; user++) {
+            ServiceInstance first = balancer.select(instances, String.valueOf(user));
+            assertEquals(first, balancer.select(instances, String.valueOf(user)));
+            // Ring points depend on instance ids, not list order
+            assertEquals(first, balancer.select(reversed(instances), String.valueOf(user)));
+        }
+    }
+
+    @Test
+    void usersSpreadOverAllReplicas() {
+        List<ServiceInstance> instances = instances(3);
+        Map<ServiceInstance, Integer> counts = new HashMap<>();
+        for (int user = 0; user < USERS; user++) {
+            counts.merge(balancer.select(instances, String.valueOf(user)), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        for (int count : counts.values()) {
+            // 1000 each on a perfect ring; 100 virtual nodes keep every replica within +-25%
+            assertTrue(count > 750 && count < 1250, "count " + count);
+        }
+    }
+
+    @Test
+    void addingAReplicaOnlyMovesUsersToIt() {
+        List<ServiceInstance> three = instances(3);
+        List<ServiceInstance> four = instances(4);
+        ServiceInstance added = four.get(3);
+
+        int moved = 0;
+        for (int user = 0; user < USERS; user++) {
+            ServiceInstance before = balancer.select(three, String.valueOf(user));
+            ServiceInstance after = balancer.select(four, String.valueOf(user));
+            if (!before.equals(after)) {
+                assertEquals(added, after);
+                moved++;
+            }
+        }
+        // ~1/4 of the users should move
+        assertTrue(moved > USERS / 8 && moved < USERS * 3 / 8, "moved " + moved);
+    }
+
+    @Test
+    void fullHomeReplicaSpillsToTheNextOne() {
+        List<ServiceInstance> instances = instances(3);
+        ServiceInstance home = balancer.select(instances, "42");
+
+        // capacity = ceil(1.25 * (5 + 1) / 3) = 3, home has 5 in flight
+        for (int i = 0; i < 5; i++) {
+            loadTracker.acquire(home.getInstanceId());
+        }
+        ServiceInstance chosen = balancer.select(instances, "42");
+        assertNotEquals(home, chosen);
+        assertEquals(0, loadTracker.inFlight(chosen.getInstanceId()));
+
+        // Spill-over is deterministic, so the hot user keeps hitting the same second replica
+        assertEquals(chosen, balancer.select(instances, "42"));
+
+        // Back under capacity: affinity returns
+        for (int i = 0; i < 5; i++) {
+            loadTracker.release(home.getInstanceId(), false);
+        }
+        assertEquals(home, balancer.select(instances, "42"));
+    }
+
+    @Test
+    void everyReplicaFullKeepsAffinity() {
+        List<ServiceInstance> instances = instances(3);
+        ServiceInstance home = balancer.select(instances, "42");
+        // 10 each: capacity = ceil(1.25 * 31 / 3) = 13, so nobody is full yet
+        for (ServiceInstance instance : instances) {
+            for (int i = 0; i < 10; i++) {
+                loadTracker.acquire(instance.getInstanceId());
+            }
+        }
+        assertEquals(home, balancer.select(instances, "42"));
+
+        // A load factor of 1 with an equal spread leaves every replica at capacity
+        UserAffinityLoadBalancer strict = new UserAffinityLoadBalancer(null, loadTracker, 1.0, 100);
+        assertEquals(home, strict.select(instances, "42"));
+    }
+
+    @Test
+    void ejectedReplicaIsSkippedUntilEveryReplicaIs() {
+        List<ServiceInstance> instances = instances(3);
+        ServiceInstance home = balancer.select(instances, "42");
+
+        // failure-threshold is 1: one failed exchange ejects the replica
+        eject(home);
+        ServiceInstance chosen = balancer.select(instances, "42");
+        assertNotEquals(home, chosen);
+
+        // Everything ejected: fail open to the home replica rather than rejecting the request
+        for (ServiceInstance instance : instances) {
+            eject(instance);
+        }
+        assertEquals(home, balancer.select(instances, "42"));
+    }
+
+    @Test
+    void anonymousRequestsGoToTheLeastLoadedReplica() {
+        List<ServiceInstance> instances = instances(3);
+        loadTracker.acquire(instances.get(0).getInstanceId());
+        loadTracker.acquire(instances.get(0).getInstanceId());
+        loadTracker.acquire(instances.get(1).getInstanceId());
+
+        assertEquals(instances.get(2), balancer.select(instances, null));
+
+        eject(instances.get(2));
+        assertEquals(instances.get(1), balancer.select(instances, null));
+    }
+
+    @Test
+    void noInstancesSelectsNothing() {
+        assertNull(balancer.select(List.of(), "42"));
+        assertNull(balancer.select(List.of(), null));
+    }
+
+    @Test
+    void hashSpreadsConsecutiveUserIds() {
+        // Consecutive ids must not cluster in one region of the ring
+        int upperHalf = 0;
+        for (int user = 0; user < 1000; user++) {
+            if (UserAffinityLoadBalancer.hash(String.valueOf(user)) < 0) {
+                upperHalf++;
+            }
+        }
+        assertTrue(upperHalf > 400 && upperHalf < 600, "upperHalf " + upperHalf);
+    }
+
+    private void eject(ServiceInstance instance) {
+        loadTracker.acquire(instance.getInstanceId());
+        loadTracker.release(instance.getInstanceId(), true);
+    }
+
+    private static List<ServiceInstance> instances(int count) {
+        List<ServiceInstance> instances = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String host = "transaction-service-" + (i + 1);
+            instances.add(new DefaultServiceInstance("http://" + host + ":8082", "transaction-service", host, 8082, false));
+        }
+        return instances;
+    }
+
+    private static List<ServiceInstance> reversed(List<ServiceInstance> instances) {
+        List<ServiceInstance> copy = new ArrayList<>(instances);
+        Collections.reverse(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,115 @@
+package com.fintrack.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterRegistryTest {
+
+    @Test
+    void allowsTheBurstThenRejects() {
+        RateLimiterRegistry registry = new RateLimiterRegistry(1, 5, 60_000, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = registry.tryAcquire("user-1");
+            assertTrue(decision.isAllowed(), "request " + i);
+            assertEquals(5, decision.getLimit());
+            assertEquals(4 - i, decision.getRemaining());
+            assertEquals(0, decision.getRetryAfterNanos());
+        }
+
+        RateLimitDecision rejected = registry.tryAcquire("user-1");
+        assertFalse(rejected.isAllowed());
+        assertEquals(0, rejected.getRemaining());
+        // One emission interval (1s) until the next token, and the whole burst until the bucket is full again
+        assertTrue(rejected.getRetryAfterNanos() > 900_000_000L && rejected.getRetryAfterNanos() <= 1_000_000_000L);
+        assertTrue(rejected.getResetNanos() > 4_900_000_000L && rejected.getResetNanos() <= 5_000_000_000L);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        RateLimiterRegistry registry = new RateLimiterRegistry(1, 2, 60_000, 1000);
+
+        assertTrue(registry.tryAcquire("user-1").isAllowed());
+        assertTrue(registry.tryAcquire("user-1").isAllowed());
+        assertFalse(registry.tryAcquire("user-1").isAllowed());
+
+        assertTrue(registry.tryAcquire("user-2").isAllowed());
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void refillsAtTheReplenishRate() throws InterruptedException {
+        // 100/s: one token every 10ms
+        RateLimiterRegistry registry = new RateLimiterRegistry(100, 2, 60_000, 1000);
+        assertTrue(registry.tryAcquire("user-1").isAllowed());
+        assertTrue(registry.tryAcquire("user-1").isAllowed());
+        RateLimitDecision rejected = registry.tryAcquire("user-1");
+        assertFalse(rejected.isAllowed());
+
+        Thread.sleep(rejected.getRetryAfterNanos() / 1_000_000L + 5);
+
+        assertTrue(registry.tryAcquire("user-1").isAllowed());
+    }
+
+    @Test
+    void rejectionsDoNotConsumeTokens() throws InterruptedException {
+        RateLimiterRegistry registry = new RateLimiterRegistry(100, 1, 60_000, 1000);
+        assertTrue(registry.tryAcquire("user-1").isAllowed());
+        for (int i = 0; i < 100; i++) {
+            assertFalse(registry.tryAcquire("user-1").isAllowed());
+        }
+
+        // A hammering client is not pushed further back: the next token still arrives after one interval
+        Thread.sleep(15);
+        assertTrue(registry.tryAcquire("user-1").isAllowed());
+    }
+
+    @Test
+    void keyFloodEvictsOnlyFullBuckets() {
+        RateLimiterRegistry registry = new RateLimiterRegistry(1, 1, 60_000, 16);
+        assertTrue(registry.tryAcquire("limited").isAllowed());
+        assertFalse(registry.tryAcquire("limited").isAllowed());
+
+        // Buckets at 1/s stay partially drained, so none of them can be dropped
+        for (int i = 0; i < 100; i++) {
+            registry.tryAcquire("flood-" + i);
+        }
+        assertFalse(registry.tryAcquire("limited").isAllowed());
+
+        // At 1e9/s every bucket is full again straight away: the stripes stay at their cap
+        RateLimiterRegistry fast = new RateLimiterRegistry(1_000_000_000, 1, 60_000, 16);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(fast.tryAcquire("flood-" + i).isAllowed());
+        }
+        assertTrue(fast.size() <= 16, "size " + fast.size());
+    }
+
+    @Test
+    void fullStripesRejectNewKeys() {
+        // One key per stripe, buckets at 1/s stay partially drained for a second
+        RateLimiterRegistry registry = new RateLimiterRegistry(1, 1, 60_000, 16);
+        int allowed = 0;
+        for (int i = 0; i < 1000; i++) {
+            RateLimitDecision decision = registry.tryAcquire("flood-" + i);
+            if (decision.isAllowed()) {
+                allowed++;
+            } else {
+                assertTrue(decision.getRetryAfterNanos() > 0 && decision.getRetryAfterNanos() <= 1_000_000_000L);
+            }
+        }
+        assertTrue(registry.size() <= 16, "size " + registry.size());
+        assertEquals(registry.size(), allowed);
+        // Keys that made it in keep their own buckets
+        assertFalse(registry.tryAcquire("flood-0").isAllowed());
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiterRegistry(0, 5, 60_000, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiterRegistry(1, 0, 60_000, 1000));
+    }
+}
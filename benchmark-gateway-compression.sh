@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# FinTrack API Gateway - compression / HTTP/2 benchmark
+# Payload bytes and latency of one 100-row transactions page through the gateway, per protocol and encoding.
+#
+# Usage: TOKEN=<jwt> ./benchmark-gateway-compression.sh [requests-per-mode]
+#   GATEWAY_URL  (default http://localhost:8080)
+#   PAGE_SIZE    (default 100)
+# The user behind TOKEN needs at least PAGE_SIZE transactions for a full page.
+
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+PAGE_SIZE=${PAGE_SIZE:-100}
+REQUESTS=${1:-200}
+URL="$GATEWAY_URL/api/transactions?page=0&size=$PAGE_SIZE"
+
+if [ -z "$TOKEN" ]; then
+    echo "❌ TOKEN is not set (log in through /api/users/login and export the token)"
+    exit 1
+fi
+
+echo "📊 Gateway compression benchmark"
+echo "================================"
+echo "   URL: $URL"
+echo "   Requests per mode: $REQUESTS"
+echo ""
+
+# mode-name  curl-protocol-flag  Accept-Encoding
+run_mode() {
+    local name=$1 protocol=$2 encoding=$3
+    local times_file
+    times_file=$(mktemp)
+
+    # Warm-up (connection pools, JIT); no-cache keeps the gateway response cache out of the latency numbers
+    for _ in $(seq 1 20); do
+        curl -s -o /dev/null $protocol -H "Authorization: Bearer $TOKEN" -H "Cache-Control: no-cache" \
+            -H "Accept-Encoding: $encoding" "$URL"
+    done
+
+    local bytes=0
+    for _ in $(seq 1 "$REQUESTS"); do
+        # Accept-Encoding is set by hand (not --compressed), so size_download is the on-the-wire body size
+        read -r size time < <(curl -s -o /dev/null $protocol -w "%{size_download} %{time_total}\n" \
+            -H "Authorization: Bearer $TOKEN" -H "Cache-Control: no-cache" \
+            -H "Accept-Encoding: $encoding" "$URL")
+        bytes=$size
+        echo "$time" >> "$times_file"
+    done
+
+    sort -n "$times_file" | awk -v name="$name" -v bytes="$bytes" '
+        { t[NR] = $1 * 1000; sum += t[NR] }
+        END {
+            p50 = t[int(NR * 0.50) > 0 ? int(NR * 0.50) : 1]
+            p99 = t[int(NR * 0.99) > 0 ? int(NR * 0.99) : 1]
+            printf "   %-22s %8d bytes   avg %7.2f ms   p50 %7.2f ms   p99 %7.2f ms\n", name, bytes, sum / NR, p50, p99
+        }'
+    rm -f "$times_file"
+}
+
+run_mode "http/1.1 identity" "--http1.1" "identity"
+run_mode "http/1.1 gzip" "--http1.1" "gzip"
+run_mode "http/1.1 br" "--http1.1" "br"
+run_mode "h2c identity" "--http2-prior-knowledge" "identity"
+run_mode "h2c gzip" "--http2-prior-knowledge" "gzip"
+run_mode "h2c br" "--http2-prior-knowledge" "br"
+
+echo ""
+echo "✅ Done (br falls back to identity if the gateway couldn't load the Brotli natives)"
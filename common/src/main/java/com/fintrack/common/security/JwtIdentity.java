@@ -0,0 +1,20 @@
+package com.fintrack.common.security;
+
+// Who a verified token belongs to: the subject (email), the userId claim and the expiry
+public class JwtIdentity {
+    private final Long userId;
+    private final String subject;
+    private final long expiresAtMs;
+
+    public JwtIdentity(Long userId, String subject, long expiresAtMs) {
+        this.userId = userId;
+        this.subject = subject;
+        this.expiresAtMs = expiresAtMs;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getSubject() { return subject; }
+
+    public long getExpiresAtMs() { return expiresAtMs; }
+}
@@ -0,0 +1,59 @@
+/*
+ * Shared JWT signing and verification for every FinTrack service
+ * - The HMAC key and the parser are built once in the constructor; both are immutable and thread-safe
+ * - verify() checks signature and expiry and reads every claim the services need in a single parse
+ * Not a Spring bean by itself (services don't scan com.fintrack.common); each service declares it in its config.
+ */
+package com.fintrack.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+public class JwtTokenService {
+    public static final String USER_ID_CLAIM = "userId";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationMs;
+
+    public JwtTokenService(String secret, long expirationMs) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.expirationMs = expirationMs;
+    }
+
+    public String generateToken(String subject, Long userId) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .claim(USER_ID_CLAIM, userId)
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expirationMs))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    // Throws JwtException (or IllegalArgumentException for a blank token) if the token is not valid right now
+    public JwtIdentity verify(String token) {
+        Claims claims = verifyClaims(token);
+        if (claims.getExpiration() == null || claims.getSubject() == null) {
+            throw new JwtException("Token is missing exp or sub");
+        }
+        return new JwtIdentity(claims.get(USER_ID_CLAIM, Long.class), claims.getSubject(),
+                claims.getExpiration().getTime());
+    }
+
+    // For callers that need claims beyond the identity
+    public Claims verifyClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,39 @@
+package com.fintrack.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityAssertionTest {
+    private final IdentityAssertion assertion = new IdentityAssertion("test-secret", 30_000);
+
+    @Test
+    void verifiesWhatItSigned() {
+        String signed = assertion.sign(42L, "user@example.com", 1_000_000);
+
+        assertTrue(assertion.verify(signed, "42", "user@example.com", 1_000_000));
+        assertTrue(assertion.verify(signed, "42", "user@example.com", 1_029_000));
+    }
+
+    @Test
+    void rejectsOtherIdentitiesAndKeys() {
+        String signed = assertion.sign(42L, "user@example.com", 1_000_000);
+
+        assertFalse(assertion.verify(signed, "43", "user@example.com", 1_000_000));
+        assertFalse(assertion.verify(signed, "42", "other@example.com", 1_000_000));
+        assertFalse(new IdentityAssertion("other-secret", 30_000).verify(signed, "42", "user@example.com", 1_000_000));
+    }
+
+    @Test
+    void rejectsStaleAndMalformedAssertions() {
+        String signed = assertion.sign(42L, "user@example.com", 1_000_000);
+
+        assertFalse(assertion.verify(signed, "42", "user@example.com", 1_031_000));
+        assertFalse(assertion.verify(signed, "42", "user@example.com", 969_000));
+        assertFalse(assertion.verify(null, "42", "user@example.com", 1_000_000));
+        assertFalse(assertion.verify("garbage", "42", "user@example.com", 1_000_000));
+        assertFalse(assertion.verify("12x.abc", "42", "user@example.com", 1_000_000));
+        assertFalse(assertion.verify(signed, null, "user@example.com", 1_000_000));
+    }
+}
@@ -0,0 +1,83 @@
+package com.fintrack.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-request cost of authenticating a call, per message
+ * - verify*: the gateway's JWT check, with the pre-built key and parser vs the per-call rebuild the old JwtUtil did
+ * - assertion*: what a downstream service pays instead of parsing the JWT again
+ * Run: mvn -pl common test-compile, then main() with the test classpath
+ * (or org.openjdk.jmh.Main JwtBenchmark); add -prof gc for allocation per op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-for-hmac-sha256";
+
+    private final JwtTokenService tokenService = new JwtTokenService(SECRET, TimeUnit.HOURS.toMillis(1));
+    private final IdentityAssertion identityAssertion = new IdentityAssertion(SECRET, 30_000);
+    private final byte[] secretBytes = SECRET.getBytes(StandardCharsets.UTF_8);
+    private String token;
+    private String assertion;
+    private long issuedAt;
+
+    @Setup
+    public void setUp() {
+        token = tokenService.generateToken("user@example.com", 42L);
+        issuedAt = System.currentTimeMillis();
+        assertion = identityAssertion.sign(42L, "user@example.com", issuedAt);
+    }
+
+    @Benchmark
+    public JwtIdentity verifyPrebuiltParser() {
+        return tokenService.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyRebuildingKeyAndParser() {
+        SecretKey key = Keys.hmacShaKeyFor(secretBytes);
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken("user@example.com", 42L);
+    }
+
+    @Benchmark
+    public String assertionSign() {
+        return identityAssertion.sign(42L, "user@example.com", issuedAt);
+    }
+
+    @Benchmark
+    public boolean assertionVerify() {
+        return identityAssertion.verify(assertion, "42", "user@example.com", issuedAt);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtBenchmark.class.getSimpleName()).build()).run();
+    }
+}
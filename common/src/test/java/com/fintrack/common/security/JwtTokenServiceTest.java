@@ -0,0 +1,36 @@
+package com.fintrack.common.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtTokenServiceTest {
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha256";
+
+    private final JwtTokenService tokenService = new JwtTokenService(SECRET, 60_000);
+
+    @Test
+    void verifiesGeneratedToken() {
+        JwtIdentity identity = tokenService.verify(tokenService.generateToken("user@example.com", 42L));
+
+        assertEquals(Long.valueOf(42L), identity.getUserId());
+        assertEquals("user@example.com", identity.getSubject());
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String token = new JwtTokenService("another-secret-that-is-long-enough-for-hmac", 60_000)
+                .generateToken("user@example.com", 42L);
+
+        assertThrows(JwtException.class, () -> tokenService.verify(token));
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = new JwtTokenService(SECRET, -1_000).generateToken("user@example.com", 42L);
+
+        assertThrows(JwtException.class, () -> tokenService.verify(token));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Decides whether a transaction event should produce an alert for its user
+ * - Users with no rules are alerted on every event (the behaviour before rules existed)
+ * - Otherwise the event must match at least one rule (type/category/merchant/min amount, or a rolling spend limit crossing)
+ * - Rule sets are loaded per user on first use and cached; a scheduled refresh rebuilds only the cached users whose rules changed
+ * - Rolling spend windows are the caller's partition-local state (SpendWindows), not part of the cached rule set
+ */
+package com.fintrack.notificationservice.alert;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.repository.AlertRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class AlertRuleEngine {
+    private static final Logger log = LoggerFactory.getLogger(AlertRuleEngine.class);
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final Map<Long, UserRuleSet> ruleSets = new ConcurrentHashMap<>();
+    private final int maxCachedUsers;
+    private final long refreshOverlapMs;
+    // Nothing is cached before startup, so only changes after it matter
+    private volatile LocalDateTime watermark = LocalDateTime.now();
+
+    public AlertRuleEngine(AlertRuleRepository alertRuleRepository,
+                           @Value("${notification.alert-rules.cache-max-users:100000}") int maxCachedUsers,
+                           @Value("${notification.alert-rules.refresh-interval-ms:5000}") long refreshIntervalMs) {
+        this.alertRuleRepository = alertRuleRepository;
+        this.maxCachedUsers = maxCachedUsers;
+        // Re-scan a little history each time so a rule committed late with an older timestamp is not missed
+        this.refreshOverlapMs = refreshIntervalMs * 2;
+    }
+
+    // spendWindows is null where there is no partition-local state (retry tiers); spend-limit rules then fail open
+    public boolean shouldNotify(TransactionCreatedEvent event, SpendWindows spendWindows) {
+        UserRuleSet ruleSet = ruleSets.get(event.getUserId());
+        if (ruleSet == null) {
+            try {
+                ruleSet = load(event.getUserId());
+            } catch (RuntimeException e) {
+                // Fail open: a rules outage should not silence alerts
+                log.warn("Could not load alert rules for userId={}, alerting by default: {}", event.getUserId(), e.getMessage());
+                return true;
+            }
+        }
+        return ruleSet.isEmpty() || ruleSet.matches(event, System.currentTimeMillis(), spendWindows);
+    }
+
+    // Called after a local rule change so the next event sees it without waiting for the refresh
+    public void invalidate(Long userId) {
+        if (ruleSets.containsKey(userId)) {
+            load(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.alert-rules.refresh-interval-ms:5000}")
+    public void refreshChangedRules() {
+        try {
+            // Always re-scan the overlap, even when nothing looks newer than the watermark: a rule committed late
+            // carries an updatedAt from before the previous scan and would otherwise never be picked up
+            LocalDateTime scanStart = LocalDateTime.now();
+            List<Long> changedUsers = alertRuleRepository.findUserIdsUpdatedAfter(
+                    watermark.minusNanos(refreshOverlapMs * 1_000_000L));
+            int rebuilt = 0;
+            for (Long userId : changedUsers) {
+                if (ruleSets.containsKey(userId)) {
+                    load(userId);
+                    rebuilt++;
+                }
+            }
+            watermark = scanStart;
+            if (rebuilt > 0) {
+                log.debug("Refreshed alert rules for {} of {} changed users", rebuilt, changedUsers.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Alert rule refresh failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private UserRuleSet load(Long userId) {
+        UserRuleSet ruleSet = UserRuleSet.compile(alertRuleRepository.findByUserIdAndActiveTrue(userId));
+        if (ruleSets.size() >= maxCachedUsers && !ruleSets.containsKey(userId)) {
+            evictSome();
+        }
+        ruleSets.put(userId, ruleSet);
+        return ruleSet;
+    }
+
+    private void evictSome() {
+        // Drop roughly a tenth of the cache; evicted users are reloaded on their next event
+        int toEvict = Math.max(1, maxCachedUsers / 10);
+        Iterator<Long> iterator = ruleSets.keySet().iterator();
+        while (toEvict-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
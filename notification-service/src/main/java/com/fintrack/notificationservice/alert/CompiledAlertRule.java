@@ -0,0 +1,74 @@
+package com.fintrack.notificationservice.alert;
+
+import com.fintrack.notificationservice.entity.AlertRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Immutable, evaluation-ready form of an AlertRule
+ * Amounts are pre-converted to cents and the merchant is pre-lowercased, so matching does no parsing or allocation.
+ * Type and category are not checked here: the rule is only reached through its (type, category) index bucket.
+ */
+final class CompiledAlertRule {
+    static final String ANY = "*";
+    private static final long NONE = -1L;
+
+    final long id;
+    final String type;
+    final String category;
+    private final String merchant;
+    private final long minAmountCents;
+    private final long spendLimitCents;
+    private final long windowMs;
+
+    private CompiledAlertRule(long id, String type, String category, String merchant,
+                              long minAmountCents, long spendLimitCents, long windowMs) {
+        this.id = id;
+        this.type = type;
+        this.category = category;
+        this.merchant = merchant;
+        this.minAmountCents = minAmountCents;
+        this.spendLimitCents = spendLimitCents;
+        this.windowMs = windowMs;
+    }
+
+    static CompiledAlertRule compile(AlertRule rule) {
+        boolean hasWindow = rule.getSpendLimit() != null && rule.getWindowHours() != null;
+        return new CompiledAlertRule(
+                rule.getId(),
+                rule.getTransactionType() != null ? rule.getTransactionType().toUpperCase(Locale.ROOT) : ANY,
+                rule.getCategory() != null ? rule.getCategory().toUpperCase(Locale.ROOT) : ANY,
+                rule.getMerchant() != null ? rule.getMerchant().toLowerCase(Locale.ROOT) : null,
+                rule.getMinAmount() != null ? toCents(rule.getMinAmount()) : NONE,
+                hasWindow ? toCents(rule.getSpendLimit()) : NONE,
+                hasWindow ? TimeUnit.HOURS.toMillis(rule.getWindowHours()) : 0L);
+    }
+
+    boolean hasSpendWindow() {
+        return spendLimitCents != NONE;
+    }
+
+    long windowMs() {
+        return windowMs;
+    }
+
+    boolean matchesFilter(String merchantLower, long amountCents) {
+        if (merchant != null && !merchant.equals(merchantLower)) {
+            return false;
+        }
+        return minAmountCents == NONE || amountCents >= minAmountCents;
+    }
+
+    // Fires only when this event pushes the rolling total over the limit, not on every event after it
+    boolean crossesSpendLimit(SpendWindow window, long amountCents, long now) {
+        long before = window.add(now, amountCents, windowMs);
+        return before <= spendLimitCents && before + amountCents > spendLimitCents;
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+}
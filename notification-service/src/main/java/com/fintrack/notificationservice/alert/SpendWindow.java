@@ -0,0 +1,75 @@
+package com.fintrack.notificationservice.alert;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/*
+ * Rolling sum of amounts over the last windowMs, backed by a growable ring buffer of (timestamp, cents)
+ * Expired entries are evicted on each add, so memory follows the number of events inside the window.
+ */
+final class SpendWindow {
+    private long[] timestamps = new long[8];
+    private long[] amounts = new long[8];
+    private int head;
+    private int size;
+    private long total;
+
+    // Returns the in-window total before this amount was added
+    synchronized long add(long now, long amountCents, long windowMs) {
+        long cutoff = now - windowMs;
+        while (size > 0 && timestamps[head] <= cutoff) {
+            total -= amounts[head];
+            head = (head + 1) % timestamps.length;
+            size--;
+        }
+        long before = total;
+
+        if (size == timestamps.length) {
+            grow();
+        }
+        int tail = (head + size) % timestamps.length;
+        timestamps[tail] = now;
+        amounts[tail] = amountCents;
+        size++;
+        total += amountCents;
+        return before;
+    }
+
+    synchronized void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % timestamps.length;
+            out.writeLong(timestamps[index]);
+            out.writeLong(amounts[index]);
+        }
+    }
+
+    static SpendWindow readFrom(DataInputStream in) throws IOException {
+        SpendWindow window = new SpendWindow();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            if (window.size == window.timestamps.length) {
+                window.grow();
+            }
+            window.timestamps[i] = in.readLong();
+            window.amounts[i] = in.readLong();
+            window.total += window.amounts[i];
+            window.size++;
+        }
+        return window;
+    }
+
+    private void grow() {
+        long[] newTimestamps = new long[timestamps.length * 2];
+        long[] newAmounts = new long[amounts.length * 2];
+        for (int i = 0; i < size; i++) {
+            int index = (head + i) % timestamps.length;
+            newTimestamps[i] = timestamps[index];
+            newAmounts[i] = amounts[index];
+        }
+        timestamps = newTimestamps;
+        amounts = newAmounts;
+        head = 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fintrack.notificationservice.alert;
+
+import com.fintrack.notificationservice.state.FilePartitionStateHandoff;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * One user's rolling spend windows, keyed by alert rule id
+ * Kept in a PartitionLocalStore, so the windows move with the user's partition instead of living in the rule cache:
+ * a rule reload or cache eviction no longer resets them, and a cooperative restart hands them over on disk.
+ */
+public final class SpendWindows {
+    // Used by FilePartitionStateHandoff to carry the windows across a restart
+    public static final FilePartitionStateHandoff.Codec<SpendWindows> CODEC = new FilePartitionStateHandoff.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, SpendWindows windows) throws IOException {
+            windows.writeTo(out);
+        }
+
+        @Override
+        public SpendWindows read(DataInputStream in) throws IOException {
+            return readFrom(in);
+        }
+    };
+
+    // Only touched by the thread that owns the user (see PartitionLocalStore)
+    private final Map<Long, SpendWindow> windows = new HashMap<>();
+
+    SpendWindow window(long ruleId) {
+        return windows.computeIfAbsent(ruleId, id -> new SpendWindow());
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    // Drops the windows of rules that were deleted or lost their spend limit
+    void retainOnly(long[] ruleIds) {
+        windows.keySet().removeIf(id -> {
+            for (long ruleId : ruleIds) {
+                if (ruleId == id) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    private void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(windows.size());
+        for (Map.Entry<Long, SpendWindow> entry : windows.entrySet()) {
+            out.writeLong(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    private static SpendWindows readFrom(DataInputStream in) throws IOException {
+        SpendWindows spendWindows = new SpendWindows();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            spendWindows.windows.put(in.readLong(), SpendWindow.readFrom(in));
+        }
+        return spendWindows;
+    }
+}
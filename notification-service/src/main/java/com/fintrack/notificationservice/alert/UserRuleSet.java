@@ -0,0 +1,106 @@
+package com.fintrack.notificationservice.alert;
+
+import com.fintrack.notificationservice.entity.AlertRule;
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * One user's rules, indexed by (type, category) with "*" as wildcard
+ * An event only visits the four buckets it can match: (type, category), (type, *), (*, category), (*, *).
+ * Spend window state is not part of the rule set: it lives in the caller's partition-local SpendWindows.
+ */
+final class UserRuleSet {
+    static final UserRuleSet EMPTY = new UserRuleSet(Map.of(), new long[0], 0);
+
+    private final Map<String, CompiledAlertRule[]> index;
+    private final long[] spendRuleIds;
+    private final int ruleCount;
+
+    private UserRuleSet(Map<String, CompiledAlertRule[]> index, long[] spendRuleIds, int ruleCount) {
+        this.index = index;
+        this.spendRuleIds = spendRuleIds;
+        this.ruleCount = ruleCount;
+    }
+
+    static UserRuleSet compile(List<AlertRule> rules) {
+        if (rules.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, List<CompiledAlertRule>> buckets = new HashMap<>();
+        List<Long> spendRuleIds = new ArrayList<>();
+        for (AlertRule rule : rules) {
+            CompiledAlertRule compiled = CompiledAlertRule.compile(rule);
+            buckets.computeIfAbsent(key(compiled.type, compiled.category), k -> new ArrayList<>()).add(compiled);
+            if (compiled.hasSpendWindow()) {
+                spendRuleIds.add(compiled.id);
+            }
+        }
+
+        Map<String, CompiledAlertRule[]> index = new HashMap<>(buckets.size() * 2);
+        buckets.forEach((key, bucket) -> index.put(key, bucket.toArray(new CompiledAlertRule[0])));
+        return new UserRuleSet(index, spendRuleIds.stream().mapToLong(Long::longValue).toArray(), rules.size());
+    }
+
+    boolean isEmpty() {
+        return ruleCount == 0;
+    }
+
+    int size() {
+        return ruleCount;
+    }
+
+    /*
+     * Every candidate is evaluated (no short-circuit) so all spend windows see the event.
+     * Without spend windows (null, e.g. on the retry tiers) a spend-limit rule whose filter matches fails open.
+     */
+    boolean matches(TransactionCreatedEvent event, long now, SpendWindows spendWindows) {
+        String type = event.getType() != null ? event.getType().toUpperCase(Locale.ROOT) : CompiledAlertRule.ANY;
+        String category = event.getCategory() != null ? event.getCategory().toUpperCase(Locale.ROOT) : CompiledAlertRule.ANY;
+        String merchant = event.getMerchant() != null ? event.getMerchant().toLowerCase(Locale.ROOT) : null;
+        long amountCents = event.getAmount() != null ? CompiledAlertRule.toCents(event.getAmount()) : 0L;
+
+        boolean matched = evaluate(index.get(key(type, category)), merchant, amountCents, now, spendWindows);
+        if (!CompiledAlertRule.ANY.equals(category)) {
+            matched |= evaluate(index.get(key(type, CompiledAlertRule.ANY)), merchant, amountCents, now, spendWindows);
+        }
+        if (!CompiledAlertRule.ANY.equals(type)) {
+            matched |= evaluate(index.get(key(CompiledAlertRule.ANY, category)), merchant, amountCents, now, spendWindows);
+            if (!CompiledAlertRule.ANY.equals(category)) {
+                matched |= evaluate(index.get(key(CompiledAlertRule.ANY, CompiledAlertRule.ANY)), merchant, amountCents,
+                        now, spendWindows);
+            }
+        }
+        if (spendWindows != null && spendWindows.size() > spendRuleIds.length) {
+            spendWindows.retainOnly(spendRuleIds);
+        }
+        return matched;
+    }
+
+    private boolean evaluate(CompiledAlertRule[] candidates, String merchant, long amountCents, long now,
+                             SpendWindows spendWindows) {
+        if (candidates == null) {
+            return false;
+        }
+        boolean matched = false;
+        for (CompiledAlertRule rule : candidates) {
+            if (!rule.matchesFilter(merchant, amountCents)) {
+                continue;
+            }
+            if (rule.hasSpendWindow() && spendWindows != null) {
+                matched |= rule.crossesSpendLimit(spendWindows.window(rule.id), amountCents, now);
+            } else {
+                matched = true;
+            }
+        }
+        return matched;
+    }
+
+    private static String key(String type, String category) {
+        return type + '|' + category;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Adaptive pause/resume of the main transaction-events listener
+ * - Pauses when downstream is saturated: SMTP or email-channel queue utilization, smoothed SMTP send latency or parallel worker backlog above the pause thresholds
+ * - Only email throttles intake; webhook and in-app channels shed load in their own bulkheads instead of stalling the consumer
+ * - Resumes only once every signal is back under its (lower) resume threshold, so it doesn't flap
+ * A paused container keeps polling (and returns no records), so the group membership and max.poll.interval.ms stay healthy.
+ */
+package com.fintrack.notificationservice.backpressure;
+
+import com.fintrack.notificationservice.channel.NotificationDispatcher;
+import com.fintrack.notificationservice.consumer.ParallelTransactionEventConsumer;
+import com.fintrack.notificationservice.consumer.TransactionEventProcessor;
+import com.fintrack.notificationservice.mail.MailDeliveryEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class BackpressureController {
+    private static final Logger log = LoggerFactory.getLogger(BackpressureController.class);
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MailDeliveryEngine mailDeliveryEngine;
+    private final NotificationDispatcher dispatcher;
+    private final ObjectProvider<ParallelTransactionEventConsumer> parallelConsumer;
+    private final AtomicInteger paused = new AtomicInteger();
+    private final Counter pauseCounter;
+
+    @Value("${notification.backpressure.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.backpressure.pause-queue-utilization:0.8}")
+    private double pauseQueueUtilization;
+
+    @Value("${notification.backpressure.resume-queue-utilization:0.3}")
+    private double resumeQueueUtilization;
+
+    @Value("${notification.backpressure.pause-latency-ms:2000}")
+    private double pauseLatencyMs;
+
+    @Value("${notification.backpressure.resume-latency-ms:500}")
+    private double resumeLatencyMs;
+
+    @Value("${notification.backpressure.pause-worker-backlog:5000}")
+    private int pauseWorkerBacklog;
+
+    @Value("${notification.backpressure.resume-worker-backlog:1000}")
+    private int resumeWorkerBacklog;
+
+    public BackpressureController(KafkaListenerEndpointRegistry listenerRegistry,
+                                  MailDeliveryEngine mailDeliveryEngine,
+                                  NotificationDispatcher dispatcher,
+                                  ObjectProvider<ParallelTransactionEventConsumer> parallelConsumer,
+                                  MeterRegistry meterRegistry) {
+        this.listenerRegistry = listenerRegistry;
+        this.mailDeliveryEngine = mailDeliveryEngine;
+        this.dispatcher = dispatcher;
+        this.parallelConsumer = parallelConsumer;
+        meterRegistry.gauge("notification.backpressure.paused", paused);
+        this.pauseCounter = meterRegistry.counter("notification.backpressure.pauses");
+    }
+
+    @Scheduled(fixedDelayString = "${notification.backpressure.check-interval-ms:500}")
+    public void evaluate() {
+        if (!enabled) {
+            return;
+        }
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(TransactionEventProcessor.MAIN_LISTENER_ID);
+        if (container == null || !container.isRunning()) {
+            return;
+        }
+
+        double queueUtilization = Math.max(mailDeliveryEngine.queueUtilization(), dispatcher.queueUtilization("email"));
+        // Latency only matters while mail is waiting; with an empty queue the last (stale) average would never recover
+        double latencyMs = mailDeliveryEngine.queuedMails() > 0 ? mailDeliveryEngine.providerLatencyMs() : 0.0;
+        ParallelTransactionEventConsumer parallel = parallelConsumer.getIfAvailable();
+        int workerBacklog = parallel != null ? parallel.queuedTasks() : 0;
+
+        if (!container.isPauseRequested()) {
+            if (queueUtilization >= pauseQueueUtilization || latencyMs >= pauseLatencyMs || workerBacklog >= pauseWorkerBacklog) {
+                container.pause();
+                paused.set(1);
+                pauseCounter.increment();
+                log.warn("⏸️ Pausing transaction-events consumption: mailQueue={}%, smtpLatencyMs={}, workerBacklog={}",
+                        Math.round(queueUtilization * 100), Math.round(latencyMs), workerBacklog);
+            }
+        } else if (queueUtilization <= resumeQueueUtilization && latencyMs <= resumeLatencyMs
+                && workerBacklog <= resumeWorkerBacklog) {
+            container.resume();
+            paused.set(0);
+            log.info("▶️ Resuming transaction-events consumption: mailQueue={}%, smtpLatencyMs={}, workerBacklog={}",
+                    Math.round(queueUtilization * 100), Math.round(latencyMs), workerBacklog);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.fintrack.notificationservice.channel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/*
+ * Isolation unit for one channel: bounded queue, dedicated worker threads, circuit breaker
+ * - submit() never blocks: a full queue rejects the message for this channel only (counted), the consumer keeps going
+ * - Workers drain up to batchSize messages and hand them to the channel in one call
+ * - A failed batch is retried (maxAttempts) and counts towards the breaker; while the breaker is open each worker
+ *   holds its batch instead of draining, the queue fills up and new messages are shed at submit()
+ * - A partial failure (PartialDeliveryException) retries only the undelivered messages and leaves the breaker
+ *   closed: the channel is up, only some messages or endpoints failed
+ * - Messages still undelivered after maxAttempts, reported late by the channel, or left in the queue at shutdown
+ *   go to the failure handler (NotificationDispatcher hands them to the retry tiers)
+ */
+class ChannelBulkhead {
+    private static final Logger log = LoggerFactory.getLogger(ChannelBulkhead.class);
+
+    private final NotificationChannel channel;
+    private final BlockingQueue<NotificationMessage> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final CircuitBreaker circuitBreaker;
+    private final BiConsumer<NotificationMessage, Exception> failureHandler;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter rejected;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Timer batchLatency;
+    private volatile boolean running = true;
+
+    ChannelBulkhead(NotificationChannel channel, int workerCount, int queueCapacity, int batchSize, int maxAttempts,
+                    CircuitBreaker circuitBreaker, BiConsumer<NotificationMessage, Exception> failureHandler,
+                    MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.circuitBreaker = circuitBreaker;
+        this.failureHandler = failureHandler;
+
+        String name = channel.name();
+        this.rejected = meterRegistry.counter("notification.channel.rejected", "channel", name);
+        this.delivered = meterRegistry.counter("notification.channel.delivered", "channel", name);
+        this.failed = meterRegistry.counter("notification.channel.failed", "channel", name);
+        this.batchLatency = Timer.builder("notification.channel.batch.latency")
+                .tag("channel", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.channel.queue.size", Tags.of("channel", name), queue, BlockingQueue::size);
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "channel-" + name + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    boolean submit(NotificationMessage message) {
+        if (queue.offer(message)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    double queueUtilization() {
+        return (double) queue.size() / queueCapacity;
+    }
+
+    private void runWorker() {
+        List<NotificationMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationMessage first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<NotificationMessage> batch) throws InterruptedException {
+        List<NotificationMessage> pending = batch;
+        try {
+            for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                // Hold the batch while the circuit is open; meanwhile the queue fills and submit() sheds load
+                long wait;
+                while ((wait = circuitBreaker.millisUntilAllowed()) > 0) {
+                    Thread.sleep(Math.min(wait, 1000));
+                }
+                long start = System.nanoTime();
+                Exception failure;
+                try {
+                    channel.deliver(pending, failureHandler);
+                    batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    circuitBreaker.recordSuccess();
+                    delivered.increment(pending.size());
+                    return;
+                } catch (PartialDeliveryException e) {
+                    circuitBreaker.recordSuccess();
+                    delivered.increment(pending.size() - e.getUndelivered().size());
+                    pending = e.getUndelivered();
+                    failure = e;
+                } catch (InterruptedException e) {
+                    throw e;
+                } catch (Exception e) {
+                    if (circuitBreaker.recordFailure()) {
+                        log.warn("🔌 Circuit opened for {} channel: {}", channel.name(), e.getMessage());
+                    }
+                    failure = e;
+                }
+                if (attempt == maxAttempts) {
+                    failed.increment(pending.size());
+                    log.error("❌ {} channel gave up on {} notifications after {} attempts: {}",
+                            channel.name(), pending.size(), attempt, failure.getMessage());
+                    handOff(pending, failure);
+                    return;
+                }
+                Thread.sleep(200L * attempt);
+            }
+        } catch (InterruptedException e) {
+            // Stopped while holding the batch (open circuit, backoff): hand it on instead of losing it
+            handOff(pending, e);
+            throw e;
+        }
+    }
+
+    private void handOff(List<NotificationMessage> messages, Exception cause) {
+        for (NotificationMessage message : messages) {
+            failureHandler.accept(message, cause);
+        }
+    }
+
+    void shutdown(long timeoutMs) throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        // Interrupted workers hand their batch off on the way out
+        for (Thread worker : workers) {
+            worker.join(1000);
+        }
+        List<NotificationMessage> undelivered = new ArrayList<>();
+        queue.drainTo(undelivered);
+        if (!undelivered.isEmpty()) {
+            log.warn("{} channel stopped with {} undelivered notifications", channel.name(), undelivered.size());
+            handOff(undelivered, new IllegalStateException(channel.name() + " channel stopped"));
+        }
+    }
+}
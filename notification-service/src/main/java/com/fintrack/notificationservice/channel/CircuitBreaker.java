@@ -0,0 +1,64 @@
+package com.fintrack.notificationservice.channel;
+
+/*
+ * Consecutive-failure circuit breaker
+ * - CLOSED: calls go through; failureThreshold failures in a row open the circuit
+ * - OPEN: calls are held back for openMs
+ * - HALF_OPEN: one trial call; success closes the circuit, failure reopens it
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    // How long the caller must wait before its call is allowed (0 = go ahead)
+    public synchronized long millisUntilAllowed() {
+        if (state == State.OPEN) {
+            long remaining = openedAt + openMs - System.currentTimeMillis();
+            if (remaining > 0) {
+                return remaining;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return 100;
+            }
+            trialInFlight = true;
+        }
+        return 0;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    // Returns true if this failure opened the circuit
+    public synchronized boolean recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            boolean opened = state != State.OPEN;
+            state = State.OPEN;
+            trialInFlight = false;
+            openedAt = System.currentTimeMillis();
+            return opened;
+        }
+        return false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
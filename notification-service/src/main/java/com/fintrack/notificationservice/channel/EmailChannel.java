@@ -0,0 +1,47 @@
+package com.fintrack.notificationservice.channel;
+
+import com.fintrack.notificationservice.entity.NotificationPreference;
+import com.fintrack.notificationservice.service.EmailService;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+@Component
+public class EmailChannel implements NotificationChannel {
+    private final EmailService emailService;
+
+    public EmailChannel(EmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public boolean isEnabledFor(NotificationPreference preference) {
+        return preference.isEmailEnabled();
+    }
+
+    /*
+     * Hands off to the SMTP engine's own queue. Once the queue is full, the rest of the batch is reported undelivered:
+     * the bulkhead retries only those, never the mails already queued. Mails the engine gives up on later
+     * (attempts exhausted, engine stopped) come back through lateFailures.
+     */
+    @Override
+    public void deliver(List<NotificationMessage> batch, BiConsumer<NotificationMessage, Exception> lateFailures)
+            throws PartialDeliveryException {
+        for (int i = 0; i < batch.size(); i++) {
+            NotificationMessage message = batch.get(i);
+            try {
+                emailService.send(message.getUserId(), message.getEmail(), message.getSubject(), message.getBody(),
+                        cause -> lateFailures.accept(message, cause));
+            } catch (RuntimeException e) {
+                throw new PartialDeliveryException(new ArrayList<>(batch.subList(i, batch.size())), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.fintrack.notificationservice.channel;
+
+import com.fintrack.notificationservice.entity.NotificationPreference;
+import com.fintrack.notificationservice.service.InboxService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+// Appends to the user's persistent inbox; the bulkhead hands over whole batches, written in one transaction
+@Component
+public class InAppChannel implements NotificationChannel {
+    private final InboxService inboxService;
+
+    public InAppChannel(InboxService inboxService) {
+        this.inboxService = inboxService;
+    }
+
+    @Override
+    public String name() {
+        return "in-app";
+    }
+
+    @Override
+    public boolean isEnabledFor(NotificationPreference preference) {
+        return preference.isInAppEnabled();
+    }
+
+    @Override
+    public void deliver(List<NotificationMessage> batch, BiConsumer<NotificationMessage, Exception> lateFailures) {
+        inboxService.append(batch);
+    }
+}
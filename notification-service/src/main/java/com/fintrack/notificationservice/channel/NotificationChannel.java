@@ -0,0 +1,24 @@
+package com.fintrack.notificationservice.channel;
+
+import com.fintrack.notificationservice.entity.NotificationPreference;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/*
+ * A delivery channel (email, webhook, in-app)
+ * NotificationDispatcher runs every channel behind its own ChannelBulkhead, so deliver() may block
+ * or fail without affecting the other channels.
+ */
+public interface NotificationChannel {
+    String name();
+
+    boolean isEnabledFor(NotificationPreference preference);
+
+    /*
+     * Delivers a batch drained from the channel's queue; throwing fails the whole batch, PartialDeliveryException
+     * names the messages that were not delivered. A channel that hands messages on to its own asynchronous queue
+     * (email) reports the ones that fail later through lateFailures.
+     */
+    void deliver(List<NotificationMessage> batch, BiConsumer<NotificationMessage, Exception> lateFailures) throws Exception;
+}
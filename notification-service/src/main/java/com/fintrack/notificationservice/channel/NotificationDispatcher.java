@@ -0,0 +1,168 @@
+package com.fintrack.notificationservice.channel;
+
+import com.fintrack.notificationservice.entity.NotificationPreference;
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.retry.FailedEventForwarder;
+import com.fintrack.notificationservice.retry.RetryTiers;
+import com.fintrack.notificationservice.service.NotificationPreferenceService;
+import com.fintrack.notificationservice.template.NotificationTemplates;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Fans a notification out to every channel the user has enabled
+ * - Messages are rendered once, then handed to each channel's bulkhead (own queue, workers, circuit breaker)
+ * - dispatch() never blocks on a channel: a slow or failing webhook fills only its own queue
+ * - A message a channel could not take (queue full) or gave up on (attempts exhausted, late SMTP failure, shutdown)
+ *   goes back to the retry tiers for that channel only, as its source event plus an x-retry-channels header.
+ *   The retry consumer then redelivers it to just that channel, without a second dedupe claim.
+ * - Digests have no source event: they are requeued in memory with the retry tiers' delays, then given up on
+ * Per-channel tuning: notification.channels.<name>.{enabled, workers, queue-capacity, batch-size, max-attempts,
+ * failure-threshold, open-ms}
+ */
+@Component
+public class NotificationDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final NotificationPreferenceService preferenceService;
+    private final NotificationTemplates templates;
+    private final FailedEventForwarder forwarder;
+    private final RetryTiers retryTiers;
+    private final MeterRegistry meterRegistry;
+    private final Map<NotificationChannel, ChannelBulkhead> bulkheads = new LinkedHashMap<>();
+    private final ScheduledExecutorService requeueTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "notification-requeue");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationDispatcher(List<NotificationChannel> channels, NotificationPreferenceService preferenceService,
+                                  NotificationTemplates templates, FailedEventForwarder forwarder, RetryTiers retryTiers,
+                                  Environment environment, MeterRegistry meterRegistry) {
+        this.preferenceService = preferenceService;
+        this.templates = templates;
+        this.forwarder = forwarder;
+        this.retryTiers = retryTiers;
+        this.meterRegistry = meterRegistry;
+        for (NotificationChannel channel : channels) {
+            String prefix = "notification.channels." + channel.name() + ".";
+            if (!environment.getProperty(prefix + "enabled", Boolean.class, true)) {
+                log.info("Notification channel {} disabled", channel.name());
+                continue;
+            }
+            CircuitBreaker circuitBreaker = new CircuitBreaker(
+                    environment.getProperty(prefix + "failure-threshold", Integer.class, 5),
+                    environment.getProperty(prefix + "open-ms", Long.class, 30000L));
+            bulkheads.put(channel, new ChannelBulkhead(channel,
+                    environment.getProperty(prefix + "workers", Integer.class, 2),
+                    environment.getProperty(prefix + "queue-capacity", Integer.class, 10000),
+                    environment.getProperty(prefix + "batch-size", Integer.class, 50),
+                    environment.getProperty(prefix + "max-attempts", Integer.class, 3),
+                    circuitBreaker, (message, cause) -> handOff(channel, message, cause), meterRegistry));
+        }
+    }
+
+    public void dispatchTransactionAlert(TransactionCreatedEvent event) {
+        dispatch(transactionAlert(event, 0), null);
+    }
+
+    // Sends an alert again to the named channels (comma-separated) only; failures go on to retryTier
+    public void redeliverTransactionAlert(TransactionCreatedEvent event, String channelNames, int retryTier) {
+        dispatch(transactionAlert(event, retryTier), Set.of(channelNames.split(",")));
+    }
+
+    public void dispatchDigest(long userId, String email, int transactionCount, BigDecimal totalIncome,
+                               BigDecimal totalExpense, String topExpenseCategory) {
+        String body = templates.digest(transactionCount, totalIncome, totalExpense, topExpenseCategory);
+        dispatch(new NotificationMessage(userId, email, "DIGEST", "FinTrack transaction digest", body, null, 0), null);
+    }
+
+    private NotificationMessage transactionAlert(TransactionCreatedEvent event, int retryTier) {
+        String body = templates.transactionAlert(event.getType(), event.getAmount(), event.getCategory(), event.getMerchant());
+        return new NotificationMessage(event.getUserId(), event.getUserEmail(), "TRANSACTION_ALERT",
+                "FinTrack transaction alert", body, event, retryTier);
+    }
+
+    // Queue fill of one channel (0.0 if disabled), read by the backpressure controller
+    public double queueUtilization(String channelName) {
+        for (Map.Entry<NotificationChannel, ChannelBulkhead> entry : bulkheads.entrySet()) {
+            if (entry.getKey().name().equals(channelName)) {
+                return entry.getValue().queueUtilization();
+            }
+        }
+        return 0.0;
+    }
+
+    // channelNames == null means every channel the user has enabled
+    private void dispatch(NotificationMessage message, Set<String> channelNames) {
+        NotificationPreference preference = preferenceService.preferencesFor(message.getUserId());
+        for (Map.Entry<NotificationChannel, ChannelBulkhead> entry : bulkheads.entrySet()) {
+            NotificationChannel channel = entry.getKey();
+            if ((channelNames == null || channelNames.contains(channel.name())) && channel.isEnabledFor(preference)
+                    && !entry.getValue().submit(message)) {
+                log.warn("⚠️ {} channel saturated, sending notification for userId={} to the retry tiers",
+                        channel.name(), message.getUserId());
+                // On the consumer thread: if this throws, the event's own failure handling takes over
+                retry(channel, message, new IllegalStateException(channel.name() + " channel queue is full"));
+            }
+        }
+    }
+
+    // Failures reported by a bulkhead worker or the SMTP engine, off the consumer thread
+    private void handOff(NotificationChannel channel, NotificationMessage message, Exception cause) {
+        try {
+            retry(channel, message, cause);
+        } catch (RuntimeException e) {
+            meterRegistry.counter("notification.channel.lost", "channel", channel.name()).increment();
+            log.error("❌ Could not hand {} notification for userId={} to the retry tiers, lost: {}",
+                    channel.name(), message.getUserId(), e.getMessage(), e);
+        }
+    }
+
+    private void retry(NotificationChannel channel, NotificationMessage message, Exception cause) {
+        if (message.getEvent() != null) {
+            forwarder.forward(message.getEvent(), message.getRetryTier(), cause, channel.name());
+            return;
+        }
+        if (message.getRetryTier() >= RetryTiers.TIER_COUNT) {
+            meterRegistry.counter("notification.channel.lost", "channel", channel.name()).increment();
+            log.error("☠️ Gave up on {} {} notification for userId={} after {} requeues: {}", channel.name(),
+                    message.getKind(), message.getUserId(), message.getRetryTier(), cause.getMessage());
+            return;
+        }
+        long delayMs = retryTiers.delayMs(message.getRetryTier());
+        NotificationMessage next = message.nextAttempt();
+        requeueTimer.schedule(() -> {
+            ChannelBulkhead bulkhead = bulkheads.get(channel);
+            if (!bulkhead.submit(next)) {
+                handOff(channel, next, new IllegalStateException(channel.name() + " channel queue is full"));
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+        log.warn("🔁 Requeued {} {} notification for userId={} in {} ms", channel.name(), message.getKind(),
+                message.getUserId(), delayMs);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ChannelBulkhead bulkhead : bulkheads.values()) {
+            bulkhead.shutdown(5000);
+        }
+        int dropped = requeueTimer.shutdownNow().size();
+        if (dropped > 0) {
+            log.warn("Dropped {} requeued digest notifications on shutdown", dropped);
+        }
+    }
+}
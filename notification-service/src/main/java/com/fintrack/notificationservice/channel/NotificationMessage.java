@@ -0,0 +1,54 @@
+package com.fintrack.notificationservice.channel;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+
+import java.time.Instant;
+
+/*
+ * A rendered notification, fanned out unchanged to every channel the user has enabled
+ * - event is the transaction event it was rendered from (null for digests), so an undelivered message can go
+ *   back through the retry tiers
+ * - retryTier is the tier a failure of this message is handed to next
+ */
+public class NotificationMessage {
+    private final long userId;
+    private final String email;
+    private final String kind;
+    private final String subject;
+    private final String body;
+    private final TransactionCreatedEvent event;
+    private final int retryTier;
+    private final Instant createdAt;
+
+    public NotificationMessage(long userId, String email, String kind, String subject, String body,
+                               TransactionCreatedEvent event, int retryTier) {
+        this(userId, email, kind, subject, body, event, retryTier, Instant.now());
+    }
+
+    private NotificationMessage(long userId, String email, String kind, String subject, String body,
+                                TransactionCreatedEvent event, int retryTier, Instant createdAt) {
+        this.userId = userId;
+        this.email = email;
+        this.kind = kind;
+        this.subject = subject;
+        this.body = body;
+        this.event = event;
+        this.retryTier = retryTier;
+        this.createdAt = createdAt;
+    }
+
+    // The same notification, one retry tier further on
+    public NotificationMessage nextAttempt() {
+        return new NotificationMessage(userId, email, kind, subject, body, event, retryTier + 1, createdAt);
+    }
+
+    public long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public String getKind() { return kind; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+    public String getEventId() { return event != null ? event.getEventId() : null; }
+    public TransactionCreatedEvent getEvent() { return event; }
+    public int getRetryTier() { return retryTier; }
+    public Instant getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,20 @@
+package com.fintrack.notificationservice.channel;
+
+import java.util.List;
+
+/*
+ * Thrown by a channel that delivered part of a batch: the bulkhead retries only the undelivered messages.
+ * The channel itself is up, so this does not count towards the channel's circuit breaker.
+ */
+public class PartialDeliveryException extends Exception {
+    private final List<NotificationMessage> undelivered;
+
+    public PartialDeliveryException(List<NotificationMessage> undelivered, Exception cause) {
+        super(undelivered.size() + " notifications not delivered: " + cause.getMessage(), cause);
+        this.undelivered = undelivered;
+    }
+
+    public List<NotificationMessage> getUndelivered() {
+        return undelivered;
+    }
+}
@@ -0,0 +1,167 @@
+package com.fintrack.notificationservice.channel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintrack.notificationservice.entity.NotificationPreference;
+import com.fintrack.notificationservice.service.NotificationPreferenceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/*
+ * POSTs notifications to the user's webhook URL
+ * - A drained batch is grouped by URL and sent as one JSON array per URL
+ * - One shared HttpClient keeps connections to each endpoint alive and reuses them across batches
+ * - Every URL has its own circuit breaker, so one dead endpoint fails fast without holding back the others
+ * - Messages for URLs that failed (non-2xx, I/O error, open circuit) are reported back as undelivered and only
+ *   those are retried (delivery is at-least-once, receivers dedupe on eventId)
+ * - The URL is checked against WebhookUrlValidator before every send; rejected URLs are dropped, not retried
+ */
+@Component
+public class WebhookChannel implements NotificationChannel {
+    private static final Logger log = LoggerFactory.getLogger(WebhookChannel.class);
+
+    private final NotificationPreferenceService preferenceService;
+    private final WebhookUrlValidator urlValidator;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long openMs;
+    private final int maxTrackedUrls;
+    private final Counter blocked;
+
+    public WebhookChannel(NotificationPreferenceService preferenceService, WebhookUrlValidator urlValidator,
+                          ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                          @Value("${notification.channels.webhook.connect-timeout-ms:2000}") long connectTimeoutMs,
+                          @Value("${notification.channels.webhook.request-timeout-ms:5000}") long requestTimeoutMs,
+                          @Value("${notification.channels.webhook.failure-threshold:5}") int failureThreshold,
+                          @Value("${notification.channels.webhook.open-ms:30000}") long openMs,
+                          @Value("${notification.channels.webhook.max-tracked-urls:10000}") int maxTrackedUrls) {
+        this.preferenceService = preferenceService;
+        this.urlValidator = urlValidator;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.maxTrackedUrls = maxTrackedUrls;
+        this.blocked = meterRegistry.counter("notification.webhook.blocked");
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public boolean isEnabledFor(NotificationPreference preference) {
+        return preference.isWebhookEnabled() && preference.getWebhookUrl() != null;
+    }
+
+    @Override
+    public void deliver(List<NotificationMessage> batch, BiConsumer<NotificationMessage, Exception> lateFailures)
+            throws PartialDeliveryException, InterruptedException {
+        Map<String, List<NotificationMessage>> byUrl = new LinkedHashMap<>();
+        for (NotificationMessage message : batch) {
+            String url = preferenceService.preferencesFor(message.getUserId()).getWebhookUrl();
+            if (url != null) {
+                byUrl.computeIfAbsent(url, u -> new ArrayList<>()).add(message);
+            }
+        }
+
+        List<NotificationMessage> undelivered = new ArrayList<>();
+        Exception firstFailure = null;
+        for (Map.Entry<String, List<NotificationMessage>> entry : byUrl.entrySet()) {
+            String url = entry.getKey();
+            List<NotificationMessage> messages = entry.getValue();
+            URI uri;
+            try {
+                uri = urlValidator.validate(url);
+            } catch (IllegalArgumentException e) {
+                blocked.increment(messages.size());
+                log.warn("🚫 Dropped {} webhook notifications, {} rejected: {}", messages.size(), url, e.getMessage());
+                continue;
+            }
+
+            CircuitBreaker breaker = breakerFor(url);
+            if (breaker.millisUntilAllowed() > 0) {
+                undelivered.addAll(messages);
+                if (firstFailure == null) {
+                    firstFailure = new IOException("Circuit open for webhook " + url);
+                }
+                continue;
+            }
+            try {
+                post(uri, messages);
+                breaker.recordSuccess();
+            } catch (IOException e) {
+                if (breaker.recordFailure()) {
+                    log.warn("🔌 Circuit opened for webhook {}: {}", url, e.getMessage());
+                }
+                undelivered.addAll(messages);
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+
+        if (!undelivered.isEmpty()) {
+            throw new PartialDeliveryException(undelivered, firstFailure);
+        }
+    }
+
+    private void post(URI uri, List<NotificationMessage> messages) throws IOException, InterruptedException {
+        List<Map<String, Object>> payloads = new ArrayList<>(messages.size());
+        for (NotificationMessage message : messages) {
+            payloads.add(payload(message));
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payloads)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook " + uri + " responded " + response.statusCode());
+        }
+    }
+
+    private CircuitBreaker breakerFor(String url) {
+        if (breakers.size() >= maxTrackedUrls && !breakers.containsKey(url)) {
+            // Healthy endpoints need no memory; a closed breaker is recreated on demand
+            breakers.values().removeIf(breaker -> breaker.state() == CircuitBreaker.State.CLOSED);
+        }
+        return breakers.computeIfAbsent(url, u -> new CircuitBreaker(failureThreshold, openMs));
+    }
+
+    private static Map<String, Object> payload(NotificationMessage message) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("userId", message.getUserId());
+        payload.put("kind", message.getKind());
+        payload.put("subject", message.getSubject());
+        payload.put("message", message.getBody());
+        payload.put("eventId", message.getEventId());
+        payload.put("createdAt", message.getCreatedAt().toString());
+        return payload;
+    }
+}
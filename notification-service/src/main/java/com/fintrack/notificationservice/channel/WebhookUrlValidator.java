@@ -0,0 +1,130 @@
+package com.fintrack.notificationservice.channel;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Keeps user-supplied webhook URLs from reaching the service's own network (SSRF)
+ * - Only http(s) URLs without user info
+ * - Host names on the block list are rejected (the compose services, "*.internal", ...; "x-*" matches a prefix)
+ * - Every address the host resolves to must be public: loopback, private, link-local (incl. the cloud metadata
+ *   endpoint 169.254.169.254), unique-local, CGNAT, multicast and unspecified addresses are rejected
+ * Checked when the URL is saved and again before every send, because DNS answers can change in between.
+ * The JVM caches the lookup, so the HTTP client connects to the address that was just checked.
+ */
+@Component
+public class WebhookUrlValidator {
+    private static final byte[] IPV4_COMPATIBLE_PREFIX = new byte[12];
+    private static final byte[] NAT64_PREFIX = {0, 0x64, (byte) 0xff, (byte) 0x9b, 0, 0, 0, 0, 0, 0, 0, 0};
+
+    private final List<String> blockedHosts;
+    private final boolean allowPrivateAddresses;
+
+    public WebhookUrlValidator(
+            @Value("${notification.channels.webhook.blocked-hosts:localhost,user-service,transaction-service,notification-service,api-gateway,kafka,kafka-ui,zookeeper,postgres-*,*.internal,*.local}")
+            List<String> blockedHosts,
+            // Local development only: lets webhooks reach loopback and private networks (link-local stays blocked)
+            @Value("${notification.channels.webhook.allow-private-addresses:false}") boolean allowPrivateAddresses) {
+        this.blockedHosts = blockedHosts.stream().map(host -> host.trim().toLowerCase(Locale.ROOT)).toList();
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    // Returns the parsed URL, or throws IllegalArgumentException saying why it may not be called
+    public URI validate(String url) {
+        URI uri;
+        try {
+            uri = new URI(url);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("not a valid URL");
+        }
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "";
+        if (!scheme.equals("http") && !scheme.equals("https")) {
+            throw new IllegalArgumentException("only http and https URLs are allowed");
+        }
+        if (uri.getHost() == null || uri.getRawUserInfo() != null) {
+            throw new IllegalArgumentException("URL must name a host and carry no credentials");
+        }
+
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        while (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        if (isBlockedName(host)) {
+            throw new IllegalArgumentException("host " + host + " is not allowed");
+        }
+
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("host " + host + " cannot be resolved");
+        }
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new IllegalArgumentException("host " + host + " resolves to a non-public address");
+            }
+        }
+        return uri;
+    }
+
+    private boolean isBlockedName(String host) {
+        for (String blocked : blockedHosts) {
+            boolean match = blocked.startsWith("*.") ? host.endsWith(blocked.substring(1))
+                    : blocked.endsWith("*") ? host.startsWith(blocked.substring(0, blocked.length() - 1))
+                    : host.equals(blocked);
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isInternal(InetAddress address) {
+        if (address.isLinkLocalAddress() || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // IPv4-compatible (::a.b.c.d) and NAT64 (64:ff9b::a.b.c.d) addresses are judged by the embedded IPv4 address
+            if (hasPrefix(bytes, IPV4_COMPATIBLE_PREFIX) || hasPrefix(bytes, NAT64_PREFIX)) {
+                try {
+                    return isInternal(InetAddress.getByAddress(Arrays.copyOfRange(bytes, 12, 16)));
+                } catch (UnknownHostException e) {
+                    return true;
+                }
+            }
+            // fc00::/7 unique local
+            if ((bytes[0] & 0xfe) == 0xfc) {
+                return !allowPrivateAddresses;
+            }
+        } else {
+            int first = bytes[0] & 0xff;
+            int second = bytes[1] & 0xff;
+            // 0.0.0.0/8 "this network", 240.0.0.0/4 reserved
+            if (first == 0 || first >= 240) {
+                return true;
+            }
+            // 100.64.0.0/10 carrier-grade NAT, used for internal addressing by some clouds
+            if (first == 100 && (second & 0xc0) == 64) {
+                return !allowPrivateAddresses;
+            }
+        }
+        return !allowPrivateAddresses && (address.isLoopbackAddress() || address.isSiteLocalAddress());
+    }
+
+    private static boolean hasPrefix(byte[] bytes, byte[] prefix) {
+        return Arrays.equals(bytes, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
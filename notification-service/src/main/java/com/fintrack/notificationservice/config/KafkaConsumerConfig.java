@@ -1,7 +1,10 @@
 package com.fintrack.notificationservice.config;
 
 import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.state.PartitionStateRebalanceListener;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -9,7 +12,11 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +27,43 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // record | batch | parallel
+    @Value("${notification.consumer.mode:batch}")
+    private String consumerMode;
+
+    @Value("${notification.consumer.concurrency:1}")
+    private int concurrency;
+
+    @Value("${notification.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // eager       = default range assignor, every rebalance revokes all partitions from every member
+    // cooperative = cooperative-sticky assignor plus static membership, only moved partitions are revoked
+    @Value("${notification.consumer.rebalance-mode:eager}")
+    private String rebalanceMode;
+
+    // Stable per-instance id (e.g. pod or container name); empty disables static membership
+    @Value("${notification.consumer.instance-id:}")
+    private String instanceId;
+
+    @Value("${notification.consumer.session-timeout-ms:45000}")
+    private int sessionTimeoutMs;
+
+    // Backoff between redeliveries of a record whose hand-off to the retry tiers failed (never gives up)
+    @Value("${notification.consumer.error-backoff.initial-ms:1000}")
+    private long errorBackoffInitialMs;
+
+    @Value("${notification.consumer.error-backoff.max-ms:60000}")
+    private long errorBackoffMaxMs;
+
+    private final PartitionStateRebalanceListener rebalanceListener;
+    private final MeterRegistry meterRegistry;
+
+    public KafkaConsumerConfig(PartitionStateRebalanceListener rebalanceListener, MeterRegistry meterRegistry) {
+        this.rebalanceListener = rebalanceListener;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public ConsumerFactory<String, TransactionCreatedEvent> consumerFactory() {
         Map<String, Object> config = new HashMap<>();
@@ -30,8 +74,33 @@ public class KafkaConsumerConfig {
         config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
         config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, TransactionCreatedEvent.class);
-        
-        return new DefaultKafkaConsumerFactory<>(config);
+
+        // Offsets are committed by the container once a poll's records are processed, not on a timer
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+        config.putAll(rebalanceProperties(rebalanceMode, instanceId, sessionTimeoutMs));
+
+        DefaultKafkaConsumerFactory<String, TransactionCreatedEvent> factory = new DefaultKafkaConsumerFactory<>(config);
+        // Exposes the client metrics, including per-partition kafka.consumer.fetch.manager.records.lag
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    // Assignor and group membership for a rebalance mode; the rolling-restart test runs plain consumers with the same settings
+    static Map<String, Object> rebalanceProperties(String rebalanceMode, String instanceId, int sessionTimeoutMs) {
+        Map<String, Object> config = new HashMap<>();
+        if ("cooperative".equals(rebalanceMode)) {
+            // Incremental rebalances: a joining or leaving member only moves the partitions that must move
+            config.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+            if (!instanceId.isEmpty()) {
+                // Static member: a restart within the session timeout gets the same partitions back with no rebalance.
+                // The container appends -<n> per concurrent consumer, so the ids stay unique.
+                config.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, instanceId);
+                config.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, sessionTimeoutMs);
+            }
+        }
+        return config;
     }
 
     @Bean
@@ -39,6 +108,31 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, TransactionCreatedEvent> factory = 
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(!"record".equals(consumerMode));
+        if ("parallel".equals(consumerMode)) {
+            // ParallelTransactionEventConsumer commits completed offset ranges itself
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setIdleEventInterval(1000L);
+        } else {
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        }
+        // Keep partition-local state in step with the partitions this instance owns
+        factory.getContainerProperties().setConsumerRebalanceListener(rebalanceListener);
+        factory.setCommonErrorHandler(mainErrorHandler(errorBackoffInitialMs, errorBackoffMaxMs));
         return factory;
     }
+
+    /*
+     * The listeners only throw when forwarding a failed event to the retry tiers failed (broker unreachable, send
+     * timeout). The default handler would retry 9 times with no delay, log and commit past the record, losing it;
+     * this one redelivers from the failed record with exponential backoff and no limit, so the partition waits for
+     * the retry topic to come back instead of dropping events.
+     */
+    static DefaultErrorHandler mainErrorHandler(long initialMs, long maxMs) {
+        ExponentialBackOff backOff = new ExponentialBackOff(initialMs, 2.0);
+        backOff.setMaxInterval(maxMs);
+        backOff.setMaxElapsedTime(Long.MAX_VALUE);
+        return new DefaultErrorHandler(backOff);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.fintrack.notificationservice.config;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.retry.RetryTiers;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class RetryTopicConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${notification.retry.partitions:3}")
+    private int partitions;
+
+    // Redelivery backoff when the retry listener's forward to the next tier throws; after max-elapsed-ms -> DLT
+    @Value("${notification.retry.error-backoff.initial-ms:1000}")
+    private long errorBackoffInitialMs;
+
+    @Value("${notification.retry.error-backoff.max-ms:30000}")
+    private long errorBackoffMaxMs;
+
+    @Value("${notification.retry.error-backoff.max-elapsed-ms:300000}")
+    private long errorBackoffMaxElapsedMs;
+
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics(RetryTiers retryTiers) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (int tier = 0; tier < RetryTiers.TIER_COUNT; tier++) {
+            topics.add(TopicBuilder.name(retryTiers.topic(tier)).partitions(partitions).build());
+        }
+        topics.add(TopicBuilder.name(retryTiers.deadLetterTopic()).partitions(partitions).build());
+        return new KafkaAdmin.NewTopics(topics.toArray(new NewTopic[0]));
+    }
+
+    @Bean
+    public ConsumerFactory<String, TransactionCreatedEvent> retryConsumerFactory(MeterRegistry meterRegistry) {
+        Map<String, Object> config = new HashMap<>();
+
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, "notification-service-retry");
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, TransactionCreatedEvent.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        DefaultKafkaConsumerFactory<String, TransactionCreatedEvent> factory = new DefaultKafkaConsumerFactory<>(config);
+        // Exposes kafka.consumer.fetch.manager.records.lag per retry topic partition = the retry backlog
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /*
+     * One container per tier (one @KafkaListener each), record mode with manual acks:
+     * a record that is not due yet is nacked with its remaining delay, which pauses only that tier's consumer
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TransactionCreatedEvent> retryListenerContainerFactory(
+            ConsumerFactory<String, TransactionCreatedEvent> retryConsumerFactory,
+            KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate, RetryTiers retryTiers,
+            MeterRegistry meterRegistry) {
+        ConcurrentKafkaListenerContainerFactory<String, TransactionCreatedEvent> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(retryConsumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(retryErrorHandler(kafkaTemplate, retryTiers, meterRegistry));
+        return factory;
+    }
+
+    /*
+     * The retry listener only throws when forwarding to the next tier (or the DLT) failed. Instead of the default
+     * 9 instant retries and a commit past the record, redeliver it with exponential backoff; once max-elapsed-ms is
+     * used up, publish it to the DLT as it is (original headers kept, plus the kafka_dlt-* exception headers).
+     * If that publish fails as well the recoverer throws and the record is redelivered again, so it is never lost.
+     */
+    private DefaultErrorHandler retryErrorHandler(KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate,
+                                                  RetryTiers retryTiers, MeterRegistry meterRegistry) {
+        DeadLetterPublishingRecoverer deadLetters = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(retryTiers.deadLetterTopic(), -1));
+        ExponentialBackOff backOff = new ExponentialBackOff(errorBackoffInitialMs, 2.0);
+        backOff.setMaxInterval(errorBackoffMaxMs);
+        backOff.setMaxElapsedTime(errorBackoffMaxElapsedMs);
+        return new DefaultErrorHandler((record, exception) -> {
+            deadLetters.accept(record, exception);
+            meterRegistry.counter("notification.dlt.forwarded").increment();
+        }, backOff);
+    }
+}
@@ -0,0 +1,46 @@
+package com.fintrack.notificationservice.config;
+
+import com.fintrack.notificationservice.alert.SpendWindows;
+import com.fintrack.notificationservice.state.FilePartitionStateHandoff;
+import com.fintrack.notificationservice.state.PartitionLocalStore;
+import com.fintrack.notificationservice.state.UserActivity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class StateStoreConfig {
+
+    // eager | cooperative, see KafkaConsumerConfig
+    @Value("${notification.consumer.rebalance-mode:eager}")
+    private String rebalanceMode;
+
+    @Value("${notification.state.handoff-directory:data/state}")
+    private String handoffDirectory;
+
+    @Value("${notification.state.handoff-max-age-ms:60000}")
+    private long handoffMaxAgeMs;
+
+    @Bean
+    public PartitionLocalStore<UserActivity> userActivityStore() {
+        if ("cooperative".equals(rebalanceMode)) {
+            // A restarting static member gets its partitions back, so keep their state on disk in between
+            return new PartitionLocalStore<>("user-activity", UserActivity::new,
+                    new FilePartitionStateHandoff<>(Paths.get(handoffDirectory), "user-activity",
+                            UserActivity.CODEC, handoffMaxAgeMs));
+        }
+        return new PartitionLocalStore<>("user-activity", UserActivity::new);
+    }
+
+    @Bean
+    public PartitionLocalStore<SpendWindows> spendWindowStore() {
+        if ("cooperative".equals(rebalanceMode)) {
+            return new PartitionLocalStore<>("spend-windows", SpendWindows::new,
+                    new FilePartitionStateHandoff<>(Paths.get(handoffDirectory), "spend-windows",
+                            SpendWindows.CODEC, handoffMaxAgeMs));
+        }
+        return new PartitionLocalStore<>("spend-windows", SpendWindows::new);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Bounded worker pool that keeps per-key ordering
+ * - One single-threaded lane per worker, a key (userId) always hashes to the same lane
+ * - Tasks for the same key run in submission order, different keys run concurrently
+ * - Lane queues are bounded; a full lane blocks the submitting (consumer) thread instead of growing the heap
+ */
+package com.fintrack.notificationservice.consumer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class KeyOrderedExecutor {
+    private final ThreadPoolExecutor[] lanes;
+
+    public KeyOrderedExecutor(String name, int laneCount, int queueCapacity) {
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        AtomicInteger threadIndex = new AtomicInteger();
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, name + "-" + threadIndex.getAndIncrement());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    KeyOrderedExecutor::blockUntilQueued);
+        }
+    }
+
+    public void execute(long key, Runnable task) {
+        lanes[laneFor(key)].execute(task);
+    }
+
+    public int queuedTasks() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+
+    public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int laneFor(long key) {
+        // Fibonacci hashing spreads sequential user ids evenly over the lanes
+        return Math.floorMod((int) ((key * 0x9E3779B97F4A7C15L) >>> 32), lanes.length);
+    }
+
+    private static void blockUntilQueued(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Worker lane is shut down");
+        }
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a worker lane", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Tracks offsets dispatched to workers that may complete out of order.
+ * Only the contiguous completed prefix of each partition is committable: the commit position is the
+ * lowest offset still in flight (or one past the last dispatched offset when nothing is in flight).
+ */
+package com.fintrack.notificationservice.consumer;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+public class OffsetTracker {
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    // Consumer thread
+    public void dispatched(TopicPartition partition, long offset) {
+        partitions.computeIfAbsent(partition, p -> new PartitionOffsets()).dispatched(offset);
+    }
+
+    // Worker threads
+    public void completed(TopicPartition partition, long offset) {
+        PartitionOffsets offsets = partitions.get(partition);
+        if (offsets != null) {
+            offsets.inFlight.remove(offset);
+        }
+    }
+
+    public boolean hasInFlight(Collection<TopicPartition> owned) {
+        return owned.stream()
+                .map(partitions::get)
+                .anyMatch(offsets -> offsets != null && !offsets.inFlight.isEmpty());
+    }
+
+    public int inFlight() {
+        return partitions.values().stream().mapToInt(offsets -> offsets.inFlight.size()).sum();
+    }
+
+    // Consumer thread: commit positions that advanced since the last commit, limited to the partitions it owns
+    public Map<TopicPartition, OffsetAndMetadata> commitReady(Collection<TopicPartition> owned) {
+        Map<TopicPartition, OffsetAndMetadata> ready = new HashMap<>();
+        for (TopicPartition partition : owned) {
+            PartitionOffsets offsets = partitions.get(partition);
+            if (offsets == null) {
+                continue;
+            }
+            long position = offsets.committablePosition();
+            if (position > offsets.committedPosition) {
+                ready.put(partition, new OffsetAndMetadata(position));
+            }
+        }
+        return ready;
+    }
+
+    public void markCommitted(Map<TopicPartition, OffsetAndMetadata> committed) {
+        committed.forEach((partition, offset) -> {
+            PartitionOffsets offsets = partitions.get(partition);
+            if (offsets != null) {
+                offsets.committedPosition = Math.max(offsets.committedPosition, offset.offset());
+            }
+        });
+    }
+
+    public void remove(Collection<TopicPartition> revoked) {
+        revoked.forEach(partitions::remove);
+    }
+
+    private static class PartitionOffsets {
+        private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        private long nextPosition = -1;
+        private long committedPosition = -1;
+
+        private void dispatched(long offset) {
+            inFlight.add(offset);
+            nextPosition = offset + 1;
+        }
+
+        private long committablePosition() {
+            Iterator<Long> lowest = inFlight.iterator();
+            return lowest.hasNext() ? lowest.next() : nextPosition;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Parallel listener (notification.consumer.mode=parallel)
+ * 1. Fans each polled batch out to KeyOrderedExecutor lanes keyed by userId
+ *    -> one user's events stay in order, different users are processed concurrently
+ * 2. Tracks every dispatched offset in OffsetTracker and commits only the contiguous completed prefix,
+ *    so a slow event never lets later offsets be committed past it
+ * 3. Commits from the consumer thread after each poll, when the container is idle, and before a revoke
+ * 4. A failed event's offset stays in flight until the retry topic has acked it, so it is redelivered instead of lost
+ */
+package com.fintrack.notificationservice.consumer;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.retry.FailedEventForwarder;
+import com.fintrack.notificationservice.state.PartitionAwareState;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "parallel")
+public class ParallelTransactionEventConsumer implements PartitionAwareState {
+    private static final Logger log = LoggerFactory.getLogger(ParallelTransactionEventConsumer.class);
+
+    private final TransactionEventProcessor processor;
+    private final FailedEventForwarder forwarder;
+    private final KeyOrderedExecutor executor;
+    private final OffsetTracker offsetTracker = new OffsetTracker();
+    private final long drainTimeoutMs;
+    private final long forwardBackoffMs;
+    private final long forwardMaxBackoffMs;
+    private volatile boolean running = true;
+
+    public ParallelTransactionEventConsumer(TransactionEventProcessor processor,
+                                            FailedEventForwarder forwarder,
+                                            @Value("${notification.consumer.parallel.workers:8}") int workers,
+                                            @Value("${notification.consumer.parallel.queue-capacity:1000}") int queueCapacity,
+                                            @Value("${notification.consumer.parallel.drain-timeout-ms:5000}") long drainTimeoutMs,
+                                            @Value("${notification.consumer.parallel.forward-backoff-ms:500}") long forwardBackoffMs,
+                                            @Value("${notification.consumer.parallel.forward-max-backoff-ms:30000}") long forwardMaxBackoffMs) {
+        this.processor = processor;
+        this.forwarder = forwarder;
+        this.executor = new KeyOrderedExecutor("notification-worker", workers, queueCapacity);
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.forwardBackoffMs = forwardBackoffMs;
+        this.forwardMaxBackoffMs = forwardMaxBackoffMs;
+    }
+
+    @KafkaListener(id = TransactionEventProcessor.MAIN_LISTENER_ID, topics = "transaction-created-events",
+                   groupId = "notification-service-group")
+    public void consumeTransactionCreatedEvents(List<ConsumerRecord<String, TransactionCreatedEvent>> records,
+                                                Consumer<?, ?> consumer) {
+        for (ConsumerRecord<String, TransactionCreatedEvent> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            offsetTracker.dispatched(partition, record.offset());
+            if (record.value() == null) {
+                log.warn("Skipping record without a value at partition={} offset={}", record.partition(), record.offset());
+                offsetTracker.completed(partition, record.offset());
+                continue;
+            }
+            executor.execute(record.value().getUserId(), () -> handle(partition, record));
+        }
+
+        commitCompleted(consumer, consumer.assignment());
+    }
+
+    // Published on the consumer thread when no records arrived for the idle interval: flush the tail of the work
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (event.getConsumer() != null) {
+            commitCompleted(event.getConsumer(), event.getTopicPartitions());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+    }
+
+    @Override
+    public void beforePartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        try {
+            while (offsetTracker.hasInFlight(partitions) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (offsetTracker.hasInFlight(partitions)) {
+            log.warn("⚠️ In-flight events still running for revoked partitions {}, they may be redelivered", partitions);
+        }
+
+        Map<TopicPartition, OffsetAndMetadata> ready = offsetTracker.commitReady(partitions);
+        if (!ready.isEmpty()) {
+            consumer.commitSync(ready);
+        }
+        offsetTracker.remove(partitions);
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        offsetTracker.remove(partitions);
+    }
+
+    public int queuedTasks() {
+        return executor.queuedTasks();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        executor.shutdown(drainTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void handle(TopicPartition partition, ConsumerRecord<String, TransactionCreatedEvent> record) {
+        TransactionCreatedEvent event = record.value();
+        try {
+            processor.process(partition, processor.activityFor(partition, event.getUserId()), event);
+            log.debug("✅ Successfully processed event: {}", event.getEventId());
+        } catch (Exception e) {
+            log.error("❌ Failed to process event: {}", event.getEventId(), e);
+            if (!forwardToRetry(event, e)) {
+                // Offset left in flight: nothing past it is committed, the next owner gets the event again
+                return;
+            }
+        }
+        offsetTracker.completed(partition, record.offset());
+    }
+
+    /*
+     * Keeps trying until the retry tier acks, holding this lane (and so the user's later events) meanwhile.
+     * Returns false only when shutting down, in which case the offset must not complete.
+     */
+    private boolean forwardToRetry(TransactionCreatedEvent event, Exception cause) {
+        long backoffMs = forwardBackoffMs;
+        while (running) {
+            try {
+                forwarder.forward(event, 0, cause);
+                return true;
+            } catch (Exception e) {
+                log.error("❌ Could not forward event {} to retry, trying again in {} ms", event.getEventId(), backoffMs, e);
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoffMs = Math.min(backoffMs * 2, forwardMaxBackoffMs);
+        }
+        log.warn("⚠️ Event {} left uncommitted, it will be redelivered", event.getEventId());
+        return false;
+    }
+
+    private void commitCompleted(Consumer<?, ?> consumer, Collection<TopicPartition> owned) {
+        Map<TopicPartition, OffsetAndMetadata> ready = offsetTracker.commitReady(owned);
+        if (ready.isEmpty()) {
+            return;
+        }
+        offsetTracker.markCommitted(ready);
+        consumer.commitAsync(ready, (offsets, ex) -> {
+            if (ex != null) {
+                log.warn("Async offset commit failed for {}: {}", offsets, ex.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package com.fintrack.notificationservice.consumer;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.retry.FailedEventForwarder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/*
+ * Consumes the retry tiers. Every record in a tier waited the same delay, so due times only grow along a
+ * partition: waiting for the head record never holds back a record that is already due.
+ */
+@Component
+public class RetryTransactionEventConsumer {
+    private static final Logger log = LoggerFactory.getLogger(RetryTransactionEventConsumer.class);
+
+    private final TransactionEventProcessor processor;
+    private final FailedEventForwarder forwarder;
+    private final MeterRegistry meterRegistry;
+
+    public RetryTransactionEventConsumer(TransactionEventProcessor processor, FailedEventForwarder forwarder,
+                                         MeterRegistry meterRegistry) {
+        this.processor = processor;
+        this.forwarder = forwarder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @KafkaListener(topics = "#{retryTiers.topic(0)}", groupId = "notification-service-retry",
+                   containerFactory = "retryListenerContainerFactory")
+    public void consumeRetryTier0(ConsumerRecord<String, TransactionCreatedEvent> record, Acknowledgment ack) {
+        retry(0, record, ack);
+    }
+
+    @KafkaListener(topics = "#{retryTiers.topic(1)}", groupId = "notification-service-retry",
+                   containerFactory = "retryListenerContainerFactory")
+    public void consumeRetryTier1(ConsumerRecord<String, TransactionCreatedEvent> record, Acknowledgment ack) {
+        retry(1, record, ack);
+    }
+
+    @KafkaListener(topics = "#{retryTiers.topic(2)}", groupId = "notification-service-retry",
+                   containerFactory = "retryListenerContainerFactory")
+    public void consumeRetryTier2(ConsumerRecord<String, TransactionCreatedEvent> record, Acknowledgment ack) {
+        retry(2, record, ack);
+    }
+
+    private void retry(int tier, ConsumerRecord<String, TransactionCreatedEvent> record, Acknowledgment ack) {
+        long wait = FailedEventForwarder.dueTime(record.headers()) - System.currentTimeMillis();
+        if (wait > 0) {
+            // Pauses this tier's consumer and redelivers the record once due, without blocking the poll loop
+            ack.nack(Duration.ofMillis(wait));
+            return;
+        }
+
+        TransactionCreatedEvent event = record.value();
+        String channels = FailedEventForwarder.channels(record.headers());
+        try {
+            if (channels != null) {
+                processor.redeliver(event, channels, tier + 1);
+            } else {
+                processor.deliver(event);
+            }
+            meterRegistry.counter("notification.retry.succeeded", "tier", String.valueOf(tier)).increment();
+            log.info("✅ Retry succeeded: eventId={}, tier={}, channels={}", event.getEventId(), tier, channels);
+        } catch (Exception e) {
+            log.error("❌ Retry failed: eventId={}, tier={}", event.getEventId(), tier, e);
+            forwarder.forward(event, tier + 1, e, channels);
+        }
+        ack.acknowledge();
+    }
+}
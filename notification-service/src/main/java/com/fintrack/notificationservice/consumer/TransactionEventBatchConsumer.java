@@ -0,0 +1,150 @@
+/*
+ * Batch listener (notification.consumer.mode=batch, the default)
+ * 1. Receives everything one poll() returned as a List<ConsumerRecord>
+ * 2. Groups the records per user (in offset order within each user), so user state is looked up once per user
+ * 3. Returns normally only if every record succeeded -> the container commits the batch's offsets once (AckMode.BATCH)
+ * 4. A failed event is forwarded to the retry tiers and the batch carries on (non-blocking retries)
+ * 5. Only if forwarding itself fails, throws BatchListenerFailedException at the lowest such index:
+ *    offsets before it are committed and the error handler (KafkaConsumerConfig) redelivers from there, with
+ *    backoff and without giving up
+ * 6. Records after that index that were already handled (other users' events, processed or forwarded) are
+ *    remembered per partition and skipped when redelivered, so only the unprocessed ones run again
+ * Null values (tombstones) are skipped.
+ */
+package com.fintrack.notificationservice.consumer;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.retry.FailedEventForwarder;
+import com.fintrack.notificationservice.state.UserActivity;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "batch", matchIfMissing = true)
+public class TransactionEventBatchConsumer {
+    private static final Logger log = LoggerFactory.getLogger(TransactionEventBatchConsumer.class);
+
+    private final TransactionEventProcessor processor;
+    private final FailedEventForwarder forwarder;
+    // Offsets handled by a batch that then failed, and which the error handler will redeliver
+    private final Map<TopicPartition, Set<Long>> handledBeforeRedelivery = new ConcurrentHashMap<>();
+
+    public TransactionEventBatchConsumer(TransactionEventProcessor processor, FailedEventForwarder forwarder) {
+        this.processor = processor;
+        this.forwarder = forwarder;
+    }
+
+    @KafkaListener(id = TransactionEventProcessor.MAIN_LISTENER_ID, topics = "transaction-created-events",
+                   groupId = "notification-service-group")
+    public void consumeTransactionCreatedEvents(List<ConsumerRecord<String, TransactionCreatedEvent>> records) {
+        long start = System.nanoTime();
+
+        pruneHandled(records);
+        Map<Long, List<Integer>> indexesByUser = groupByUser(records);
+        boolean[] handled = new boolean[records.size()];
+        int firstFailedIndex = -1;
+        Exception firstFailure = null;
+
+        for (List<Integer> indexes : indexesByUser.values()) {
+            ConsumerRecord<String, TransactionCreatedEvent> first = records.get(indexes.get(0));
+            TopicPartition partition = new TopicPartition(first.topic(), first.partition());
+            UserActivity activity = processor.activityFor(partition, first.value().getUserId());
+
+            for (int index : indexes) {
+                ConsumerRecord<String, TransactionCreatedEvent> record = records.get(index);
+                if (wasHandled(record)) {
+                    handled[index] = true;
+                    continue;
+                }
+                TransactionCreatedEvent event = record.value();
+                try {
+                    processor.process(partition, activity, event);
+                    handled[index] = true;
+                } catch (Exception e) {
+                    log.error("❌ Failed to process event: {}", event.getEventId(), e);
+                    try {
+                        forwarder.forward(event, 0, e);
+                        handled[index] = true;
+                    } catch (Exception forwardFailure) {
+                        if (firstFailedIndex < 0 || index < firstFailedIndex) {
+                            firstFailedIndex = index;
+                            firstFailure = forwardFailure;
+                        }
+                        // Skip the rest of this user's events to keep their order; other users carry on
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (firstFailure != null) {
+            // Everything from firstFailedIndex on is redelivered; remember what already ran so it isn't repeated
+            for (int i = firstFailedIndex + 1; i < records.size(); i++) {
+                if (handled[i]) {
+                    ConsumerRecord<String, TransactionCreatedEvent> record = records.get(i);
+                    handledBeforeRedelivery
+                        .computeIfAbsent(new TopicPartition(record.topic(), record.partition()), tp -> ConcurrentHashMap.newKeySet())
+                        .add(record.offset());
+                }
+            }
+            throw new BatchListenerFailedException("Failed to process transaction event batch", firstFailure, firstFailedIndex);
+        }
+
+        long elapsedMicros = Math.max(1, (System.nanoTime() - start) / 1_000);
+        log.info("✅ Processed batch: records={}, users={}, elapsedMs={}, eventsPerSec={}",
+                records.size(), indexesByUser.size(), elapsedMicros / 1_000,
+                records.size() * 1_000_000L / elapsedMicros);
+    }
+
+    private Map<Long, List<Integer>> groupByUser(List<ConsumerRecord<String, TransactionCreatedEvent>> records) {
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, TransactionCreatedEvent> record = records.get(i);
+            if (record.value() == null) {
+                log.warn("Skipping record without a value at partition={} offset={}", record.partition(), record.offset());
+                continue;
+            }
+            indexesByUser.computeIfAbsent(record.value().getUserId(), userId -> new ArrayList<>()).add(i);
+        }
+        return indexesByUser;
+    }
+
+    private boolean wasHandled(ConsumerRecord<String, TransactionCreatedEvent> record) {
+        Set<Long> offsets = handledBeforeRedelivery.get(new TopicPartition(record.topic(), record.partition()));
+        return offsets != null && offsets.remove(record.offset());
+    }
+
+    // Offsets below the first one in this batch are committed, so whatever is left for them will never come back
+    private void pruneHandled(List<ConsumerRecord<String, TransactionCreatedEvent>> records) {
+        if (handledBeforeRedelivery.isEmpty()) {
+            return;
+        }
+        Map<TopicPartition, Long> firstOffsets = new HashMap<>();
+        for (ConsumerRecord<String, TransactionCreatedEvent> record : records) {
+            firstOffsets.merge(new TopicPartition(record.topic(), record.partition()), record.offset(), Math::min);
+        }
+        firstOffsets.forEach((partition, firstOffset) -> {
+            Set<Long> offsets = handledBeforeRedelivery.get(partition);
+            if (offsets != null) {
+                offsets.removeIf(offset -> offset < firstOffset);
+                if (offsets.isEmpty()) {
+                    handledBeforeRedelivery.remove(partition, offsets);
+                }
+            }
+        });
+    }
+}
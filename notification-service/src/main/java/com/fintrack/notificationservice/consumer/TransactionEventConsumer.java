@@ -1,41 +1,52 @@
 package com.fintrack.notificationservice.consumer;
 
 import com.fintrack.notificationservice.event.TransactionCreatedEvent;
-import com.fintrack.notificationservice.service.EmailService;
+import com.fintrack.notificationservice.retry.FailedEventForwarder;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+/*
+ * Single-record listener (notification.consumer.mode=record)
+ */
 @Component
+@ConditionalOnProperty(name = "notification.consumer.mode", havingValue = "record")
 public class TransactionEventConsumer {
     private static final Logger log = LoggerFactory.getLogger(TransactionEventConsumer.class);
     
-    private final EmailService emailService;
+    private final TransactionEventProcessor processor;
+    private final FailedEventForwarder forwarder;
 
-    public TransactionEventConsumer(EmailService emailService) {
-        this.emailService = emailService;
+    public TransactionEventConsumer(TransactionEventProcessor processor, FailedEventForwarder forwarder) {
+        this.processor = processor;
+        this.forwarder = forwarder;
     }
 
-    @KafkaListener(topics = "transaction-created-events", groupId = "notification-service-group")
-    public void consumeTransactionCreatedEvent(TransactionCreatedEvent event) {
+    @KafkaListener(id = TransactionEventProcessor.MAIN_LISTENER_ID, topics = "transaction-created-events",
+                   groupId = "notification-service-group")
+    public void consumeTransactionCreatedEvent(ConsumerRecord<String, TransactionCreatedEvent> record) {
+        TransactionCreatedEvent event = record.value();
+        if (event == null) {
+            log.warn("Skipping record without a value at partition={} offset={}", record.partition(), record.offset());
+            return;
+        }
         log.info("✅ Received transaction event: eventId={}, transactionId={}, userId={}, amount={}", 
                 event.getEventId(), event.getTransactionId(), event.getUserId(), event.getAmount());
         
         try {
-            // Send email notification
-            emailService.sendTransactionNotification(
-                event.getUserEmail(),
-                event.getType(),
-                event.getAmount(),
-                event.getCategory(),
-                event.getMerchant()
-            );
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            processor.process(partition, processor.activityFor(partition, event.getUserId()), event);
             
             log.info("✅ Successfully processed event: {}", event.getEventId());
             
         } catch (Exception e) {
             log.error("❌ Failed to process event: {}", event.getEventId(), e);
+            // Hand off to the retry tiers instead of blocking the partition; if this throws, the record is redelivered
+            forwarder.forward(event, 0, e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.fintrack.notificationservice.consumer;
+
+import com.fintrack.notificationservice.alert.AlertRuleEngine;
+import com.fintrack.notificationservice.alert.SpendWindows;
+import com.fintrack.notificationservice.channel.NotificationDispatcher;
+import com.fintrack.notificationservice.dedupe.EventIdDedupeStore;
+import com.fintrack.notificationservice.digest.NotificationDigestService;
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.state.PartitionLocalStore;
+import com.fintrack.notificationservice.state.UserActivity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/*
+ * Per-event notification work shared by the single-record and batch listeners
+ */
+@Component
+public class TransactionEventProcessor {
+    private static final Logger log = LoggerFactory.getLogger(TransactionEventProcessor.class);
+
+    // Shared by the record, batch and parallel main-topic listeners (only one is active)
+    public static final String MAIN_LISTENER_ID = "transaction-events";
+
+    private final NotificationDispatcher dispatcher;
+    private final PartitionLocalStore<UserActivity> userActivityStore;
+    private final PartitionLocalStore<SpendWindows> spendWindowStore;
+    private final EventIdDedupeStore dedupeStore;
+    private final NotificationDigestService digestService;
+    private final AlertRuleEngine alertRuleEngine;
+    private final Timer endToEndLatency;
+
+    public TransactionEventProcessor(NotificationDispatcher dispatcher, PartitionLocalStore<UserActivity> userActivityStore,
+                                     PartitionLocalStore<SpendWindows> spendWindowStore, EventIdDedupeStore dedupeStore, NotificationDigestService digestService,
+                                     AlertRuleEngine alertRuleEngine, MeterRegistry meterRegistry) {
+        this.dispatcher = dispatcher;
+        this.userActivityStore = userActivityStore;
+        this.spendWindowStore = spendWindowStore;
+        this.dedupeStore = dedupeStore;
+        this.digestService = digestService;
+        this.alertRuleEngine = alertRuleEngine;
+        this.endToEndLatency = Timer.builder("notification.event.latency")
+                .description("Time from the event being published to its notification being handed off")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // Records are keyed by userId, so the partition owns all of the user's state
+    public UserActivity activityFor(TopicPartition partition, Long userId) {
+        return userActivityStore.get(partition, userId);
+    }
+
+    public void process(TopicPartition partition, UserActivity activity, TransactionCreatedEvent event) {
+        if (!activity.record(event.getTransactionId(), event.getEventTimestamp())) {
+            log.warn("⚠️ Out-of-order event for user {}: eventId={}", event.getUserId(), event.getEventId());
+        }
+
+        deliver(partition, event, spendWindowStore.get(partition, event.getUserId()));
+    }
+
+    // Called directly by the retry tiers, which have no partition-local state
+    public void deliver(TransactionCreatedEvent event) {
+        deliver(null, event, null);
+    }
+
+    /*
+     * Called by the retry tiers for an event whose alert already went out but failed on some channels.
+     * No dedupe claim and no rule evaluation: the event was claimed and matched the first time round.
+     */
+    public void redeliver(TransactionCreatedEvent event, String channels, int nextRetryTier) {
+        dispatcher.redeliverTransactionAlert(event, channels, nextRetryTier);
+    }
+
+    private void deliver(TopicPartition partition, TransactionCreatedEvent event, SpendWindows spendWindows) {
+        // At-least-once delivery: claim the eventId atomically, released again if the work below fails
+        if (!dedupeStore.markIfAbsent(event.getEventId())) {
+            log.info("⏭️ Skipping duplicate event: {}", event.getEventId());
+            return;
+        }
+
+        try {
+            // Evaluated even in digest mode so rolling spend windows keep counting
+            boolean alert = alertRuleEngine.shouldNotify(event, spendWindows);
+
+            if (digestService.isEnabled()) {
+                // Summarized later, when the user's digest window closes
+                digestService.add(partition, event);
+            } else if (!alert) {
+                log.debug("No alert rule matched: eventId={}, userId={}", event.getEventId(), event.getUserId());
+            } else {
+                // Fan out to the user's channels (email, webhook, in-app)
+                dispatcher.dispatchTransactionAlert(event);
+            }
+        } catch (RuntimeException e) {
+            dedupeStore.release(event.getEventId());
+            throw e;
+        }
+
+        recordLatency(event.getEventTimestamp());
+    }
+
+    private void recordLatency(LocalDateTime eventTimestamp) {
+        if (eventTimestamp != null) {
+            Duration latency = Duration.between(eventTimestamp, LocalDateTime.now());
+            if (!latency.isNegative()) {
+                endToEndLatency.record(latency);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.fintrack.notificationservice.controller;
+
+import com.fintrack.notificationservice.dto.AlertRuleRequest;
+import com.fintrack.notificationservice.dto.AlertRuleResponse;
+import com.fintrack.notificationservice.dto.UserContext;
+import com.fintrack.notificationservice.service.AlertRuleService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// User identity is the userContext attribute set by JwtAuthenticationFilter
+@RestController
+@RequestMapping("/api/notifications/alert-rules")
+public class AlertRuleController {
+    private final AlertRuleService alertRuleService;
+
+    public AlertRuleController(AlertRuleService alertRuleService) {
+        this.alertRuleService = alertRuleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AlertRuleResponse>> getRules(@RequestAttribute("userContext") UserContext user) {
+        return ResponseEntity.ok(alertRuleService.getRules(user.getUserId()));
+    }
+
+    @PostMapping
+    public ResponseEntity<AlertRuleResponse> createRule(@RequestAttribute("userContext") UserContext user,
+                                                        @Valid @RequestBody AlertRuleRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(alertRuleService.createRule(user.getUserId(), request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<AlertRuleResponse> updateRule(@RequestAttribute("userContext") UserContext user,
+                                                        @PathVariable Long id,
+                                                        @Valid @RequestBody AlertRuleRequest request) {
+        return ResponseEntity.ok(alertRuleService.updateRule(user.getUserId(), id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteRule(@RequestAttribute("userContext") UserContext user, @PathVariable Long id) {
+        alertRuleService.deleteRule(user.getUserId(), id);
+        return ResponseEntity.noContent().build();
+    }
+}
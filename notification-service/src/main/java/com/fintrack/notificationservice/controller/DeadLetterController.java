@@ -0,0 +1,43 @@
+package com.fintrack.notificationservice.controller;
+
+import com.fintrack.notificationservice.dto.DltReplayResponse;
+import com.fintrack.notificationservice.retry.DeadLetterReplayService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@RestController
+@RequestMapping("/api/notifications/dlt")
+public class DeadLetterController {
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final DeadLetterReplayService replayService;
+    private final byte[] adminToken;
+
+    public DeadLetterController(DeadLetterReplayService replayService,
+                                @Value("${notification.retry.admin-token:}") String adminToken) {
+        this.replayService = replayService;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Operator-only: replay re-sends notifications, so it needs the service credential (and is off while none is set)
+    @PostMapping("/replay")
+    public ResponseEntity<DltReplayResponse> replay(@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+                                                    @RequestParam(defaultValue = "100") int maxRecords) {
+        if (adminToken.length == 0) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (token == null || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(replayService.replay(maxRecords));
+    }
+}
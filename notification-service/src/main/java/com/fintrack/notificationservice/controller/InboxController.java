@@ -0,0 +1,53 @@
+package com.fintrack.notificationservice.controller;
+
+import com.fintrack.notificationservice.dto.InboxPageResponse;
+import com.fintrack.notificationservice.dto.InboxUpdateRequest;
+import com.fintrack.notificationservice.dto.UserContext;
+import com.fintrack.notificationservice.service.InboxService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// User identity is the userContext attribute set by JwtAuthenticationFilter
+@RestController
+@RequestMapping("/api/notifications/inbox")
+public class InboxController {
+    private final InboxService inboxService;
+
+    public InboxController(InboxService inboxService) {
+        this.inboxService = inboxService;
+    }
+
+    // Newest first; pass the returned nextCursor to get the next (older) page
+    @GetMapping
+    public ResponseEntity<InboxPageResponse> getInbox(@RequestAttribute("userContext") UserContext user,
+                                                      @RequestParam(required = false) Long cursor,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(inboxService.getPage(user.getUserId(), cursor, limit));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount(@RequestAttribute("userContext") UserContext user) {
+        return ResponseEntity.ok(Map.of("unreadCount", inboxService.unreadCount(user.getUserId())));
+    }
+
+    @PostMapping("/read")
+    public ResponseEntity<Map<String, Long>> markRead(@RequestAttribute("userContext") UserContext user,
+                                                      @Valid @RequestBody InboxUpdateRequest request) {
+        return ResponseEntity.ok(Map.of("unreadCount", inboxService.markRead(user.getUserId(), request.getIds())));
+    }
+
+    @PostMapping("/unread")
+    public ResponseEntity<Map<String, Long>> markUnread(@RequestAttribute("userContext") UserContext user,
+                                                        @Valid @RequestBody InboxUpdateRequest request) {
+        return ResponseEntity.ok(Map.of("unreadCount", inboxService.markUnread(user.getUserId(), request.getIds())));
+    }
+
+    @PostMapping("/read-all")
+    public ResponseEntity<Map<String, Long>> markAllRead(@RequestAttribute("userContext") UserContext user,
+                                                         @RequestParam(required = false) Long upToId) {
+        return ResponseEntity.ok(Map.of("unreadCount", inboxService.markAllRead(user.getUserId(), upToId)));
+    }
+}
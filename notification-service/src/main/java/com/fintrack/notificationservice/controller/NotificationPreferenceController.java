@@ -0,0 +1,30 @@
+package com.fintrack.notificationservice.controller;
+
+import com.fintrack.notificationservice.dto.NotificationPreferenceRequest;
+import com.fintrack.notificationservice.dto.NotificationPreferenceResponse;
+import com.fintrack.notificationservice.dto.UserContext;
+import com.fintrack.notificationservice.service.NotificationPreferenceService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/notifications/preferences")
+public class NotificationPreferenceController {
+    private final NotificationPreferenceService preferenceService;
+
+    public NotificationPreferenceController(NotificationPreferenceService preferenceService) {
+        this.preferenceService = preferenceService;
+    }
+
+    @GetMapping
+    public ResponseEntity<NotificationPreferenceResponse> getPreferences(@RequestAttribute("userContext") UserContext user) {
+        return ResponseEntity.ok(preferenceService.getPreferences(user.getUserId()));
+    }
+
+    @PutMapping
+    public ResponseEntity<NotificationPreferenceResponse> updatePreferences(@RequestAttribute("userContext") UserContext user,
+                                                                            @Valid @RequestBody NotificationPreferenceRequest request) {
+        return ResponseEntity.ok(preferenceService.updatePreferences(user.getUserId(), request));
+    }
+}
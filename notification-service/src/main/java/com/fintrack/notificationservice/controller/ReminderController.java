@@ -0,0 +1,32 @@
+package com.fintrack.notificationservice.controller;
+
+import com.fintrack.notificationservice.dto.ReminderRequest;
+import com.fintrack.notificationservice.dto.ReminderResponse;
+import com.fintrack.notificationservice.dto.UserContext;
+import com.fintrack.notificationservice.schedule.NotificationScheduler;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/notifications/reminders")
+public class ReminderController {
+    private final NotificationScheduler scheduler;
+
+    public ReminderController(NotificationScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    // Reminders fire at the requested time, quiet hours do not apply to them
+    @PostMapping
+    public ResponseEntity<ReminderResponse> createReminder(@RequestAttribute("userContext") UserContext user,
+                                                           @Valid @RequestBody ReminderRequest request) {
+        long id = scheduler.scheduleReminder(user.getUserId(), user.getEmail(), "FinTrack reminder", "⏰ Reminder: " + request.getMessage(),
+                        request.getRemindAt().toEpochMilli())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Too many pending reminders"));
+        return ResponseEntity.status(HttpStatus.CREATED).body(new ReminderResponse(id, request.getRemindAt()));
+    }
+}
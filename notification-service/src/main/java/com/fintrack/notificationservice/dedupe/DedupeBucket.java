@@ -0,0 +1,153 @@
+package com.fintrack.notificationservice.dedupe;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/*
+ * One time slice of the dedupe window: an open-addressing set of 64-bit event fingerprints
+ * stored in a memory-mapped file.
+ * - Off-heap and fixed size: capacity * 8 bytes, whatever the traffic
+ * - Survives restarts: the mapping is the storage, pages are flushed by the OS even if the JVM dies
+ * Layout: [magic:int][capacity:int][bucketIndex:long][size:int][padding] then capacity long slots (0 = empty)
+ * Thread-safe: every access to the slots holds this bucket's monitor, so lanes touching different buckets don't contend.
+ */
+class DedupeBucket {
+    private static final int MAGIC = 0x46544444; // "FTDD"
+    private static final int HEADER_BYTES = 32;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int INDEX_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+    private static final float MAX_LOAD = 0.75f;
+
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final int maxSize;
+    private volatile long bucketIndex;
+    private int size;
+
+    private DedupeBucket(MappedByteBuffer buffer, int capacity) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxSize = (int) (capacity * MAX_LOAD);
+    }
+
+    // capacity must be a power of two
+    static DedupeBucket open(Path file, int capacity) throws IOException {
+        long length = HEADER_BYTES + (long) capacity * Long.BYTES;
+        MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw");
+             FileChannel channel = raf.getChannel()) {
+            boolean reusable = channel.size() == length;
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            DedupeBucket bucket = new DedupeBucket(buffer, capacity);
+            if (reusable && buffer.getInt(0) == MAGIC && buffer.getInt(CAPACITY_OFFSET) == capacity) {
+                bucket.bucketIndex = buffer.getLong(INDEX_OFFSET);
+                bucket.size = buffer.getInt(SIZE_OFFSET);
+            } else {
+                bucket.reset(-1);
+            }
+            return bucket;
+        }
+    }
+
+    long bucketIndex() {
+        return bucketIndex;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized boolean contains(long fingerprint) {
+        int slot = slot(fingerprint);
+        long current;
+        while ((current = buffer.getLong(offset(slot))) != 0L) {
+            if (current == fingerprint) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    // Adds to the slice currentIndex, first wiping the bucket if it still holds an expired slice
+    synchronized boolean add(long currentIndex, long fingerprint) {
+        if (bucketIndex != currentIndex) {
+            reset(currentIndex);
+        }
+        return add(fingerprint);
+    }
+
+    // Returns false when the bucket is full; the event is then simply not remembered
+    private boolean add(long fingerprint) {
+        if (size >= maxSize) {
+            return false;
+        }
+        int slot = slot(fingerprint);
+        long current;
+        while ((current = buffer.getLong(offset(slot))) != 0L) {
+            if (current == fingerprint) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        buffer.putLong(offset(slot), fingerprint);
+        buffer.putInt(SIZE_OFFSET, ++size);
+        return true;
+    }
+
+    // Backward-shift deletion keeps every remaining fingerprint reachable from its home slot without tombstones
+    synchronized boolean remove(long fingerprint) {
+        int slot = slot(fingerprint);
+        long current;
+        while ((current = buffer.getLong(offset(slot))) != fingerprint) {
+            if (current == 0L) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while ((current = buffer.getLong(offset(next))) != 0L) {
+            int home = slot(current);
+            // Move the entry back into the hole unless its home lies cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                buffer.putLong(offset(hole), current);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        buffer.putLong(offset(hole), 0L);
+        buffer.putInt(SIZE_OFFSET, --size);
+        return true;
+    }
+
+    synchronized void reset(long newBucketIndex) {
+        for (int slot = 0; slot < capacity; slot++) {
+            buffer.putLong(offset(slot), 0L);
+        }
+        bucketIndex = newBucketIndex;
+        size = 0;
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(CAPACITY_OFFSET, capacity);
+        buffer.putLong(INDEX_OFFSET, bucketIndex);
+        buffer.putInt(SIZE_OFFSET, 0);
+    }
+
+    synchronized void force() {
+        buffer.force();
+    }
+
+    private int slot(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    private static int offset(int slot) {
+        return HEADER_BYTES + slot * Long.BYTES;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Remembers processed eventIds for a sliding time window so redelivered events
+ * (rebalances, retries, at-least-once delivery) don't send a second notification.
+ * 1. The window (ttl) is split into a ring of buckets, one memory-mapped DedupeBucket file each
+ * 2. Lookups check every live bucket -> O(buckets) = O(1) per record
+ * 3. When time moves into a new slice, the oldest bucket is wiped and reused -> TTL eviction in one step
+ * 4. Memory is fixed at buckets * bucket-capacity * 8 bytes, off-heap; state is back after a restart
+ * eventIds are stored as 64-bit fingerprints, a collision (~1e-6 at millions of ids) only suppresses one notification.
+ * Concurrency: markIfAbsent is atomic per eventId (lock stripe chosen by fingerprint), each bucket guards its own
+ * slots, so parallel lanes only meet on the current bucket for one probe.
+ */
+package com.fintrack.notificationservice.dedupe;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class EventIdDedupeStore {
+    private static final Logger log = LoggerFactory.getLogger(EventIdDedupeStore.class);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int bucketCapacity;
+    private final long bucketSpanMillis;
+    private final DedupeBucket[] buckets;
+    private final Object[] stripes = new Object[64];
+    private volatile boolean fullWarningLogged;
+
+    public EventIdDedupeStore(@Value("${notification.dedupe.enabled:true}") boolean enabled,
+                              @Value("${notification.dedupe.directory:data/dedupe}") String directory,
+                              @Value("${notification.dedupe.ttl-hours:24}") int ttlHours,
+                              @Value("${notification.dedupe.buckets:24}") int bucketCount,
+                              @Value("${notification.dedupe.bucket-capacity:524288}") int bucketCapacity) {
+        if (Integer.bitCount(bucketCapacity) != 1) {
+            throw new IllegalArgumentException("notification.dedupe.bucket-capacity must be a power of two");
+        }
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.bucketCapacity = bucketCapacity;
+        this.bucketSpanMillis = TimeUnit.HOURS.toMillis(ttlHours) / bucketCount;
+        this.buckets = new DedupeBucket[bucketCount];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            log.info("Event dedupe is disabled");
+            return;
+        }
+        Files.createDirectories(directory);
+        long currentIndex = System.currentTimeMillis() / bucketSpanMillis;
+        int restored = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = DedupeBucket.open(directory.resolve(String.format("bucket-%02d.dat", i)), bucketCapacity);
+            if (isLive(buckets[i], currentIndex)) {
+                restored += buckets[i].size();
+            }
+        }
+        log.info("Event dedupe store opened at {}: buckets={}, capacity={}, restoredIds={}",
+                directory, buckets.length, bucketCapacity, restored);
+    }
+
+    /*
+     * Remembers the eventId and returns true, or returns false if it was already processed within the window.
+     * Check and insert happen under one lock, so two lanes (or a lane and a retry tier) can't both claim an event.
+     */
+    public boolean markIfAbsent(String eventId) {
+        if (!enabled || eventId == null) {
+            return true;
+        }
+        long fingerprint = fingerprint(eventId);
+        synchronized (stripeFor(fingerprint)) {
+            long currentIndex = System.currentTimeMillis() / bucketSpanMillis;
+            for (DedupeBucket bucket : buckets) {
+                if (isLive(bucket, currentIndex) && bucket.contains(fingerprint)) {
+                    return false;
+                }
+            }
+            DedupeBucket current = buckets[(int) (currentIndex % buckets.length)];
+            if (!current.add(currentIndex, fingerprint)) {
+                if (!fullWarningLogged) {
+                    log.warn("⚠️ Dedupe bucket is full ({} ids), new eventIds are not remembered until the next slice", current.size());
+                    fullWarningLogged = true;
+                }
+            } else if (current.size() == 1) {
+                // First id of a fresh slice
+                fullWarningLogged = false;
+            }
+            return true;
+        }
+    }
+
+    // Forgets a claimed eventId whose delivery failed, so the retry tiers can claim it again
+    public void release(String eventId) {
+        if (!enabled || eventId == null) {
+            return;
+        }
+        long fingerprint = fingerprint(eventId);
+        synchronized (stripeFor(fingerprint)) {
+            for (DedupeBucket bucket : buckets) {
+                bucket.remove(fingerprint);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        for (DedupeBucket bucket : buckets) {
+            bucket.force();
+        }
+    }
+
+    private Object stripeFor(long fingerprint) {
+        return stripes[(int) (fingerprint >>> 58)];
+    }
+
+    private boolean isLive(DedupeBucket bucket, long currentIndex) {
+        long age = currentIndex - bucket.bucketIndex();
+        return bucket.bucketIndex() >= 0 && age >= 0 && age < buckets.length;
+    }
+
+    // FNV-1a over the UTF-8 bytes, then a murmur3 finalizer; 0 is reserved for empty slots
+    private static long fingerprint(String eventId) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : eventId.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0L ? 1L : hash;
+    }
+}
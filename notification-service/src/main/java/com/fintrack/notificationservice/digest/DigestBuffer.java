@@ -0,0 +1,90 @@
+package com.fintrack.notificationservice.digest;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/*
+ * Running summary of one user's events inside the current window.
+ * Only primitives plus the email reference: amounts are kept in cents, events themselves are not retained.
+ */
+public class DigestBuffer {
+    private final String email;
+    private final long windowStart;
+    private long lastEventAt;
+    private int eventCount;
+    private long incomeCents;
+    private long expenseCents;
+    private long largestExpenseCents;
+    private String largestExpenseCategory;
+
+    DigestBuffer(String email, long windowStart) {
+        this.email = email;
+        this.windowStart = windowStart;
+        this.lastEventAt = windowStart;
+    }
+
+    void add(String type, long amountCents, String category, long now) {
+        eventCount++;
+        lastEventAt = now;
+        if ("INCOME".equals(type)) {
+            incomeCents += amountCents;
+        } else {
+            expenseCents += amountCents;
+            if (amountCents > largestExpenseCents) {
+                largestExpenseCents = amountCents;
+                largestExpenseCategory = category;
+            }
+        }
+    }
+
+    DigestBuffer copy() {
+        DigestBuffer copy = new DigestBuffer(email, windowStart);
+        copy.lastEventAt = lastEventAt;
+        copy.eventCount = eventCount;
+        copy.incomeCents = incomeCents;
+        copy.expenseCents = expenseCents;
+        copy.largestExpenseCents = largestExpenseCents;
+        copy.largestExpenseCategory = largestExpenseCategory;
+        return copy;
+    }
+
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeUTF(email);
+        out.writeLong(windowStart);
+        out.writeLong(lastEventAt);
+        out.writeInt(eventCount);
+        out.writeLong(incomeCents);
+        out.writeLong(expenseCents);
+        out.writeLong(largestExpenseCents);
+        out.writeUTF(largestExpenseCategory != null ? largestExpenseCategory : "");
+    }
+
+    static DigestBuffer readFrom(DataInputStream in) throws IOException {
+        DigestBuffer buffer = new DigestBuffer(in.readUTF(), in.readLong());
+        buffer.lastEventAt = in.readLong();
+        buffer.eventCount = in.readInt();
+        buffer.incomeCents = in.readLong();
+        buffer.expenseCents = in.readLong();
+        buffer.largestExpenseCents = in.readLong();
+        String category = in.readUTF();
+        buffer.largestExpenseCategory = category.isEmpty() ? null : category;
+        return buffer;
+    }
+
+    public String getEmail() { return email; }
+
+    public long getWindowStart() { return windowStart; }
+
+    public long getLastEventAt() { return lastEventAt; }
+
+    public int getEventCount() { return eventCount; }
+
+    public long getIncomeCents() { return incomeCents; }
+
+    public long getExpenseCents() { return expenseCents; }
+
+    public long getLargestExpenseCents() { return largestExpenseCents; }
+
+    public String getLargestExpenseCategory() { return largestExpenseCategory; }
+}
@@ -0,0 +1,8 @@
+package com.fintrack.notificationservice.digest;
+
+public enum DigestWindow {
+    // Fixed, epoch-aligned windows of window-ms
+    TUMBLING,
+    // Closes once the user has been quiet for session-gap-ms (capped at max-session-ms)
+    SESSION
+}
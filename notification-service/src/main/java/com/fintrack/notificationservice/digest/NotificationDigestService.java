@@ -0,0 +1,315 @@
+/*
+ * Digest mode (notification.digest.enabled=true)
+ * 1. Instead of one email per event, each event is folded into the user's DigestBuffer
+ * 2. A scheduler closes windows (tumbling or session) and sends one summarized notification per user
+ * 3. Open buffers are checkpointed to disk periodically and on shutdown, and reloaded on startup
+ * Windows use processing time, so a lagging consumer never holds a window open waiting for event time.
+ * A crash (not a graceful stop) can lose at most checkpoint-interval-ms worth of buffered events.
+ *
+ * Buffers live with the partition the user's events arrive on (PartitionAwareState), so only one instance ever
+ * holds a user's open window:
+ * - A revoked partition's buffers are set aside; if the same rebalance assigns it back (eager mode) they are
+ *   adopted again, otherwise they are flushed right away as partial digests. The events in them are already
+ *   committed, so the new owner starts its own window from later events only, and nothing is summarized twice.
+ * - Checkpointed buffers are restored as set aside and adopted or flushed on the first assignment the same way.
+ * - Events redelivered by the retry tiers have no partition and go to a separate buffer set, flushed by window only.
+ * Send failures are the dispatcher's concern: it hands failed or shed digests to its own retry path.
+ */
+package com.fintrack.notificationservice.digest;
+
+import com.fintrack.notificationservice.channel.NotificationDispatcher;
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.retry.RetryTiers;
+import com.fintrack.notificationservice.state.PartitionAwareState;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+@Service
+public class NotificationDigestService implements PartitionAwareState {
+    private static final Logger log = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    private static final int CHECKPOINT_MAGIC = 0x46544447; // "FTDG"
+    private static final int CHECKPOINT_MAGIC_V2 = 0x46544432; // "FTD2", adds the windows awaiting a resend
+    private static final int CHECKPOINT_MAGIC_V3 = 0x46544433; // "FTD3", buffers grouped by partition
+
+    // Owner of the buffers fed by the retry tiers, which carry no main-topic partition
+    static final TopicPartition RETRIED = new TopicPartition(RetryTiers.MAIN_TOPIC + "-retry", -1);
+
+    private final NotificationDispatcher dispatcher;
+    // Buffers of the partitions this instance owns (plus RETRIED), userId -> open window
+    private final Map<TopicPartition, Map<Long, DigestBuffer>> partitions = new ConcurrentHashMap<>();
+    // Revoked or restored, waiting for the next assignment to adopt or flush them
+    private final Map<TopicPartition, Map<Long, DigestBuffer>> released = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final DigestWindow window;
+    private final long windowMs;
+    private final long sessionGapMs;
+    private final long maxSessionMs;
+    private final Path checkpointPath;
+
+    public NotificationDigestService(NotificationDispatcher dispatcher,
+                                     @Value("${notification.digest.enabled:false}") boolean enabled,
+                                     @Value("${notification.digest.window:TUMBLING}") DigestWindow window,
+                                     @Value("${notification.digest.window-ms:900000}") long windowMs,
+                                     @Value("${notification.digest.session-gap-ms:300000}") long sessionGapMs,
+                                     @Value("${notification.digest.max-session-ms:3600000}") long maxSessionMs,
+                                     @Value("${notification.digest.checkpoint-path:data/digest.checkpoint}") String checkpointPath) {
+        this.dispatcher = dispatcher;
+        this.enabled = enabled;
+        this.window = window;
+        this.windowMs = windowMs;
+        this.sessionGapMs = sessionGapMs;
+        this.maxSessionMs = maxSessionMs;
+        this.checkpointPath = Paths.get(checkpointPath);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // partition == null for events redelivered by the retry tiers
+    public void add(TopicPartition partition, TransactionCreatedEvent event) {
+        long now = System.currentTimeMillis();
+        long amountCents = event.getAmount() != null
+                ? event.getAmount().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue()
+                : 0L;
+
+        Map<Long, DigestBuffer> buffers = partitions.computeIfAbsent(partition != null ? partition : RETRIED,
+                tp -> new ConcurrentHashMap<>());
+        buffers.compute(event.getUserId(), (userId, buffer) -> {
+            if (buffer == null) {
+                buffer = new DigestBuffer(event.getUserEmail(), windowStart(now));
+            }
+            buffer.add(event.getType(), amountCents, event.getCategory(), now);
+            return buffer;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval-ms:5000}")
+    public void flushClosedWindows() {
+        if (!enabled || partitions.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int sent = 0;
+        int open = 0;
+        for (Map<Long, DigestBuffer> buffers : partitions.values()) {
+            sent += flush(buffers, buffer -> isClosed(buffer, now));
+            open += buffers.size();
+        }
+        if (sent > 0) {
+            log.info("📬 Flushed {} digests, {} windows still open", sent, open);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> assigned) {
+        if (!enabled) {
+            return;
+        }
+        for (TopicPartition partition : assigned) {
+            Map<Long, DigestBuffer> buffers = released.remove(partition);
+            if (buffers != null) {
+                partitions.merge(partition, buffers, (current, adopted) -> {
+                    current.putAll(adopted);
+                    return current;
+                });
+            }
+        }
+        // Whatever was not handed back now belongs to another instance: send it before the new owner's window closes
+        int sent = 0;
+        for (TopicPartition partition : released.keySet()) {
+            Map<Long, DigestBuffer> buffers = released.remove(partition);
+            if (buffers != null) {
+                sent += flush(buffers, buffer -> true);
+            }
+        }
+        if (sent > 0) {
+            log.info("📬 Flushed {} partial digests of partitions no longer owned", sent);
+        }
+    }
+
+    // After the container committed, so everything folded into these buffers is consumed for good
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+        if (!enabled) {
+            return;
+        }
+        for (TopicPartition partition : revoked) {
+            Map<Long, DigestBuffer> buffers = partitions.remove(partition);
+            if (buffers != null && !buffers.isEmpty()) {
+                released.put(partition, buffers);
+            }
+        }
+    }
+
+    // Removes and sends the matching buffers; an event arriving meanwhile starts a fresh window instead of being lost
+    private int flush(Map<Long, DigestBuffer> buffers, Predicate<DigestBuffer> due) {
+        int sent = 0;
+        for (Long userId : buffers.keySet()) {
+            DigestBuffer[] closed = new DigestBuffer[1];
+            buffers.computeIfPresent(userId, (id, buffer) -> {
+                if (due.test(buffer)) {
+                    closed[0] = buffer;
+                    return null;
+                }
+                return buffer;
+            });
+            if (closed[0] != null) {
+                try {
+                    send(userId, closed[0]);
+                    sent++;
+                } catch (RuntimeException e) {
+                    log.error("❌ Failed to dispatch digest to {}", closed[0].getEmail(), e);
+                }
+            }
+        }
+        return sent;
+    }
+
+    private void send(long userId, DigestBuffer buffer) {
+        dispatcher.dispatchDigest(
+            userId,
+            buffer.getEmail(),
+            buffer.getEventCount(),
+            BigDecimal.valueOf(buffer.getIncomeCents(), 2),
+            BigDecimal.valueOf(buffer.getExpenseCents(), 2),
+            buffer.getLargestExpenseCategory()
+        );
+    }
+
+    // Restored as released: the first assignment adopts the partitions that came back and flushes the rest
+    @PostConstruct
+    public void restore() {
+        if (!enabled || !Files.exists(checkpointPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointPath)))) {
+            int magic = in.readInt();
+            int restored = 0;
+            if (magic == CHECKPOINT_MAGIC_V3) {
+                int partitionCount = in.readInt();
+                for (int i = 0; i < partitionCount; i++) {
+                    TopicPartition partition = new TopicPartition(in.readUTF(), in.readInt());
+                    Map<Long, DigestBuffer> buffers = readBuffers(in);
+                    restored += buffers.size();
+                    // Retry-tier buffers have no owner to wait for
+                    (partition.equals(RETRIED) ? partitions : released).put(partition, buffers);
+                }
+            } else if (magic == CHECKPOINT_MAGIC || magic == CHECKPOINT_MAGIC_V2) {
+                // Older checkpoints have no partitions: keep their windows until they close, like retry-tier ones
+                Map<Long, DigestBuffer> buffers = readBuffers(in);
+                if (magic == CHECKPOINT_MAGIC_V2) {
+                    int failedCount = in.readInt();
+                    for (int i = 0; i < failedCount; i++) {
+                        long userId = in.readLong();
+                        in.readInt(); // attempts
+                        buffers.putIfAbsent(userId, DigestBuffer.readFrom(in));
+                    }
+                }
+                restored = buffers.size();
+                partitions.put(RETRIED, buffers);
+            } else {
+                throw new IOException("Unrecognized checkpoint format");
+            }
+            log.info("Restored {} digest windows from {}", restored, checkpointPath);
+        } catch (IOException e) {
+            log.error("Failed to restore digest checkpoint {}: {}", checkpointPath, e.getMessage(), e);
+        }
+    }
+
+    private static Map<Long, DigestBuffer> readBuffers(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Map<Long, DigestBuffer> buffers = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            buffers.put(in.readLong(), DigestBuffer.readFrom(in));
+        }
+        return buffers;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.checkpoint-interval-ms:10000}")
+    public void checkpoint() {
+        if (!enabled) {
+            return;
+        }
+        // Copy each buffer under its map lock, then write without holding up the consumer
+        Map<TopicPartition, Map<Long, DigestBuffer>> snapshot = new HashMap<>();
+        snapshot(released, snapshot);
+        snapshot(partitions, snapshot);
+        Path tmp = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try {
+            if (checkpointPath.getParent() != null) {
+                Files.createDirectories(checkpointPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CHECKPOINT_MAGIC_V3);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<TopicPartition, Map<Long, DigestBuffer>> partition : snapshot.entrySet()) {
+                    out.writeUTF(partition.getKey().topic());
+                    out.writeInt(partition.getKey().partition());
+                    out.writeInt(partition.getValue().size());
+                    for (Map.Entry<Long, DigestBuffer> entry : partition.getValue().entrySet()) {
+                        out.writeLong(entry.getKey());
+                        entry.getValue().writeTo(out);
+                    }
+                }
+            }
+            Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Failed to write digest checkpoint {}: {}", checkpointPath, e.getMessage(), e);
+        }
+    }
+
+    private static void snapshot(Map<TopicPartition, Map<Long, DigestBuffer>> source,
+                                 Map<TopicPartition, Map<Long, DigestBuffer>> snapshot) {
+        source.forEach((partition, buffers) -> {
+            Map<Long, DigestBuffer> copy = snapshot.computeIfAbsent(partition, tp -> new HashMap<>());
+            for (Long userId : buffers.keySet()) {
+                buffers.computeIfPresent(userId, (id, buffer) -> {
+                    copy.put(id, buffer.copy());
+                    return buffer;
+                });
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private long windowStart(long now) {
+        return window == DigestWindow.TUMBLING ? now - (now % windowMs) : now;
+    }
+
+    private boolean isClosed(DigestBuffer buffer, long now) {
+        if (window == DigestWindow.TUMBLING) {
+            return now >= buffer.getWindowStart() + windowMs;
+        }
+        return now >= buffer.getLastEventAt() + sessionGapMs
+                || now >= buffer.getWindowStart() + maxSessionMs;
+    }
+}
@@ -0,0 +1,60 @@
+package com.fintrack.notificationservice.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class AlertRuleRequest {
+    @NotBlank(message = "Rule name is required")
+    @Size(max = 100, message = "Rule name cannot exceed 100 characters")
+    private String name;
+
+    @Pattern(regexp = "INCOME|EXPENSE", message = "Transaction type must be INCOME or EXPENSE")
+    private String transactionType;
+
+    @Size(max = 50, message = "Category cannot exceed 50 characters")
+    private String category;
+
+    @Size(max = 100, message = "Merchant name cannot exceed 100 characters")
+    private String merchant;
+
+    @DecimalMin(value = "0.00", message = "Minimum amount cannot be negative")
+    private BigDecimal minAmount;
+
+    @DecimalMin(value = "0.01", message = "Spend limit must be greater than 0")
+    private BigDecimal spendLimit;
+
+    @Min(value = 1, message = "Window must be at least 1 hour")
+    @Max(value = 720, message = "Window cannot exceed 720 hours")
+    private Integer windowHours;
+
+    // Constructors
+    public AlertRuleRequest() {}
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getTransactionType() { return transactionType; }
+    public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getMerchant() { return merchant; }
+    public void setMerchant(String merchant) { this.merchant = merchant; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getSpendLimit() { return spendLimit; }
+    public void setSpendLimit(BigDecimal spendLimit) { this.spendLimit = spendLimit; }
+
+    public Integer getWindowHours() { return windowHours; }
+    public void setWindowHours(Integer windowHours) { this.windowHours = windowHours; }
+}
@@ -0,0 +1,62 @@
+package com.fintrack.notificationservice.dto;
+
+import com.fintrack.notificationservice.entity.AlertRule;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AlertRuleResponse {
+    private Long id;
+    private String name;
+    private String transactionType;
+    private String category;
+    private String merchant;
+    private BigDecimal minAmount;
+    private BigDecimal spendLimit;
+    private Integer windowHours;
+    private LocalDateTime updatedAt;
+
+    public AlertRuleResponse() {}
+
+    public static AlertRuleResponse from(AlertRule rule) {
+        AlertRuleResponse response = new AlertRuleResponse();
+        response.id = rule.getId();
+        response.name = rule.getName();
+        response.transactionType = rule.getTransactionType();
+        response.category = rule.getCategory();
+        response.merchant = rule.getMerchant();
+        response.minAmount = rule.getMinAmount();
+        response.spendLimit = rule.getSpendLimit();
+        response.windowHours = rule.getWindowHours();
+        response.updatedAt = rule.getUpdatedAt();
+        return response;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getTransactionType() { return transactionType; }
+    public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getMerchant() { return merchant; }
+    public void setMerchant(String merchant) { this.merchant = merchant; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getSpendLimit() { return spendLimit; }
+    public void setSpendLimit(BigDecimal spendLimit) { this.spendLimit = spendLimit; }
+
+    public Integer getWindowHours() { return windowHours; }
+    public void setWindowHours(Integer windowHours) { this.windowHours = windowHours; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
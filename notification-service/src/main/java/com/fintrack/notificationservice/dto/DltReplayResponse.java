@@ -0,0 +1,20 @@
+package com.fintrack.notificationservice.dto;
+
+public class DltReplayResponse {
+    private int replayed;
+    private String targetTopic;
+
+    public DltReplayResponse() {}
+
+    public DltReplayResponse(int replayed, String targetTopic) {
+        this.replayed = replayed;
+        this.targetTopic = targetTopic;
+    }
+
+    // Getters and Setters
+    public int getReplayed() { return replayed; }
+    public void setReplayed(int replayed) { this.replayed = replayed; }
+
+    public String getTargetTopic() { return targetTopic; }
+    public void setTargetTopic(String targetTopic) { this.targetTopic = targetTopic; }
+}
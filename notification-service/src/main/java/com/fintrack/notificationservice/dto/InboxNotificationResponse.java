@@ -0,0 +1,46 @@
+package com.fintrack.notificationservice.dto;
+
+import com.fintrack.notificationservice.entity.InboxNotification;
+
+import java.time.LocalDateTime;
+
+public class InboxNotificationResponse {
+    private Long id;
+    private String kind;
+    private String subject;
+    private String body;
+    private boolean read;
+    private LocalDateTime createdAt;
+
+    public InboxNotificationResponse() {}
+
+    public static InboxNotificationResponse from(InboxNotification notification) {
+        InboxNotificationResponse response = new InboxNotificationResponse();
+        response.id = notification.getId();
+        response.kind = notification.getKind();
+        response.subject = notification.getSubject();
+        response.body = notification.getBody();
+        response.read = notification.getReadAt() != null;
+        response.createdAt = notification.getCreatedAt();
+        return response;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public boolean isRead() { return read; }
+    public void setRead(boolean read) { this.read = read; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
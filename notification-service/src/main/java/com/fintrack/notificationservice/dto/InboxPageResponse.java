@@ -0,0 +1,28 @@
+package com.fintrack.notificationservice.dto;
+
+import java.util.List;
+
+public class InboxPageResponse {
+    private List<InboxNotificationResponse> items;
+    // Pass back as ?cursor= for the next (older) page; null on the last page
+    private Long nextCursor;
+    private long unreadCount;
+
+    public InboxPageResponse() {}
+
+    public InboxPageResponse(List<InboxNotificationResponse> items, Long nextCursor, long unreadCount) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.unreadCount = unreadCount;
+    }
+
+    // Getters and Setters
+    public List<InboxNotificationResponse> getItems() { return items; }
+    public void setItems(List<InboxNotificationResponse> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+
+    public long getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(long unreadCount) { this.unreadCount = unreadCount; }
+}
@@ -0,0 +1,18 @@
+package com.fintrack.notificationservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class InboxUpdateRequest {
+    @NotEmpty(message = "ids are required")
+    @Size(max = 500, message = "At most 500 ids per request")
+    private List<Long> ids;
+
+    public InboxUpdateRequest() {}
+
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
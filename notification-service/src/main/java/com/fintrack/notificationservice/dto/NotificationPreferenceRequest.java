@@ -0,0 +1,53 @@
+package com.fintrack.notificationservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalTime;
+
+public class NotificationPreferenceRequest {
+    private LocalTime quietHoursStart;
+
+    private LocalTime quietHoursEnd;
+
+    @NotBlank(message = "Time zone is required")
+    @Size(max = 50, message = "Time zone cannot exceed 50 characters")
+    private String timeZone;
+
+    // null = leave unchanged
+    private Boolean emailEnabled;
+
+    private Boolean inAppEnabled;
+
+    private Boolean webhookEnabled;
+
+    @Size(max = 500, message = "Webhook URL cannot exceed 500 characters")
+    @Pattern(regexp = "https?://.+", message = "Webhook URL must be an http(s) URL")
+    private String webhookUrl;
+
+    // Constructors
+    public NotificationPreferenceRequest() {}
+
+    // Getters and Setters
+    public LocalTime getQuietHoursStart() { return quietHoursStart; }
+    public void setQuietHoursStart(LocalTime quietHoursStart) { this.quietHoursStart = quietHoursStart; }
+
+    public LocalTime getQuietHoursEnd() { return quietHoursEnd; }
+    public void setQuietHoursEnd(LocalTime quietHoursEnd) { this.quietHoursEnd = quietHoursEnd; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public Boolean getEmailEnabled() { return emailEnabled; }
+    public void setEmailEnabled(Boolean emailEnabled) { this.emailEnabled = emailEnabled; }
+
+    public Boolean getInAppEnabled() { return inAppEnabled; }
+    public void setInAppEnabled(Boolean inAppEnabled) { this.inAppEnabled = inAppEnabled; }
+
+    public Boolean getWebhookEnabled() { return webhookEnabled; }
+    public void setWebhookEnabled(Boolean webhookEnabled) { this.webhookEnabled = webhookEnabled; }
+
+    public String getWebhookUrl() { return webhookUrl; }
+    public void setWebhookUrl(String webhookUrl) { this.webhookUrl = webhookUrl; }
+}
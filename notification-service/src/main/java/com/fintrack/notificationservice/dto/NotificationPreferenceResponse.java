@@ -0,0 +1,51 @@
+package com.fintrack.notificationservice.dto;
+
+import com.fintrack.notificationservice.entity.NotificationPreference;
+
+import java.time.LocalTime;
+
+public class NotificationPreferenceResponse {
+    private LocalTime quietHoursStart;
+    private LocalTime quietHoursEnd;
+    private String timeZone;
+    private boolean emailEnabled;
+    private boolean inAppEnabled;
+    private boolean webhookEnabled;
+    private String webhookUrl;
+
+    public NotificationPreferenceResponse() {}
+
+    public static NotificationPreferenceResponse from(NotificationPreference preference) {
+        NotificationPreferenceResponse response = new NotificationPreferenceResponse();
+        response.quietHoursStart = preference.getQuietHoursStart();
+        response.quietHoursEnd = preference.getQuietHoursEnd();
+        response.timeZone = preference.getTimeZone();
+        response.emailEnabled = preference.isEmailEnabled();
+        response.inAppEnabled = preference.isInAppEnabled();
+        response.webhookEnabled = preference.isWebhookEnabled();
+        response.webhookUrl = preference.getWebhookUrl();
+        return response;
+    }
+
+    // Getters and Setters
+    public LocalTime getQuietHoursStart() { return quietHoursStart; }
+    public void setQuietHoursStart(LocalTime quietHoursStart) { this.quietHoursStart = quietHoursStart; }
+
+    public LocalTime getQuietHoursEnd() { return quietHoursEnd; }
+    public void setQuietHoursEnd(LocalTime quietHoursEnd) { this.quietHoursEnd = quietHoursEnd; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public boolean isEmailEnabled() { return emailEnabled; }
+    public void setEmailEnabled(boolean emailEnabled) { this.emailEnabled = emailEnabled; }
+
+    public boolean isInAppEnabled() { return inAppEnabled; }
+    public void setInAppEnabled(boolean inAppEnabled) { this.inAppEnabled = inAppEnabled; }
+
+    public boolean isWebhookEnabled() { return webhookEnabled; }
+    public void setWebhookEnabled(boolean webhookEnabled) { this.webhookEnabled = webhookEnabled; }
+
+    public String getWebhookUrl() { return webhookUrl; }
+    public void setWebhookUrl(String webhookUrl) { this.webhookUrl = webhookUrl; }
+}
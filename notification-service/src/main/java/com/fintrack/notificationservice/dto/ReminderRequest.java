@@ -0,0 +1,28 @@
+package com.fintrack.notificationservice.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+public class ReminderRequest {
+    @NotBlank(message = "Message is required")
+    @Size(max = 1000, message = "Message cannot exceed 1000 characters")
+    private String message;
+
+    @NotNull(message = "Reminder time is required")
+    @Future(message = "Reminder time must be in the future")
+    private Instant remindAt;
+
+    // Constructors
+    public ReminderRequest() {}
+
+    // Getters and Setters
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Instant getRemindAt() { return remindAt; }
+    public void setRemindAt(Instant remindAt) { this.remindAt = remindAt; }
+}
@@ -0,0 +1,22 @@
+package com.fintrack.notificationservice.dto;
+
+import java.time.Instant;
+
+public class ReminderResponse {
+    private long id;
+    private Instant remindAt;
+
+    public ReminderResponse() {}
+
+    public ReminderResponse(long id, Instant remindAt) {
+        this.id = id;
+        this.remindAt = remindAt;
+    }
+
+    // Getters and Setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public Instant getRemindAt() { return remindAt; }
+    public void setRemindAt(Instant remindAt) { this.remindAt = remindAt; }
+}
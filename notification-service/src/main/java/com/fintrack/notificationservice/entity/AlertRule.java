@@ -0,0 +1,92 @@
+package com.fintrack.notificationservice.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "alert_rules", indexes = {
+    @Index(name = "idx_alert_rules_user_id", columnList = "user_id"),
+    // Incremental cache refresh scans by last modification
+    @Index(name = "idx_alert_rules_updated_at", columnList = "updated_at")
+})
+public class AlertRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // null = any value
+    @Column(length = 20)
+    private String transactionType;
+
+    @Column(length = 50)
+    private String category;
+
+    @Column(length = 100)
+    private String merchant;
+
+    private BigDecimal minAmount;
+
+    // Rolling-window spend limit: alert once matching spend within windowHours exceeds spendLimit
+    private BigDecimal spendLimit;
+
+    private Integer windowHours;
+
+    // Deleting a rule deactivates it, so the cache refresh sees the change
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public AlertRule() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getTransactionType() { return transactionType; }
+    public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getMerchant() { return merchant; }
+    public void setMerchant(String merchant) { this.merchant = merchant; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getSpendLimit() { return spendLimit; }
+    public void setSpendLimit(BigDecimal spendLimit) { this.spendLimit = spendLimit; }
+
+    public Integer getWindowHours() { return windowHours; }
+    public void setWindowHours(Integer windowHours) { this.windowHours = windowHours; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,82 @@
+package com.fintrack.notificationservice.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "inbox_notifications", indexes = {
+    // Keyset paging: a user's notifications, newest (highest id) first
+    @Index(name = "idx_inbox_notifications_user_id_id", columnList = "user_id, id"),
+    // Retention purge
+    @Index(name = "idx_inbox_notifications_created_at", columnList = "created_at")
+}, uniqueConstraints = {
+    // One row per event and user, so a redelivered event is not stored (or counted as unread) twice
+    @UniqueConstraint(name = "uk_inbox_notifications_user_id_event_id", columnNames = {"user_id", "event_id"})
+})
+public class InboxNotification {
+    // Sequence (not identity) ids, drawn in SQL by the batched insert (see InboxNotificationRepositoryImpl)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inbox_notifications_seq")
+    @SequenceGenerator(name = "inbox_notifications_seq", sequenceName = "inbox_notifications_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 30)
+    private String kind;
+
+    @Column(nullable = false, length = 200)
+    private String subject;
+
+    @Column(nullable = false, length = 2000)
+    private String body;
+
+    @Column(length = 100)
+    private String eventId;
+
+    // null = unread
+    private LocalDateTime readAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public InboxNotification() {}
+
+    public InboxNotification(Long userId, String kind, String subject, String body, String eventId) {
+        this.userId = userId;
+        this.kind = kind;
+        this.subject = subject;
+        this.body = body;
+        this.eventId = eventId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public String getEventId() { return eventId; }
+    public void setEventId(String eventId) { this.eventId = eventId; }
+
+    public LocalDateTime getReadAt() { return readAt; }
+    public void setReadAt(LocalDateTime readAt) { this.readAt = readAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
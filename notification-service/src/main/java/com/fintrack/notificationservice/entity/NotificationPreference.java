@@ -0,0 +1,72 @@
+package com.fintrack.notificationservice.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Entity
+@Table(name = "notification_preferences")
+public class NotificationPreference {
+    @Id
+    private Long userId;
+
+    // Quiet hours in the user's time zone; an end before the start spans midnight (e.g. 22:00-07:00)
+    private LocalTime quietHoursStart;
+
+    private LocalTime quietHoursEnd;
+
+    @Column(nullable = false, length = 50)
+    private String timeZone = "UTC";
+
+    @Column(nullable = false)
+    private boolean emailEnabled = true;
+
+    @Column(nullable = false)
+    private boolean inAppEnabled = true;
+
+    @Column(nullable = false)
+    private boolean webhookEnabled = false;
+
+    @Column(length = 500)
+    private String webhookUrl;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public NotificationPreference() {}
+
+    public NotificationPreference(Long userId) {
+        this.userId = userId;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalTime getQuietHoursStart() { return quietHoursStart; }
+    public void setQuietHoursStart(LocalTime quietHoursStart) { this.quietHoursStart = quietHoursStart; }
+
+    public LocalTime getQuietHoursEnd() { return quietHoursEnd; }
+    public void setQuietHoursEnd(LocalTime quietHoursEnd) { this.quietHoursEnd = quietHoursEnd; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public boolean isEmailEnabled() { return emailEnabled; }
+    public void setEmailEnabled(boolean emailEnabled) { this.emailEnabled = emailEnabled; }
+
+    public boolean isInAppEnabled() { return inAppEnabled; }
+    public void setInAppEnabled(boolean inAppEnabled) { this.inAppEnabled = inAppEnabled; }
+
+    public boolean isWebhookEnabled() { return webhookEnabled; }
+    public void setWebhookEnabled(boolean webhookEnabled) { this.webhookEnabled = webhookEnabled; }
+
+    public String getWebhookUrl() { return webhookUrl; }
+    public void setWebhookUrl(String webhookUrl) { this.webhookUrl = webhookUrl; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,63 @@
+package com.fintrack.notificationservice.inbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+ * In-memory unread counts per user, so badge reads never hit the database
+ * - Loaded with one COUNT on first read, then kept current with the deltas of appends and bulk read/unread updates
+ * - Entries expire after cache-ttl-ms and are recounted, which also heals drift (a count racing an append,
+ *   writes made by another instance)
+ */
+@Component
+public class UnreadCounters {
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final long ttlMs;
+    private final int maxUsers;
+
+    public UnreadCounters(@Value("${notification.inbox.unread-cache-ttl-ms:300000}") long ttlMs,
+                          @Value("${notification.inbox.unread-cache-max-users:100000}") int maxUsers) {
+        this.ttlMs = ttlMs;
+        this.maxUsers = maxUsers;
+    }
+
+    public long get(Long userId, LongSupplier loader) {
+        long now = System.currentTimeMillis();
+        Counter counter = counters.get(userId);
+        if (counter == null || counter.expiresAt < now) {
+            if (counters.size() >= maxUsers) {
+                counters.clear();
+            }
+            counter = new Counter(loader.getAsLong(), now + ttlMs);
+            counters.put(userId, counter);
+        }
+        return Math.max(0, counter.unread.get());
+    }
+
+    // Users that are not cached are counted on their next read
+    public void add(Long userId, long delta) {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.unread.addAndGet(delta);
+        }
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+
+    private static final class Counter {
+        private final AtomicLong unread;
+        private final long expiresAt;
+
+        private Counter(long unread, long expiresAt) {
+            this.unread = new AtomicLong(unread);
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Asynchronous SMTP delivery (notification.mail.enabled=true)
+ * 1. EmailService enqueues an OutgoingMail into a bounded queue and returns immediately
+ * 2. Worker threads drain up to batch-size mails at a time and send them back-to-back over one pooled connection
+ * 3. Every send takes a permit from the provider rate limiter first
+ * A full queue makes submit() fail after enqueue-timeout-ms, so the event goes to the retry tiers instead of piling up on the heap.
+ * A mail that fails to send (server down, connection dropped, transient reject) is requeued with exponential backoff;
+ * after max-attempts, for an invalid address, or if the engine stops first, the mail's failure callback takes over.
+ */
+package com.fintrack.notificationservice.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class MailDeliveryEngine {
+    private static final Logger log = LoggerFactory.getLogger(MailDeliveryEngine.class);
+
+    private final boolean enabled;
+    private final String from;
+    private final int workerCount;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final long enqueueTimeoutMs;
+    private final long drainTimeoutMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final long retryMaxBackoffMs;
+    private final BlockingQueue<OutgoingMail> queue;
+    // Holds mails waiting out their backoff, then puts them back on the queue
+    private final ScheduledThreadPoolExecutor retryTimer;
+    private final Set<OutgoingMail> backingOff = ConcurrentHashMap.newKeySet();
+    private final Session session;
+    private final SmtpConnectionPool connectionPool;
+    private final SmtpRateLimiter rateLimiter;
+    private final List<Thread> workers = new ArrayList<>();
+    private final Timer deliveryLatency;
+    private final Timer sendLatency;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private volatile boolean running;
+    // Exponentially weighted SMTP send time, read by the backpressure controller
+    private volatile double providerLatencyMs;
+
+    public MailDeliveryEngine(MeterRegistry meterRegistry,
+                              @Value("${notification.mail.enabled:false}") boolean enabled,
+                              @Value("${notification.mail.smtp.host:localhost}") String host,
+                              @Value("${notification.mail.smtp.port:25}") int port,
+                              @Value("${notification.mail.smtp.username:}") String username,
+                              @Value("${notification.mail.smtp.password:}") String password,
+                              @Value("${notification.mail.smtp.starttls:false}") boolean starttls,
+                              @Value("${notification.mail.smtp.timeout-ms:10000}") int timeoutMs,
+                              @Value("${notification.mail.from:no-reply@fintrack.com}") String from,
+                              @Value("${notification.mail.connections:4}") int connections,
+                              @Value("${notification.mail.workers:4}") int workerCount,
+                              @Value("${notification.mail.queue-capacity:10000}") int queueCapacity,
+                              @Value("${notification.mail.batch-size:50}") int batchSize,
+                              @Value("${notification.mail.rate-per-second:100}") double ratePerSecond,
+                              @Value("${notification.mail.enqueue-timeout-ms:1000}") long enqueueTimeoutMs,
+                              @Value("${notification.mail.drain-timeout-ms:10000}") long drainTimeoutMs,
+                              @Value("${notification.mail.max-attempts:5}") int maxAttempts,
+                              @Value("${notification.mail.retry-backoff-ms:1000}") long retryBackoffMs,
+                              @Value("${notification.mail.retry-max-backoff-ms:60000}") long retryMaxBackoffMs) {
+        this.enabled = enabled;
+        this.from = from;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.retryMaxBackoffMs = retryMaxBackoffMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.retryTimer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "smtp-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retryTimer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        Properties props = new Properties();
+        props.put("mail.smtp.host", host);
+        props.put("mail.smtp.port", String.valueOf(port));
+        props.put("mail.smtp.auth", String.valueOf(!username.isEmpty()));
+        props.put("mail.smtp.starttls.enable", String.valueOf(starttls));
+        props.put("mail.smtp.connectiontimeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        props.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
+        this.session = Session.getInstance(props);
+        this.connectionPool = new SmtpConnectionPool(session, username, password, connections);
+        this.rateLimiter = new SmtpRateLimiter(ratePerSecond);
+
+        this.deliveryLatency = Timer.builder("notification.mail.delivery.latency")
+                .description("Time from enqueue to SMTP acceptance")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sendLatency = Timer.builder("notification.mail.send.latency")
+                .description("Time the SMTP server takes to accept one message")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("notification.mail.sent");
+        this.failedCounter = meterRegistry.counter("notification.mail.failed");
+        this.retriedCounter = meterRegistry.counter("notification.mail.retried");
+        meterRegistry.gauge("notification.mail.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "smtp-sender-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("📮 SMTP delivery engine started: workers={}, batchSize={}", workerCount, batchSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int queuedMails() {
+        return queue.size();
+    }
+
+    public double queueUtilization() {
+        return (double) queue.size() / queueCapacity;
+    }
+
+    public double providerLatencyMs() {
+        return providerLatencyMs;
+    }
+
+    public void submit(OutgoingMail mail) {
+        try {
+            if (!queue.offer(mail, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("SMTP send queue is full, mail to " + mail.getTo() + " not accepted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing mail to " + mail.getTo(), e);
+        }
+    }
+
+    private void runWorker() {
+        List<OutgoingMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OutgoingMail first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<OutgoingMail> batch) {
+        int next = 0;
+        try {
+            while (next < batch.size()) {
+                Transport transport;
+                try {
+                    transport = connectionPool.borrow();
+                } catch (MessagingException e) {
+                    // Server unreachable: the whole remaining batch fails the same way, each mail is tried again later
+                    log.error("❌ Could not connect to SMTP server, requeueing {} mails: {}", batch.size() - next, e.getMessage());
+                    for (; next < batch.size(); next++) {
+                        retryLater(batch.get(next), e);
+                    }
+                    return;
+                }
+
+                boolean healthy = true;
+                try {
+                    // Back-to-back on one connection: no reconnect or re-auth between mails of the batch
+                    for (; next < batch.size(); next++) {
+                        OutgoingMail mail = batch.get(next);
+                        rateLimiter.acquire();
+                        try {
+                            MimeMessage message = toMessage(mail);
+                            long sendStart = System.nanoTime();
+                            transport.sendMessage(message, message.getAllRecipients());
+                            recordSendLatency(System.nanoTime() - sendStart);
+                            sentCounter.increment();
+                            deliveryLatency.record(System.nanoTime() - mail.getEnqueuedAtNanos(), TimeUnit.NANOSECONDS);
+                        } catch (AddressException e) {
+                            // Retrying can't fix a malformed address
+                            giveUp(mail, e);
+                        } catch (MessagingException e) {
+                            log.error("❌ Failed to send mail to {}: {}", mail.getTo(), e.getMessage());
+                            retryLater(mail, e);
+                            if (!transport.isConnected()) {
+                                // Continue the batch on a fresh connection
+                                healthy = false;
+                                next++;
+                                break;
+                            }
+                        }
+                    }
+                } finally {
+                    connectionPool.release(transport, healthy);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Stopped while waiting for a connection or a send permit: the mails not sent yet still get their
+            // retry or failure callback instead of vanishing with the batch
+            log.warn("⚠️ SMTP worker interrupted, handing back {} unsent mails", batch.size() - next);
+            for (; next < batch.size(); next++) {
+                retryLater(batch.get(next), e);
+            }
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void retryLater(OutgoingMail mail, Exception cause) {
+        int attempts = mail.recordAttempt();
+        if (attempts >= maxAttempts || !running) {
+            giveUp(mail, cause);
+            return;
+        }
+        long delayMs = Math.min(retryBackoffMs << Math.min(attempts - 1, 20), retryMaxBackoffMs);
+        retriedCounter.increment();
+        backingOff.add(mail);
+        try {
+            retryTimer.schedule(() -> requeue(mail, cause), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // Timer already shut down
+            if (backingOff.remove(mail)) {
+                giveUp(mail, cause);
+            }
+        }
+    }
+
+    private void requeue(OutgoingMail mail, Exception cause) {
+        if (!backingOff.remove(mail)) {
+            // Already handed back by shutdown()
+            return;
+        }
+        // Never block the timer thread; a full queue counts as one more failed attempt
+        if (!running || !queue.offer(mail)) {
+            retryLater(mail, cause);
+        }
+    }
+
+    private void giveUp(OutgoingMail mail, Exception cause) {
+        failedCounter.increment();
+        log.error("❌ Giving up on mail to {} after {} attempts: {}", mail.getTo(), mail.getAttempts(), cause.getMessage());
+        try {
+            mail.failed(cause);
+        } catch (RuntimeException e) {
+            log.error("❌ Failure handler for mail to {} failed, mail lost", mail.getTo(), e);
+        }
+    }
+
+    private void recordSendLatency(long nanos) {
+        sendLatency.record(nanos, TimeUnit.NANOSECONDS);
+        // Racy read-modify-write across workers is fine for a smoothed signal
+        providerLatencyMs = providerLatencyMs * 0.8 + (nanos / 1_000_000.0) * 0.2;
+    }
+
+    private MimeMessage toMessage(OutgoingMail mail) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress(from));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(mail.getTo()));
+        message.setSubject(mail.getSubject(), StandardCharsets.UTF_8.name());
+        message.setText(mail.getBody(), StandardCharsets.UTF_8.name());
+        return message;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        // Workers keep going until the queue is empty, bounded by drain-timeout-ms
+        running = false;
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        connectionPool.close();
+
+        // Whatever is still queued or backing off goes back to its sender instead of vanishing with the JVM
+        retryTimer.shutdownNow();
+        List<OutgoingMail> unsent = new ArrayList<>();
+        queue.drainTo(unsent);
+        for (OutgoingMail mail : backingOff) {
+            if (backingOff.remove(mail)) {
+                unsent.add(mail);
+            }
+        }
+        if (!unsent.isEmpty()) {
+            log.warn("SMTP delivery engine stopped with {} unsent mails", unsent.size());
+            IllegalStateException stopped = new IllegalStateException("SMTP delivery engine stopped");
+            for (OutgoingMail mail : unsent) {
+                giveUp(mail, stopped);
+            }
+        }
+    }
+}
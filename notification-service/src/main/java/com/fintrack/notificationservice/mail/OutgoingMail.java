@@ -0,0 +1,42 @@
+package com.fintrack.notificationservice.mail;
+
+import java.util.function.Consumer;
+
+public class OutgoingMail {
+    private final String to;
+    private final String subject;
+    private final String body;
+    private final long enqueuedAtNanos;
+    // Told when the engine gives up on the mail (attempts exhausted, bad address, shutdown)
+    private final Consumer<Exception> onFailure;
+    private int attempts;
+
+    public OutgoingMail(String to, String subject, String body) {
+        this(to, subject, body, null);
+    }
+
+    public OutgoingMail(String to, String subject, String body, Consumer<Exception> onFailure) {
+        this.to = to;
+        this.subject = subject;
+        this.body = body;
+        this.onFailure = onFailure;
+        this.enqueuedAtNanos = System.nanoTime();
+    }
+
+    public String getTo() { return to; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+    public long getEnqueuedAtNanos() { return enqueuedAtNanos; }
+    public int getAttempts() { return attempts; }
+
+    // Only the worker currently holding the mail touches the count
+    int recordAttempt() {
+        return ++attempts;
+    }
+
+    void failed(Exception cause) {
+        if (onFailure != null) {
+            onFailure.accept(cause);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Fixed-size pool of connected SMTP transports
+ * - A transport stays connected across sends, so the TCP/TLS/AUTH handshake is paid once per connection, not per email
+ * - Connections are opened lazily up to maxConnections and reconnected if the server dropped them while idle
+ * - A transport that failed mid-send is closed instead of returned, the next borrow opens a fresh one
+ */
+package com.fintrack.notificationservice.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+public class SmtpConnectionPool {
+    private static final Logger log = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    private final Session session;
+    private final String username;
+    private final String password;
+    private final BlockingQueue<Transport> idle;
+    private final Semaphore permits;
+
+    public SmtpConnectionPool(Session session, String username, String password, int maxConnections) {
+        this.session = session;
+        this.username = username;
+        this.password = password;
+        this.idle = new ArrayBlockingQueue<>(maxConnections);
+        this.permits = new Semaphore(maxConnections);
+    }
+
+    public Transport borrow() throws InterruptedException, MessagingException {
+        permits.acquire();
+        try {
+            Transport transport = idle.poll();
+            if (transport == null) {
+                transport = session.getTransport("smtp");
+            }
+            if (!transport.isConnected()) {
+                transport.connect(emptyToNull(username), emptyToNull(password));
+            }
+            return transport;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Transport transport, boolean healthy) {
+        try {
+            if (!healthy || !idle.offer(transport)) {
+                closeQuietly(transport);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Ignoring error while closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
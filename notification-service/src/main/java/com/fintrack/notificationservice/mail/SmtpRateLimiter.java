@@ -0,0 +1,47 @@
+/*
+ * Token bucket matching the provider's send quota
+ * - Refills ratePerSecond tokens per second, bursts up to one second's worth
+ * - acquire() parks the calling worker until a token is available, so the queue absorbs the excess
+ */
+package com.fintrack.notificationservice.mail;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+public class SmtpRateLimiter {
+    private final double ratePerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+
+    public SmtpRateLimiter(double ratePerSecond) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1.0, ratePerSecond);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1.0) {
+                    tokens -= 1.0;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((1.0 - tokens) / ratePerNano);
+            }
+            LockSupport.parkNanos(waitNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while waiting for an SMTP send permit");
+            }
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * ratePerNano);
+        lastRefillNanos = now;
+    }
+}
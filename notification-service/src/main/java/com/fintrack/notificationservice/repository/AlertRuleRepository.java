@@ -0,0 +1,22 @@
+package com.fintrack.notificationservice.repository;
+
+import com.fintrack.notificationservice.entity.AlertRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Long> {
+    List<AlertRule> findByUserIdAndActiveTrue(Long userId);
+
+    Optional<AlertRule> findByIdAndUserIdAndActiveTrue(Long id, Long userId);
+
+    // Users whose rules changed since the last refresh (including deactivations)
+    @Query("SELECT DISTINCT r.userId FROM AlertRule r WHERE r.updatedAt > :since")
+    List<Long> findUserIdsUpdatedAfter(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,44 @@
+package com.fintrack.notificationservice.repository;
+
+import com.fintrack.notificationservice.entity.InboxNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InboxNotificationRepository extends JpaRepository<InboxNotification, Long>, InboxNotificationRepositoryCustom {
+    // Keyset pages: first page, then everything older than the cursor (the last id of the previous page)
+    List<InboxNotification> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    List<InboxNotification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long cursor, Pageable pageable);
+
+    long countByUserIdAndReadAtIsNull(Long userId);
+
+    // Bulk read/unread updates return the number of rows whose state actually changed
+    @Modifying
+    @Query("UPDATE InboxNotification n SET n.readAt = :now " +
+           "WHERE n.userId = :userId AND n.id IN :ids AND n.readAt IS NULL")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE InboxNotification n SET n.readAt = :now " +
+           "WHERE n.userId = :userId AND n.id <= :upToId AND n.readAt IS NULL")
+    int markAllRead(@Param("userId") Long userId, @Param("upToId") Long upToId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE InboxNotification n SET n.readAt = NULL " +
+           "WHERE n.userId = :userId AND n.id IN :ids AND n.readAt IS NOT NULL")
+    int markUnread(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Range scan on idx_inbox_notifications_created_at
+    @Modifying
+    @Query("DELETE FROM InboxNotification n WHERE n.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,12 @@
+package com.fintrack.notificationservice.repository;
+
+import com.fintrack.notificationservice.entity.InboxNotification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface InboxNotificationRepositoryCustom {
+    // Inserts the batch in one statement, skipping notifications whose (userId, eventId) is already stored;
+    // returns the userId of every row actually inserted
+    List<Long> insertIgnoringDuplicates(List<InboxNotification> notifications, LocalDateTime createdAt);
+}
@@ -0,0 +1,69 @@
+package com.fintrack.notificationservice.repository;
+
+import com.fintrack.notificationservice.entity.InboxNotification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Multi-row INSERT ... ON CONFLICT DO NOTHING over unnest()ed arrays: one round trip per batch, and a redelivered
+ * event (same user and eventId) is skipped instead of failing the batch. Digests carry no eventId, and NULLs never
+ * conflict. Ids come from the entity's sequence; its pooled optimizer hands out ranges below each value it fetches,
+ * so they never collide with values drawn here.
+ */
+class InboxNotificationRepositoryImpl implements InboxNotificationRepositoryCustom {
+    private static final String INSERT_IGNORING_DUPLICATES =
+            "INSERT INTO inbox_notifications (id, user_id, kind, subject, body, event_id, created_at) " +
+            "SELECT nextval('inbox_notifications_seq'), n.user_id, n.kind, n.subject, n.body, n.event_id, ? " +
+            "FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[]) " +
+            "AS n(user_id, kind, subject, body, event_id) " +
+            "ON CONFLICT (user_id, event_id) DO NOTHING " +
+            "RETURNING user_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    InboxNotificationRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertIgnoringDuplicates(List<InboxNotification> notifications, LocalDateTime createdAt) {
+        int size = notifications.size();
+        Long[] userIds = new Long[size];
+        String[] kinds = new String[size];
+        String[] subjects = new String[size];
+        String[] bodies = new String[size];
+        String[] eventIds = new String[size];
+        for (int i = 0; i < size; i++) {
+            InboxNotification notification = notifications.get(i);
+            userIds[i] = notification.getUserId();
+            kinds[i] = notification.getKind();
+            subjects[i] = notification.getSubject();
+            bodies[i] = notification.getBody();
+            eventIds[i] = notification.getEventId();
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_IGNORING_DUPLICATES)) {
+                statement.setObject(1, createdAt);
+                statement.setArray(2, connection.createArrayOf("bigint", userIds));
+                statement.setArray(3, connection.createArrayOf("varchar", kinds));
+                statement.setArray(4, connection.createArrayOf("varchar", subjects));
+                statement.setArray(5, connection.createArrayOf("varchar", bodies));
+                statement.setArray(6, connection.createArrayOf("varchar", eventIds));
+                List<Long> inserted = new ArrayList<>(size);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        inserted.add(rows.getLong(1));
+                    }
+                }
+                return inserted;
+            }
+        });
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Replays parked events from the DLT back into the first retry tier
+ * - Reads with its own consumer group, so every replay continues where the previous one stopped
+ * - Offsets are committed only after the replayed events are acked by the broker
+ */
+package com.fintrack.notificationservice.retry;
+
+import com.fintrack.notificationservice.dto.DltReplayResponse;
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+@Service
+public class DeadLetterReplayService {
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterReplayService.class);
+
+    private static final String REPLAY_GROUP = "notification-service-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<String, TransactionCreatedEvent> retryConsumerFactory;
+    private final FailedEventForwarder forwarder;
+    private final RetryTiers retryTiers;
+    private final MeterRegistry meterRegistry;
+
+    public DeadLetterReplayService(ConsumerFactory<String, TransactionCreatedEvent> retryConsumerFactory,
+                                   FailedEventForwarder forwarder, RetryTiers retryTiers, MeterRegistry meterRegistry) {
+        this.retryConsumerFactory = retryConsumerFactory;
+        this.forwarder = forwarder;
+        this.retryTiers = retryTiers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public synchronized DltReplayResponse replay(int maxRecords) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.min(maxRecords, 500)));
+
+        int replayed = 0;
+        try (Consumer<String, TransactionCreatedEvent> consumer =
+                     retryConsumerFactory.createConsumer(REPLAY_GROUP, "dlt-replay", null, overrides)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(retryTiers.deadLetterTopic()).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .collect(Collectors.toList());
+            consumer.assign(partitions);
+
+            while (replayed < maxRecords) {
+                ConsumerRecords<String, TransactionCreatedEvent> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+
+                Map<TopicPartition, OffsetAndMetadata> positions = new HashMap<>();
+                for (ConsumerRecord<String, TransactionCreatedEvent> record : records) {
+                    if (replayed >= maxRecords) {
+                        break;
+                    }
+                    // Keeps x-retry-channels, so an event parked for one channel is not resent to the others
+                    forwarder.forward(record.value(), 0, null, FailedEventForwarder.channels(record.headers()));
+                    positions.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                consumer.commitSync(positions);
+            }
+        }
+
+        meterRegistry.counter("notification.dlt.replayed").increment(replayed);
+        log.info("🔁 Replayed {} events from {} to {}", replayed, retryTiers.deadLetterTopic(), retryTiers.topic(0));
+        return new DltReplayResponse(replayed, retryTiers.topic(0));
+    }
+}
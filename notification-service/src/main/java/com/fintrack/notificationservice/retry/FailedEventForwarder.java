@@ -0,0 +1,94 @@
+package com.fintrack.notificationservice.retry;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class FailedEventForwarder {
+    private static final Logger log = LoggerFactory.getLogger(FailedEventForwarder.class);
+
+    public static final String DUE_HEADER = "x-retry-due";
+    public static final String ERROR_HEADER = "x-retry-error";
+    // Set when only some channels failed: the retry redelivers to these (comma-separated) only
+    public static final String CHANNELS_HEADER = "x-retry-channels";
+
+    private final KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate;
+    private final RetryTiers retryTiers;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.retry.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    public FailedEventForwarder(KafkaTemplate<String, TransactionCreatedEvent> kafkaTemplate,
+                                RetryTiers retryTiers, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.retryTiers = retryTiers;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /*
+     * Hands a failed event to the given retry tier (0 for failures on the main topic), or to the DLT after the last tier.
+     * Waits for the broker ack: the caller commits the failed offset right after, so the event must not be lost.
+     */
+    public void forward(TransactionCreatedEvent event, int tier, Exception cause) {
+        forward(event, tier, cause, null);
+    }
+
+    // channels == null retries the whole event, otherwise only the named channels
+    public void forward(TransactionCreatedEvent event, int tier, Exception cause, String channels) {
+        boolean deadLetter = tier >= RetryTiers.TIER_COUNT;
+        String topic = deadLetter ? retryTiers.deadLetterTopic() : retryTiers.topic(tier);
+        long due = deadLetter ? 0L : System.currentTimeMillis() + retryTiers.delayMs(tier);
+
+        ProducerRecord<String, TransactionCreatedEvent> record =
+                new ProducerRecord<>(topic, String.valueOf(event.getUserId()), event);
+        record.headers().add(DUE_HEADER, ByteBuffer.allocate(Long.BYTES).putLong(due).array());
+        if (cause != null) {
+            record.headers().add(ERROR_HEADER, String.valueOf(cause.getMessage()).getBytes(StandardCharsets.UTF_8));
+        }
+        if (channels != null) {
+            record.headers().add(CHANNELS_HEADER, channels.getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+            kafkaTemplate.send(record).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while forwarding event " + event.getEventId(), e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to forward event " + event.getEventId() + " to " + topic, e);
+        }
+
+        if (deadLetter) {
+            meterRegistry.counter("notification.dlt.forwarded").increment();
+            log.error("☠️ Event moved to DLT: eventId={}, channels={}, cause={}",
+                    event.getEventId(), channels, cause != null ? cause.getMessage() : null);
+        } else {
+            meterRegistry.counter("notification.retry.forwarded", "tier", String.valueOf(tier)).increment();
+            log.warn("🔁 Event scheduled for retry: eventId={}, tier={}, channels={}, delayMs={}",
+                    event.getEventId(), tier, channels, retryTiers.delayMs(tier));
+        }
+    }
+
+    public static String channels(Headers headers) {
+        Header header = headers.lastHeader(CHANNELS_HEADER);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    public static long dueTime(Headers headers) {
+        Header header = headers.lastHeader(DUE_HEADER);
+        return header != null ? ByteBuffer.wrap(header.value()).getLong() : 0L;
+    }
+}
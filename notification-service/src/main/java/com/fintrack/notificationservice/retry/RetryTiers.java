@@ -0,0 +1,37 @@
+/*
+ * Non-blocking retry layout for transaction-created-events
+ * - Failed events are forwarded to transaction-created-events-retry-0..N-1, one topic per delay tier
+ * - Delays grow exponentially: initial-delay-ms * multiplier^tier
+ * - After the last tier the event is parked in transaction-created-events-dlt until replayed
+ */
+package com.fintrack.notificationservice.retry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component("retryTiers")
+public class RetryTiers {
+    public static final String MAIN_TOPIC = "transaction-created-events";
+    public static final int TIER_COUNT = 3;
+
+    private final long initialDelayMs;
+    private final double multiplier;
+
+    public RetryTiers(@Value("${notification.retry.initial-delay-ms:5000}") long initialDelayMs,
+                      @Value("${notification.retry.multiplier:6.0}") double multiplier) {
+        this.initialDelayMs = initialDelayMs;
+        this.multiplier = multiplier;
+    }
+
+    public String topic(int tier) {
+        return MAIN_TOPIC + "-retry-" + tier;
+    }
+
+    public String deadLetterTopic() {
+        return MAIN_TOPIC + "-dlt";
+    }
+
+    public long delayMs(int tier) {
+        return (long) (initialDelayMs * Math.pow(multiplier, tier));
+    }
+}
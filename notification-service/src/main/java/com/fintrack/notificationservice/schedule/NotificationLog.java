@@ -0,0 +1,209 @@
+package com.fintrack.notificationservice.schedule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Append-only log of scheduled notifications, replayed on startup
+ * - SCHEDULED (or REMINDER) records carry the full notification, DONE records only its id
+ * - A record is serialized completely before any byte of it reaches the log, so a bad notification can't tear it
+ * - Replay keeps every SCHEDULED id without a DONE; a torn record at the tail (crash mid-write) is truncated
+ * - compact() rewrites the log with just the pending notifications once DONE records dominate it
+ * Not thread-safe, NotificationScheduler serializes access.
+ */
+final class NotificationLog implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(NotificationLog.class);
+
+    private static final byte SCHEDULED = 1;
+    private static final byte DONE = 2;
+    private static final byte REMINDER = 3;
+    // writeUTF's limit on the encoded length of one string
+    private static final int MAX_UTF_BYTES = 65535;
+
+    private final Path path;
+    private FileOutputStream file;
+    private DataOutputStream out;
+    private long doneRecords;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(512);
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+
+    NotificationLog(Path path) {
+        this.path = path;
+    }
+
+    // Returns the notifications that were scheduled but never marked done, in log order
+    Collection<ScheduledNotification> open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Map<Long, ScheduledNotification> pending = new LinkedHashMap<>();
+        if (Files.exists(path)) {
+            long validBytes = 0;
+            try (CountingInputStream counter = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path)));
+                 DataInputStream in = new DataInputStream(counter)) {
+                while (true) {
+                    byte type = in.readByte();
+                    if (type == SCHEDULED || type == REMINDER) {
+                        ScheduledNotification notification = new ScheduledNotification(
+                                in.readLong(), in.readLong(), in.readUTF(), in.readUTF(), in.readUTF(), in.readLong(),
+                                type == REMINDER);
+                        pending.put(notification.getId(), notification);
+                    } else if (type == DONE) {
+                        pending.remove(in.readLong());
+                        doneRecords++;
+                    } else {
+                        log.warn("Unknown record type {} at offset {} in {}, ignoring the rest", type, validBytes, path);
+                        break;
+                    }
+                    validBytes = counter.count;
+                }
+            } catch (EOFException e) {
+                // Clean end of log, or a record torn by a crash
+            }
+            long size = Files.size(path);
+            if (size > validBytes) {
+                log.warn("Truncating {} bytes of incomplete records from {}", size - validBytes, path);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(validBytes);
+                }
+            }
+        }
+        this.file = new FileOutputStream(path.toFile(), true);
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+        return pending.values();
+    }
+
+    // Throws IllegalArgumentException, with nothing written, for a notification the log can't represent
+    void appendScheduled(ScheduledNotification notification) throws IOException {
+        validate(notification);
+        record.reset();
+        recordOut.writeByte(notification.isReminder() ? REMINDER : SCHEDULED);
+        recordOut.writeLong(notification.getId());
+        recordOut.writeLong(notification.getUserId());
+        recordOut.writeUTF(notification.getEmail());
+        recordOut.writeUTF(notification.getSubject());
+        recordOut.writeUTF(notification.getBody());
+        recordOut.writeLong(notification.getDueAt());
+        record.writeTo(out);
+    }
+
+    void appendDone(long id) throws IOException {
+        out.writeByte(DONE);
+        out.writeLong(id);
+        doneRecords++;
+    }
+
+    void flush(boolean fsync) throws IOException {
+        out.flush();
+        if (fsync) {
+            file.getFD().sync();
+        }
+    }
+
+    long doneRecords() {
+        return doneRecords;
+    }
+
+    void compact(Iterable<ScheduledNotification> pending) throws IOException {
+        out.flush();
+        Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileOutputStream compactFile = new FileOutputStream(tmp.toFile());
+             DataOutputStream compactOut = new DataOutputStream(new BufferedOutputStream(compactFile, 64 * 1024))) {
+            DataOutputStream previous = this.out;
+            this.out = compactOut;
+            try {
+                for (ScheduledNotification notification : pending) {
+                    appendScheduled(notification);
+                }
+            } finally {
+                this.out = previous;
+            }
+            compactOut.flush();
+            compactFile.getFD().sync();
+        }
+        out.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.file = new FileOutputStream(path.toFile(), true);
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+        doneRecords = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            flush(true);
+            out.close();
+        }
+    }
+
+    private static void validate(ScheduledNotification notification) {
+        requireWritable(notification, "email", notification.getEmail());
+        requireWritable(notification, "subject", notification.getSubject());
+        requireWritable(notification, "body", notification.getBody());
+    }
+
+    private static void requireWritable(ScheduledNotification notification, String field, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Scheduled notification " + notification.getId() + " has no " + field);
+        }
+        // Cheap bound first: a char takes at most 3 bytes in modified UTF-8
+        if (value.length() * 3L > MAX_UTF_BYTES && utfLength(value) > MAX_UTF_BYTES) {
+            throw new IllegalArgumentException("Scheduled notification " + notification.getId() + " " + field
+                    + " is too long to log");
+        }
+    }
+
+    private static long utfLength(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c > 0x07FF ? 3 : 2;
+        }
+        return length;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
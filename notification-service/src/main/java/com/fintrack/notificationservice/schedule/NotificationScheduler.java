@@ -0,0 +1,198 @@
+/*
+ * Deferred notification delivery (quiet hours, reminders)
+ * 1. schedule() appends the notification to the log, then puts it on the timing wheel (O(1))
+ * 2. Every tick, dispatchDue() advances the wheel and sends the expired notifications in batches,
+ *    outside the lock, then appends DONE records for them
+ * 3. On startup the log is replayed: pending notifications go back on the wheel, overdue ones are sent right away
+ * Delivery is at-least-once: a crash between sending and logging DONE resends on restart.
+ * Reminders are capped per user (pending ones only), so one user can't fill the wheel and the log.
+ */
+package com.fintrack.notificationservice.schedule;
+
+import com.fintrack.notificationservice.service.EmailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class NotificationScheduler {
+    private static final Logger log = LoggerFactory.getLogger(NotificationScheduler.class);
+
+    // EmailService schedules through this class, so it is looked up lazily to avoid a constructor cycle
+    private final ObjectProvider<EmailService> emailService;
+    private final NotificationLog notificationLog;
+    private final TimingWheel<ScheduledNotification> wheel;
+    private final List<ScheduledNotification> due = new ArrayList<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    // Pending reminders per user, guarded by this
+    private final Map<Long, Integer> pendingReminders = new HashMap<>();
+    private final int batchSize;
+    private final long retryDelayMs;
+    private final long compactAfterDoneRecords;
+    private final boolean fsync;
+    private final int maxRemindersPerUser;
+
+    public NotificationScheduler(ObjectProvider<EmailService> emailService, MeterRegistry meterRegistry,
+                                 @Value("${notification.scheduler.log-path:data/scheduled-notifications.log}") String logPath,
+                                 @Value("${notification.scheduler.tick-ms:100}") long tickMs,
+                                 @Value("${notification.scheduler.wheel-size:512}") int wheelSize,
+                                 @Value("${notification.scheduler.levels:4}") int levels,
+                                 @Value("${notification.scheduler.dispatch-batch-size:500}") int batchSize,
+                                 @Value("${notification.scheduler.retry-delay-ms:60000}") long retryDelayMs,
+                                 @Value("${notification.scheduler.compact-after-done-records:1000000}") long compactAfterDoneRecords,
+                                 @Value("${notification.scheduler.fsync:false}") boolean fsync,
+                                 @Value("${notification.scheduler.max-reminders-per-user:100}") int maxRemindersPerUser) {
+        this.emailService = emailService;
+        this.notificationLog = new NotificationLog(Paths.get(logPath));
+        this.wheel = new TimingWheel<>(tickMs, wheelSize, levels, System.currentTimeMillis());
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        this.compactAfterDoneRecords = compactAfterDoneRecords;
+        this.fsync = fsync;
+        this.maxRemindersPerUser = maxRemindersPerUser;
+        meterRegistry.gauge("notification.scheduler.pending", this, NotificationScheduler::pending);
+    }
+
+    @PostConstruct
+    public synchronized void recover() throws IOException {
+        int restored = 0;
+        for (ScheduledNotification notification : notificationLog.open()) {
+            nextId.accumulateAndGet(notification.getId() + 1, Math::max);
+            enqueue(notification);
+            restored++;
+        }
+        if (restored > 0) {
+            log.info("⏰ Restored {} scheduled notifications ({} overdue)", restored, due.size());
+        }
+    }
+
+    public long schedule(long userId, String email, String subject, String body, long dueAt) {
+        ScheduledNotification notification =
+                new ScheduledNotification(nextId.getAndIncrement(), userId, email, subject, body, dueAt);
+        synchronized (this) {
+            persist(notification);
+        }
+        return notification.getId();
+    }
+
+    // Returns the reminder's id, or empty if the user already has max-reminders-per-user pending
+    public OptionalLong scheduleReminder(long userId, String email, String subject, String body, long dueAt) {
+        ScheduledNotification notification =
+                new ScheduledNotification(nextId.getAndIncrement(), userId, email, subject, body, dueAt, true);
+        synchronized (this) {
+            if (pendingReminders.getOrDefault(userId, 0) >= maxRemindersPerUser) {
+                return OptionalLong.empty();
+            }
+            persist(notification);
+        }
+        return OptionalLong.of(notification.getId());
+    }
+
+    private void persist(ScheduledNotification notification) {
+        try {
+            notificationLog.appendScheduled(notification);
+            notificationLog.flush(fsync);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist scheduled notification for user " + notification.getUserId(), e);
+        }
+        enqueue(notification);
+    }
+
+    public synchronized int pending() {
+        return wheel.size() + due.size();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.scheduler.tick-ms:100}")
+    public void dispatchDue() {
+        while (true) {
+            List<ScheduledNotification> batch;
+            synchronized (this) {
+                wheel.advanceTo(System.currentTimeMillis(), node -> due.add(node.value));
+                if (due.isEmpty()) {
+                    return;
+                }
+                int count = Math.min(batchSize, due.size());
+                List<ScheduledNotification> head = due.subList(0, count);
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            dispatch(batch);
+        }
+    }
+
+    private void dispatch(List<ScheduledNotification> batch) {
+        List<ScheduledNotification> failed = new ArrayList<>();
+        EmailService sender = emailService.getObject();
+        for (ScheduledNotification notification : batch) {
+            try {
+                sender.sendNow(notification.getEmail(), notification.getSubject(), notification.getBody());
+            } catch (Exception e) {
+                log.warn("Scheduled notification {} failed, retrying in {} ms: {}", notification.getId(), retryDelayMs, e.getMessage());
+                failed.add(notification);
+            }
+        }
+
+        synchronized (this) {
+            try {
+                for (ScheduledNotification notification : batch) {
+                    notificationLog.appendDone(notification.getId());
+                    if (notification.isReminder()) {
+                        pendingReminders.computeIfPresent(notification.getUserId(), (userId, count) -> count > 1 ? count - 1 : null);
+                    }
+                }
+                // A failed notification is logged DONE and rescheduled under a new id, keeping the log append-only
+                for (ScheduledNotification notification : failed) {
+                    ScheduledNotification retry = new ScheduledNotification(nextId.getAndIncrement(),
+                            notification.getUserId(), notification.getEmail(), notification.getSubject(),
+                            notification.getBody(), System.currentTimeMillis() + retryDelayMs, notification.isReminder());
+                    notificationLog.appendScheduled(retry);
+                    enqueue(retry);
+                }
+                notificationLog.flush(fsync);
+                if (notificationLog.doneRecords() >= compactAfterDoneRecords) {
+                    compact();
+                }
+            } catch (IOException e) {
+                log.error("Failed to update scheduled notification log: {}", e.getMessage(), e);
+            }
+        }
+        log.debug("⏰ Dispatched {} scheduled notifications ({} failed)", batch.size(), failed.size());
+    }
+
+    private void enqueue(ScheduledNotification notification) {
+        if (notification.isReminder()) {
+            pendingReminders.merge(notification.getUserId(), 1, Integer::sum);
+        }
+        if (!wheel.add(new TimingWheel.Node<>(notification, notification.getDueAt()))) {
+            due.add(notification);
+        }
+    }
+
+    private void compact() throws IOException {
+        List<ScheduledNotification> pending = new ArrayList<>(due);
+        wheel.forEach(node -> pending.add(node.value));
+        notificationLog.compact(pending);
+        log.info("Compacted scheduled notification log to {} pending entries", pending.size());
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        notificationLog.close();
+    }
+}
@@ -0,0 +1,36 @@
+package com.fintrack.notificationservice.schedule;
+
+// An already-rendered notification waiting in the NotificationScheduler
+public class ScheduledNotification {
+    private final long id;
+    private final long userId;
+    private final String email;
+    private final String subject;
+    private final String body;
+    private final long dueAt;
+    // User-created reminder (counted against the per-user cap) rather than a quiet-hours deferral
+    private final boolean reminder;
+
+    public ScheduledNotification(long id, long userId, String email, String subject, String body, long dueAt) {
+        this(id, userId, email, subject, body, dueAt, false);
+    }
+
+    public ScheduledNotification(long id, long userId, String email, String subject, String body, long dueAt,
+                                 boolean reminder) {
+        this.id = id;
+        this.userId = userId;
+        this.email = email;
+        this.subject = subject;
+        this.body = body;
+        this.dueAt = dueAt;
+        this.reminder = reminder;
+    }
+
+    public long getId() { return id; }
+    public long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+    public long getDueAt() { return dueAt; }
+    public boolean isReminder() { return reminder; }
+}
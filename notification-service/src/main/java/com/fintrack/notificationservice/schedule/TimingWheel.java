@@ -0,0 +1,127 @@
+package com.fintrack.notificationservice.schedule;
+
+import java.util.function.Consumer;
+
+/*
+ * Hierarchical timing wheel (not thread-safe, NotificationScheduler guards it)
+ * - Level i has wheelSize buckets of tickMs * wheelSize^i each; an item goes to the lowest level whose span covers its delay
+ * - add is O(1): compute the bucket, push onto its linked list
+ * - advanceTo moves time forward one base tick at a time; when a higher level's bucket comes due its items cascade
+ *   down a level, and the items in the current level-0 bucket expire
+ * Items can expire up to one base tick early, the same trade-off Kafka's purgatory wheel makes.
+ * With the defaults (100 ms, 512 buckets, 4 levels) the wheel spans ~213 years; later items wait in the last bucket.
+ */
+final class TimingWheel<T> {
+    static final class Node<T> {
+        final T value;
+        final long dueAt;
+        private Node<T> next;
+
+        Node(T value, long dueAt) {
+            this.value = value;
+            this.dueAt = dueAt;
+        }
+    }
+
+    private final int wheelSize;
+    private final long[] tickMs;
+    private final long[] currentTime;
+    private final Node<T>[][] buckets;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long baseTickMs, int wheelSize, int levels, long startMs) {
+        this.wheelSize = wheelSize;
+        this.tickMs = new long[levels];
+        this.currentTime = new long[levels];
+        this.buckets = new Node[levels][];
+        for (int level = 0; level < levels; level++) {
+            tickMs[level] = level == 0 ? baseTickMs : tickMs[level - 1] * wheelSize;
+            currentTime[level] = startMs - Math.floorMod(startMs, tickMs[level]);
+            buckets[level] = new Node[wheelSize];
+        }
+    }
+
+    // Returns false if the node is already due; the caller dispatches it right away
+    boolean add(Node<T> node) {
+        if (node.dueAt < currentTime[0] + tickMs[0]) {
+            return false;
+        }
+        int top = tickMs.length - 1;
+        for (int level = 0; level <= top; level++) {
+            long span = tickMs[level] * wheelSize;
+            if (node.dueAt < currentTime[level] + span || level == top) {
+                long due = Math.min(node.dueAt, currentTime[level] + span - tickMs[level]);
+                int bucket = bucketFor(level, due);
+                node.next = buckets[level][bucket];
+                buckets[level][bucket] = node;
+                size++;
+                return true;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    void advanceTo(long now, Consumer<Node<T>> expired) {
+        int levels = tickMs.length;
+        boolean[] rolled = new boolean[levels];
+        while (currentTime[0] + tickMs[0] <= now) {
+            currentTime[0] += tickMs[0];
+            // Move every level's clock first, so cascaded items are re-added against up-to-date time
+            for (int level = 1; level < levels; level++) {
+                long levelTime = currentTime[0] - Math.floorMod(currentTime[0], tickMs[level]);
+                rolled[level] = levelTime != currentTime[level];
+                currentTime[level] = levelTime;
+            }
+            // Top-down, so cascaded items land in lower buckets before those are expired
+            for (int level = levels - 1; level > 0; level--) {
+                if (rolled[level]) {
+                    Node<T> node = detach(buckets[level], bucketFor(level, currentTime[level]));
+                    while (node != null) {
+                        Node<T> next = node.next;
+                        node.next = null;
+                        if (!add(node)) {
+                            expired.accept(node);
+                        }
+                        node = next;
+                    }
+                }
+            }
+            Node<T> node = detach(buckets[0], bucketFor(0, currentTime[0]));
+            while (node != null) {
+                Node<T> next = node.next;
+                node.next = null;
+                expired.accept(node);
+                node = next;
+            }
+        }
+    }
+
+    void forEach(Consumer<Node<T>> action) {
+        for (Node<T>[] level : buckets) {
+            for (Node<T> head : level) {
+                for (Node<T> node = head; node != null; node = node.next) {
+                    action.accept(node);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int bucketFor(int level, long time) {
+        return (int) Math.floorMod(time / tickMs[level], (long) wheelSize);
+    }
+
+    // Empties a bucket and returns its chain
+    private Node<T> detach(Node<T>[] heads, int bucket) {
+        Node<T> head = heads[bucket];
+        heads[bucket] = null;
+        for (Node<T> node = head; node != null; node = node.next) {
+            size--;
+        }
+        return head;
+    }
+}
@@ -0,0 +1,107 @@
+package com.fintrack.notificationservice.security;
+
+import com.fintrack.common.security.IdentityAssertion;
+import com.fintrack.common.security.JwtIdentity;
+import com.fintrack.common.security.JwtTokenService;
+import com.fintrack.notificationservice.dto.UserContext;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+ * Authenticates every user-facing /api/notifications request, like the user and transaction services do
+ * - With a gateway-signed X-User_Assertion (trust-gateway), the X-User_Id / X-User_Email headers are accepted only
+ *   if the assertion verifies
+ * - Otherwise the request needs a valid Bearer JWT
+ * - Anything else is rejected with 401; X-User_Id alone is never trusted
+ * The verified identity is stored as the "userContext" request attribute for the controllers.
+ * /api/notifications/dlt is left to its own admin token check.
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    public static final String USER_CONTEXT_ATTRIBUTE = "userContext";
+
+    private static final String PROTECTED_PREFIX = "/api/notifications/";
+    private static final String ADMIN_PREFIX = "/api/notifications/dlt";
+
+    private final JwtTokenService jwtTokenService;
+    private final IdentityAssertion identityAssertion;
+    private final boolean trustGateway;
+
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, IdentityAssertion identityAssertion,
+                                   @Value("${internal-auth.trust-gateway:true}") boolean trustGateway) {
+        this.jwtTokenService = jwtTokenService;
+        this.identityAssertion = identityAssertion;
+        this.trustGateway = trustGateway;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(PROTECTED_PREFIX) || path.startsWith(ADMIN_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Trusted-internal mode: the gateway already verified the JWT and signed the identity headers
+        final String assertion = request.getHeader(IdentityAssertion.ASSERTION_HEADER);
+        if (trustGateway && assertion != null) {
+            String userIdHeader = request.getHeader(IdentityAssertion.USER_ID_HEADER);
+            String email = request.getHeader(IdentityAssertion.USER_EMAIL_HEADER);
+            if (!identityAssertion.verify(assertion, userIdHeader, email, System.currentTimeMillis())) {
+                log.warn("Gateway identity assertion rejected");
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            authenticate(request, Long.valueOf(userIdHeader), email);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        final JwtIdentity identity;
+        try {
+            // Signature, expiry and claims in one parse
+            identity = jwtTokenService.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("JWT token validation failed - token is invalid or expired: {}", e.getMessage());
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (identity.getUserId() == null) {
+            log.warn("JWT token has no userId claim");
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        authenticate(request, identity.getUserId(), identity.getSubject());
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request, Long userId, String email) {
+        UserContext userContext = UserContext.builder()
+                .userId(userId)
+                .email(email)
+                .build();
+        request.setAttribute(USER_CONTEXT_ATTRIBUTE, userContext);
+        log.debug("Authenticated user: userId={}, email={}", userId, email);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fintrack.notificationservice.service;
+
+import com.fintrack.notificationservice.alert.AlertRuleEngine;
+import com.fintrack.notificationservice.dto.AlertRuleRequest;
+import com.fintrack.notificationservice.dto.AlertRuleResponse;
+import com.fintrack.notificationservice.entity.AlertRule;
+import com.fintrack.notificationservice.repository.AlertRuleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class AlertRuleService {
+    private static final Logger log = LoggerFactory.getLogger(AlertRuleService.class);
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final AlertRuleEngine alertRuleEngine;
+
+    public AlertRuleService(AlertRuleRepository alertRuleRepository, AlertRuleEngine alertRuleEngine) {
+        this.alertRuleRepository = alertRuleRepository;
+        this.alertRuleEngine = alertRuleEngine;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AlertRuleResponse> getRules(Long userId) {
+        return alertRuleRepository.findByUserIdAndActiveTrue(userId).stream()
+                .map(AlertRuleResponse::from)
+                .toList();
+    }
+
+    @Transactional
+    public AlertRuleResponse createRule(Long userId, AlertRuleRequest request) {
+        AlertRule rule = new AlertRule();
+        rule.setUserId(userId);
+        apply(rule, request);
+
+        AlertRule saved = alertRuleRepository.saveAndFlush(rule);
+        alertRuleEngine.invalidate(userId);
+        log.info("Alert rule created: id={}, userId={}", saved.getId(), userId);
+        return AlertRuleResponse.from(saved);
+    }
+
+    @Transactional
+    public AlertRuleResponse updateRule(Long userId, Long ruleId, AlertRuleRequest request) {
+        AlertRule rule = findOwnedRule(userId, ruleId);
+        apply(rule, request);
+
+        AlertRule saved = alertRuleRepository.saveAndFlush(rule);
+        alertRuleEngine.invalidate(userId);
+        return AlertRuleResponse.from(saved);
+    }
+
+    @Transactional
+    public void deleteRule(Long userId, Long ruleId) {
+        AlertRule rule = findOwnedRule(userId, ruleId);
+        rule.setActive(false);
+
+        alertRuleRepository.saveAndFlush(rule);
+        alertRuleEngine.invalidate(userId);
+        log.info("Alert rule deleted: id={}, userId={}", ruleId, userId);
+    }
+
+    private AlertRule findOwnedRule(Long userId, Long ruleId) {
+        return alertRuleRepository.findByIdAndUserIdAndActiveTrue(ruleId, userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Alert rule not found: " + ruleId));
+    }
+
+    private void apply(AlertRule rule, AlertRuleRequest request) {
+        if ((request.getSpendLimit() == null) != (request.getWindowHours() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "spendLimit and windowHours must be set together");
+        }
+        rule.setName(request.getName());
+        rule.setTransactionType(request.getTransactionType());
+        rule.setCategory(request.getCategory() != null ? request.getCategory().toUpperCase(Locale.ROOT) : null);
+        rule.setMerchant(request.getMerchant());
+        rule.setMinAmount(request.getMinAmount());
+        rule.setSpendLimit(request.getSpendLimit());
+        rule.setWindowHours(request.getWindowHours());
+    }
+}
@@ -1,26 +1,53 @@
 package com.fintrack.notificationservice.service;
 
+import com.fintrack.notificationservice.mail.MailDeliveryEngine;
+import com.fintrack.notificationservice.mail.OutgoingMail;
+import com.fintrack.notificationservice.schedule.NotificationScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.util.function.Consumer;
 
 @Service
 public class EmailService {
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    public void sendTransactionNotification(String email, String type, BigDecimal amount, 
-                                           String category, String merchant) {
-        // SIMPLE: Just log for now (sufficient for resume purposes)
-        String message = String.format(
-            "💰 Transaction Alert: %s of $%.2f for %s%s",
-            type, amount, category, 
-            merchant != null ? " at " + merchant : ""
-        );
-        
-        log.info("📧 Sending email to {}: {}", email, message);
-        
-        // This demonstrates the pipeline works - can add real JavaMailSender later if needed
+    private final MailDeliveryEngine deliveryEngine;
+    private final NotificationPreferenceService preferenceService;
+    private final NotificationScheduler scheduler;
+
+    public EmailService(MailDeliveryEngine deliveryEngine, NotificationPreferenceService preferenceService,
+                        NotificationScheduler scheduler) {
+        this.deliveryEngine = deliveryEngine;
+        this.preferenceService = preferenceService;
+        this.scheduler = scheduler;
+    }
+
+    // onFailure is told if the SMTP engine gives up on the mail after accepting it
+    public void send(long userId, String email, String subject, String message, Consumer<Exception> onFailure) {
+        // Inside the user's quiet hours: hold the rendered message until they end (the scheduler retries on its own)
+        Long quietUntil = preferenceService.quietHoursEnd(userId, System.currentTimeMillis());
+        if (quietUntil != null) {
+            scheduler.schedule(userId, email, subject, message, quietUntil);
+            log.debug("🌙 Deferred email to {} until quiet hours end at {}", email, quietUntil);
+            return;
+        }
+        sendNow(email, subject, message, onFailure);
+    }
+
+    // Sends immediately, also used by NotificationScheduler for deferred notifications and reminders
+    public void sendNow(String email, String subject, String message) {
+        sendNow(email, subject, message, null);
+    }
+
+    private void sendNow(String email, String subject, String message, Consumer<Exception> onFailure) {
+        if (!deliveryEngine.isEnabled()) {
+            // No SMTP configured: log only (sufficient to demonstrate the pipeline)
+            log.info("📧 Sending email to {}: {}", email, message);
+            return;
+        }
+        deliveryEngine.submit(new OutgoingMail(email, subject, message, onFailure));
+        log.debug("📧 Queued email to {}: {}", email, message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package com.fintrack.notificationservice.service;
+
+import com.fintrack.notificationservice.channel.NotificationMessage;
+import com.fintrack.notificationservice.dto.InboxNotificationResponse;
+import com.fintrack.notificationservice.dto.InboxPageResponse;
+import com.fintrack.notificationservice.entity.InboxNotification;
+import com.fintrack.notificationservice.inbox.UnreadCounters;
+import com.fintrack.notificationservice.repository.InboxNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Persistent in-app inbox
+ * - Writes arrive in batches from the in-app channel bulkhead and are inserted with one multi-row statement,
+ *   so a burst costs one round trip, not one per event
+ * - (user_id, event_id) is unique and the insert skips conflicts: a redelivered event is stored once
+ *   and the unread counters only count the rows actually inserted
+ * - Reads are keyset-paginated on (user_id, id): stable under concurrent appends, no OFFSET scans
+ * - Read/unread changes are single bulk UPDATEs; their row counts keep the in-memory unread counters exact
+ * Counters are adjusted only after the transaction commits.
+ */
+@Service
+public class InboxService {
+    private static final Logger log = LoggerFactory.getLogger(InboxService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final InboxNotificationRepository inboxRepository;
+    private final UnreadCounters unreadCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notification.inbox.retention-days:90}")
+    private int retentionDays;
+
+    public InboxService(InboxNotificationRepository inboxRepository, UnreadCounters unreadCounters,
+                        PlatformTransactionManager transactionManager) {
+        this.inboxRepository = inboxRepository;
+        this.unreadCounters = unreadCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Throws on failure so the channel bulkhead retries the whole batch (one statement, so never half-written)
+    public void append(List<NotificationMessage> batch) {
+        List<InboxNotification> notifications = new ArrayList<>(batch.size());
+        for (NotificationMessage message : batch) {
+            notifications.add(new InboxNotification(message.getUserId(), message.getKind(),
+                    truncate(message.getSubject(), 200), truncate(message.getBody(), 2000), message.getEventId()));
+        }
+
+        List<Long> inserted = inboxRepository.insertIgnoringDuplicates(notifications, LocalDateTime.now());
+        Map<Long, Long> perUser = new HashMap<>();
+        for (Long userId : inserted) {
+            perUser.merge(userId, 1L, Long::sum);
+        }
+        perUser.forEach(unreadCounters::add);
+        log.debug("📥 Appended {} inbox notifications for {} users ({} duplicates skipped)",
+                inserted.size(), perUser.size(), notifications.size() - inserted.size());
+    }
+
+    public InboxPageResponse getPage(Long userId, Long cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells whether there is a next page
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<InboxNotification> rows = cursor == null
+                ? inboxRepository.findByUserIdOrderByIdDesc(userId, page)
+                : inboxRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, cursor, page);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<InboxNotificationResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(InboxNotificationResponse::from)
+                .toList();
+        Long nextCursor = hasMore ? items.get(items.size() - 1).getId() : null;
+        return new InboxPageResponse(items, nextCursor, unreadCount(userId));
+    }
+
+    public long unreadCount(Long userId) {
+        return unreadCounters.get(userId, () -> inboxRepository.countByUserIdAndReadAtIsNull(userId));
+    }
+
+    public long markRead(Long userId, List<Long> ids) {
+        Integer changed = transactionTemplate.execute(status ->
+                inboxRepository.markRead(userId, ids, LocalDateTime.now()));
+        unreadCounters.add(userId, -changed);
+        return unreadCount(userId);
+    }
+
+    public long markUnread(Long userId, List<Long> ids) {
+        Integer changed = transactionTemplate.execute(status -> inboxRepository.markUnread(userId, ids));
+        unreadCounters.add(userId, changed);
+        return unreadCount(userId);
+    }
+
+    // upToId bounds the update to what the client has seen; notifications arriving meanwhile stay unread
+    public long markAllRead(Long userId, Long upToId) {
+        long bound = upToId != null ? upToId : Long.MAX_VALUE;
+        Integer changed = transactionTemplate.execute(status ->
+                inboxRepository.markAllRead(userId, bound, LocalDateTime.now()));
+        unreadCounters.add(userId, -changed);
+        return unreadCount(userId);
+    }
+
+    @Scheduled(cron = "${notification.inbox.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> inboxRepository.deleteCreatedBefore(cutoff));
+        if (deleted > 0) {
+            // Purged rows may have been unread; recount lazily
+            unreadCounters.clear();
+            log.info("🧹 Purged {} inbox notifications older than {} days", deleted, retentionDays);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,159 @@
+package com.fintrack.notificationservice.service;
+
+import com.fintrack.notificationservice.channel.WebhookUrlValidator;
+import com.fintrack.notificationservice.dto.NotificationPreferenceRequest;
+import com.fintrack.notificationservice.dto.NotificationPreferenceResponse;
+import com.fintrack.notificationservice.entity.NotificationPreference;
+import com.fintrack.notificationservice.repository.NotificationPreferenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Per-user notification preferences, read on the hot path through a short-lived in-memory cache
+ * (users without a row get the defaults: no quiet hours)
+ */
+@Service
+public class NotificationPreferenceService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationPreferenceService.class);
+
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final WebhookUrlValidator webhookUrlValidator;
+    private final Map<Long, CachedPreference> cache = new ConcurrentHashMap<>();
+    private final long cacheTtlMs;
+    private final int cacheMaxUsers;
+
+    public NotificationPreferenceService(NotificationPreferenceRepository preferenceRepository,
+                                         WebhookUrlValidator webhookUrlValidator,
+                                         @Value("${notification.preferences.cache-ttl-ms:60000}") long cacheTtlMs,
+                                         @Value("${notification.preferences.cache-max-users:100000}") int cacheMaxUsers) {
+        this.preferenceRepository = preferenceRepository;
+        this.webhookUrlValidator = webhookUrlValidator;
+        this.cacheTtlMs = cacheTtlMs;
+        this.cacheMaxUsers = cacheMaxUsers;
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationPreferenceResponse getPreferences(Long userId) {
+        return NotificationPreferenceResponse.from(load(userId));
+    }
+
+    @Transactional
+    public NotificationPreferenceResponse updatePreferences(Long userId, NotificationPreferenceRequest request) {
+        if ((request.getQuietHoursStart() == null) != (request.getQuietHoursEnd() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quietHoursStart and quietHoursEnd must be set together");
+        }
+        try {
+            ZoneId.of(request.getTimeZone());
+        } catch (DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown time zone: " + request.getTimeZone());
+        }
+
+        boolean webhookEnabled = request.getWebhookEnabled() != null && request.getWebhookEnabled();
+        if (webhookEnabled && request.getWebhookUrl() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "webhookUrl is required to enable webhooks");
+        }
+        if (request.getWebhookUrl() != null) {
+            try {
+                webhookUrlValidator.validate(request.getWebhookUrl());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "webhookUrl rejected: " + e.getMessage());
+            }
+        }
+
+        NotificationPreference preference = load(userId);
+        preference.setQuietHoursStart(request.getQuietHoursStart());
+        preference.setQuietHoursEnd(request.getQuietHoursEnd());
+        preference.setTimeZone(request.getTimeZone());
+        if (request.getEmailEnabled() != null) {
+            preference.setEmailEnabled(request.getEmailEnabled());
+        }
+        if (request.getInAppEnabled() != null) {
+            preference.setInAppEnabled(request.getInAppEnabled());
+        }
+        if (request.getWebhookEnabled() != null) {
+            preference.setWebhookEnabled(request.getWebhookEnabled());
+        }
+        preference.setWebhookUrl(request.getWebhookUrl());
+        NotificationPreference saved = preferenceRepository.save(preference);
+
+        cache.remove(userId);
+        log.info("Notification preferences updated: userId={}", userId);
+        return NotificationPreferenceResponse.from(saved);
+    }
+
+    // If the user is inside quiet hours right now, returns when they end (epoch ms), otherwise null
+    public Long quietHoursEnd(Long userId, long nowMs) {
+        NotificationPreference preference = preferencesFor(userId);
+        LocalTime start = preference.getQuietHoursStart();
+        LocalTime end = preference.getQuietHoursEnd();
+        if (start == null || end == null || start.equals(end)) {
+            return null;
+        }
+
+        ZonedDateTime now = ZonedDateTime.ofInstant(Instant.ofEpochMilli(nowMs), ZoneId.of(preference.getTimeZone()));
+        LocalTime time = now.toLocalTime();
+        boolean overnight = end.isBefore(start);
+        boolean quiet = overnight
+                ? !time.isBefore(start) || time.isBefore(end)
+                : !time.isBefore(start) && time.isBefore(end);
+        if (!quiet) {
+            return null;
+        }
+        // Past midnight already (or same-day window): quiet hours end today, otherwise tomorrow
+        ZonedDateTime endsAt = now.with(end);
+        if (overnight && !time.isBefore(start)) {
+            endsAt = endsAt.plusDays(1);
+        }
+        return endsAt.toInstant().toEpochMilli();
+    }
+
+    // Cached; falls back to the defaults (email + in-app, no quiet hours) if preferences cannot be loaded
+    public NotificationPreference preferencesFor(Long userId) {
+        try {
+            return cached(userId);
+        } catch (RuntimeException e) {
+            log.warn("Could not load preferences for userId={}, using defaults: {}", userId, e.getMessage());
+            return new NotificationPreference(userId);
+        }
+    }
+
+    private NotificationPreference cached(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedPreference entry = cache.get(userId);
+        if (entry == null || entry.expiresAt < now) {
+            if (cache.size() >= cacheMaxUsers) {
+                cache.clear();
+            }
+            entry = new CachedPreference(load(userId), now + cacheTtlMs);
+            cache.put(userId, entry);
+        }
+        return entry.preference;
+    }
+
+    private NotificationPreference load(Long userId) {
+        return preferenceRepository.findById(userId).orElseGet(() -> new NotificationPreference(userId));
+    }
+
+    private static final class CachedPreference {
+        private final NotificationPreference preference;
+        private final long expiresAt;
+
+        private CachedPreference(NotificationPreference preference, long expiresAt) {
+            this.preference = preference;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fintrack.notificationservice.state;
+
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Hands partition state to the next owner through the local disk
+ * - release: writes the partition's state to <dir>/<store>-<topic>-<partition>.state
+ * - restore: loads and deletes that file if it is younger than maxAgeMs, otherwise starts empty
+ * With static membership a restarted instance gets its own partitions back, so it picks up where it stopped
+ * instead of rebuilding from scratch. The age limit keeps an instance from restoring a partition that was
+ * owned (and changed) elsewhere in the meantime.
+ */
+public class FilePartitionStateHandoff<S> implements PartitionStateHandoff<S> {
+    private static final Logger log = LoggerFactory.getLogger(FilePartitionStateHandoff.class);
+
+    private static final int MAGIC = 0x46545053; // "FTPS"
+
+    public interface Codec<S> {
+        void write(DataOutputStream out, S state) throws IOException;
+
+        S read(DataInputStream in) throws IOException;
+    }
+
+    private final Path directory;
+    private final String storeName;
+    private final Codec<S> codec;
+    private final long maxAgeMs;
+
+    public FilePartitionStateHandoff(Path directory, String storeName, Codec<S> codec, long maxAgeMs) {
+        this.directory = directory;
+        this.storeName = storeName;
+        this.codec = codec;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    @Override
+    public Map<Long, S> restore(TopicPartition partition) {
+        Path file = fileFor(partition);
+        Map<Long, S> state = new HashMap<>();
+        if (!Files.exists(file)) {
+            return state;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Unrecognized state file format");
+            }
+            long writtenAt = in.readLong();
+            if (System.currentTimeMillis() - writtenAt > maxAgeMs) {
+                log.info("Ignoring stale {} state for {} ({} ms old)", storeName, partition, System.currentTimeMillis() - writtenAt);
+            } else {
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    state.put(in.readLong(), codec.read(in));
+                }
+                log.info("Restored {} {} entries for {}", count, storeName, partition);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to restore {} state for {}, starting empty: {}", storeName, partition, e.getMessage());
+            state.clear();
+        }
+        deleteQuietly(file);
+        return state;
+    }
+
+    @Override
+    public void release(TopicPartition partition, Map<Long, S> state) {
+        Path file = fileFor(partition);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(state.size());
+                for (Map.Entry<Long, S> entry : state.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    codec.write(out, entry.getValue());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to hand off {} state for {}: {}", storeName, partition, e.getMessage());
+        }
+    }
+
+    private Path fileFor(TopicPartition partition) {
+        return directory.resolve(storeName + "-" + partition.topic() + "-" + partition.partition() + ".state");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.fintrack.notificationservice.state;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Collection;
+
+/*
+ * State that lives with the partitions a consumer owns.
+ * PartitionStateRebalanceListener forwards the container's assignment callbacks to every bean of this type.
+ */
+public interface PartitionAwareState {
+    void onPartitionsAssigned(Collection<TopicPartition> partitions);
+
+    // Called on the consumer thread before the container commits, e.g. to drain in-flight work and commit it
+    default void beforePartitionsRevoked(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+    }
+
+    void onPartitionsRevoked(Collection<TopicPartition> partitions);
+
+    // Lost partitions may already be owned elsewhere, so by default they are dropped like revoked ones
+    default void onPartitionsLost(Collection<TopicPartition> partitions) {
+        onPartitionsRevoked(partitions);
+    }
+}
@@ -0,0 +1,75 @@
+package com.fintrack.notificationservice.state;
+
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+ * Per-user state, sharded by the partition the user's events arrive on.
+ * - Events are keyed by userId, so every user maps to exactly one partition
+ * - A user's state is only touched by one thread at a time (the partition's consumer thread, or the
+ *   user's worker lane in parallel mode); the maps themselves are concurrent because parallel lanes
+ *   add different users to the same partition map
+ * - State follows the partition through assignment callbacks (see PartitionStateHandoff)
+ */
+public class PartitionLocalStore<S> implements PartitionAwareState {
+    private static final Logger log = LoggerFactory.getLogger(PartitionLocalStore.class);
+
+    private final String name;
+    private final Supplier<S> initialState;
+    private final PartitionStateHandoff<S> handoff;
+    private final Map<TopicPartition, Map<Long, S>> partitions = new ConcurrentHashMap<>();
+
+    public PartitionLocalStore(String name, Supplier<S> initialState) {
+        this(name, initialState, PartitionStateHandoff.discard());
+    }
+
+    public PartitionLocalStore(String name, Supplier<S> initialState, PartitionStateHandoff<S> handoff) {
+        this.name = name;
+        this.initialState = initialState;
+        this.handoff = handoff;
+    }
+
+    public S get(TopicPartition partition, long userId) {
+        return partitions.computeIfAbsent(partition, this::restore)
+                .computeIfAbsent(userId, id -> initialState.get());
+    }
+
+    public Map<Long, S> partition(TopicPartition partition) {
+        Map<Long, S> state = partitions.get(partition);
+        return state != null ? Collections.unmodifiableMap(state) : Collections.emptyMap();
+    }
+
+    public int size() {
+        return partitions.values().stream().mapToInt(Map::size).sum();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> assigned) {
+        for (TopicPartition partition : assigned) {
+            partitions.computeIfAbsent(partition, this::restore);
+        }
+        log.debug("State store {} assigned partitions {}", name, assigned);
+    }
+
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+        for (TopicPartition partition : revoked) {
+            Map<Long, S> state = partitions.remove(partition);
+            if (state != null) {
+                handoff.release(partition, state);
+            }
+        }
+        log.debug("State store {} released partitions {}", name, revoked);
+    }
+
+    private Map<Long, S> restore(TopicPartition partition) {
+        return new ConcurrentHashMap<>(handoff.restore(partition));
+    }
+}
@@ -0,0 +1,31 @@
+package com.fintrack.notificationservice.state;
+
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Hooks for moving a partition's state between consumers on rebalance.
+ * - restore: called when a partition is assigned, returns the state to start from
+ * - release: called when a partition is revoked, gets the state this consumer built up
+ */
+public interface PartitionStateHandoff<S> {
+    Map<Long, S> restore(TopicPartition partition);
+
+    void release(TopicPartition partition, Map<Long, S> state);
+
+    // Default: start empty and discard on revoke, the new owner rebuilds from the records it consumes
+    static <S> PartitionStateHandoff<S> discard() {
+        return new PartitionStateHandoff<>() {
+            @Override
+            public Map<Long, S> restore(TopicPartition partition) {
+                return new HashMap<>();
+            }
+
+            @Override
+            public void release(TopicPartition partition, Map<Long, S> state) {
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.fintrack.notificationservice.state;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+@Component
+public class PartitionStateRebalanceListener implements ConsumerAwareRebalanceListener {
+    private static final Logger log = LoggerFactory.getLogger(PartitionStateRebalanceListener.class);
+
+    private final List<PartitionAwareState> states;
+
+    public PartitionStateRebalanceListener(List<PartitionAwareState> states) {
+        this.states = states;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        log.info("Partitions assigned: {}", partitions);
+        states.forEach(state -> state.onPartitionsAssigned(partitions));
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        states.forEach(state -> state.beforePartitionsRevoked(consumer, partitions));
+    }
+
+    // After commit, so the offsets of everything folded into the state are already stored
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        log.info("Partitions revoked: {}", partitions);
+        states.forEach(state -> state.onPartitionsRevoked(partitions));
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        log.warn("Partitions lost: {}", partitions);
+        states.forEach(state -> state.onPartitionsLost(partitions));
+    }
+}
@@ -0,0 +1,69 @@
+package com.fintrack.notificationservice.state;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/*
+ * Running per-user view built from that user's transaction events (partition-local, see PartitionLocalStore)
+ */
+public class UserActivity {
+    // Used by FilePartitionStateHandoff to carry the state across a restart
+    public static final FilePartitionStateHandoff.Codec<UserActivity> CODEC = new FilePartitionStateHandoff.Codec<>() {
+        @Override
+        public void write(DataOutputStream out, UserActivity activity) throws IOException {
+            activity.writeTo(out);
+        }
+
+        @Override
+        public UserActivity read(DataInputStream in) throws IOException {
+            return readFrom(in);
+        }
+    };
+
+    private long eventCount;
+    private Long lastTransactionId;
+    private LocalDateTime lastEventTimestamp;
+
+    // Returns false if the event is older than the last one applied for this user
+    public boolean record(Long transactionId, LocalDateTime eventTimestamp) {
+        boolean inOrder = lastEventTimestamp == null
+                || eventTimestamp == null
+                || !eventTimestamp.isBefore(lastEventTimestamp);
+
+        eventCount++;
+        lastTransactionId = transactionId;
+        if (inOrder && eventTimestamp != null) {
+            lastEventTimestamp = eventTimestamp;
+        }
+        return inOrder;
+    }
+
+    private void writeTo(DataOutputStream out) throws IOException {
+        out.writeLong(eventCount);
+        out.writeLong(lastTransactionId != null ? lastTransactionId : -1L);
+        out.writeLong(lastEventTimestamp != null ? lastEventTimestamp.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE);
+        out.writeInt(lastEventTimestamp != null ? lastEventTimestamp.getNano() : 0);
+    }
+
+    private static UserActivity readFrom(DataInputStream in) throws IOException {
+        UserActivity activity = new UserActivity();
+        activity.eventCount = in.readLong();
+        long transactionId = in.readLong();
+        activity.lastTransactionId = transactionId >= 0 ? transactionId : null;
+        long epochSecond = in.readLong();
+        int nano = in.readInt();
+        activity.lastEventTimestamp = epochSecond != Long.MIN_VALUE
+                ? LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC)
+                : null;
+        return activity;
+    }
+
+    public long getEventCount() { return eventCount; }
+
+    public Long getLastTransactionId() { return lastTransactionId; }
+
+    public LocalDateTime getLastEventTimestamp() { return lastEventTimestamp; }
+}
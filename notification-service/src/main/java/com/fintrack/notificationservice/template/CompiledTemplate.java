@@ -0,0 +1,134 @@
+/*
+ * Notification template parsed once into a flat list of segments
+ * Syntax:
+ *   {name}          value as text
+ *   {name:money}    value as locale currency
+ *   {name:number}   value as locale number
+ *   {name?prefix}   prefix + value, or nothing when the value is null
+ * Placeholder names are resolved to argument positions at compile time, so rendering is a single pass with no lookups.
+ */
+package com.fintrack.notificationservice.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+public final class CompiledTemplate {
+    private static final int LITERAL = 0;
+    private static final int TEXT = 1;
+    private static final int MONEY = 2;
+    private static final int NUMBER = 3;
+    private static final int OPTIONAL = 4;
+
+    private final int[] kinds;
+    private final int[] argIndexes;
+    private final String[] literals;
+    private final int arity;
+
+    private CompiledTemplate(int[] kinds, int[] argIndexes, String[] literals, int arity) {
+        this.kinds = kinds;
+        this.argIndexes = argIndexes;
+        this.literals = literals;
+        this.arity = arity;
+    }
+
+    public static CompiledTemplate compile(String source, String... parameterNames) {
+        List<String> names = Arrays.asList(parameterNames);
+        List<Integer> kinds = new ArrayList<>();
+        List<Integer> argIndexes = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int open = source.indexOf('{', pos);
+            if (open < 0) {
+                open = source.length();
+            }
+            if (open > pos) {
+                kinds.add(LITERAL);
+                argIndexes.add(-1);
+                literals.add(source.substring(pos, open));
+            }
+            if (open == source.length()) {
+                break;
+            }
+            int close = source.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at " + open + " in template: " + source);
+            }
+
+            String placeholder = source.substring(open + 1, close);
+            int kind = TEXT;
+            String name = placeholder;
+            String extra = null;
+            int optional = placeholder.indexOf('?');
+            int colon = placeholder.indexOf(':');
+            if (optional >= 0) {
+                kind = OPTIONAL;
+                name = placeholder.substring(0, optional);
+                extra = placeholder.substring(optional + 1);
+            } else if (colon >= 0) {
+                name = placeholder.substring(0, colon);
+                String format = placeholder.substring(colon + 1);
+                if ("money".equals(format)) {
+                    kind = MONEY;
+                } else if ("number".equals(format)) {
+                    kind = NUMBER;
+                } else {
+                    throw new IllegalArgumentException("Unknown format '" + format + "' in template: " + source);
+                }
+            }
+            int argIndex = names.indexOf(name);
+            if (argIndex < 0) {
+                throw new IllegalArgumentException("Unknown placeholder '" + name + "' in template: " + source);
+            }
+            kinds.add(kind);
+            argIndexes.add(argIndex);
+            literals.add(extra);
+            pos = close + 1;
+        }
+
+        return new CompiledTemplate(
+                kinds.stream().mapToInt(Integer::intValue).toArray(),
+                argIndexes.stream().mapToInt(Integer::intValue).toArray(),
+                literals.toArray(new String[0]),
+                parameterNames.length);
+    }
+
+    public void render(StringBuilder out, Locale locale, Object... args) {
+        if (args.length != arity) {
+            throw new IllegalArgumentException("Template expects " + arity + " arguments, got " + args.length);
+        }
+        for (int i = 0; i < kinds.length; i++) {
+            int kind = kinds[i];
+            if (kind == LITERAL) {
+                out.append(literals[i]);
+                continue;
+            }
+            Object value = args[argIndexes[i]];
+            switch (kind) {
+                case MONEY -> {
+                    if (value != null) {
+                        LocaleFormatters.appendCurrency(out, value, locale);
+                    } else {
+                        out.append("null");
+                    }
+                }
+                case NUMBER -> {
+                    if (value != null) {
+                        LocaleFormatters.appendNumber(out, value, locale);
+                    } else {
+                        out.append("null");
+                    }
+                }
+                case OPTIONAL -> {
+                    if (value != null) {
+                        out.append(literals[i]).append(value);
+                    }
+                }
+                default -> out.append(value);
+            }
+        }
+    }
+}
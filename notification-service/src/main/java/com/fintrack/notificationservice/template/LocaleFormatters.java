@@ -0,0 +1,34 @@
+/*
+ * Per-thread cache of locale-specific number formatters
+ * NumberFormat is expensive to create and not thread-safe, so each thread builds one per locale on first use and reuses it.
+ */
+package com.fintrack.notificationservice.template;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+final class LocaleFormatters {
+    private static final ThreadLocal<Map<Locale, NumberFormat>> CURRENCY = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<Locale, NumberFormat>> NUMBER = ThreadLocal.withInitial(HashMap::new);
+
+    private LocaleFormatters() {
+    }
+
+    static void appendCurrency(StringBuilder out, Object value, Locale locale) {
+        NumberFormat format = CURRENCY.get().computeIfAbsent(locale, NumberFormat::getCurrencyInstance);
+        out.append(format.format(value instanceof BigDecimal ? value : new BigDecimal(value.toString())));
+    }
+
+    static void appendNumber(StringBuilder out, Object value, Locale locale) {
+        if (value instanceof Integer || value instanceof Long) {
+            // Integral counts need no formatter
+            out.append(((Number) value).longValue());
+            return;
+        }
+        NumberFormat format = NUMBER.get().computeIfAbsent(locale, NumberFormat::getNumberInstance);
+        out.append(format.format(value));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Notification message templates, compiled once at startup
+ * Rendering appends into a per-thread reusable buffer; only the final String is allocated per message.
+ */
+package com.fintrack.notificationservice.template;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+@Component
+public class NotificationTemplates {
+    private static final int MAX_RETAINED_BUFFER = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    static final String DEFAULT_TRANSACTION_ALERT =
+            "💰 Transaction Alert: {type} of {amount:money} for {category}{merchant? at }";
+    static final String DEFAULT_DIGEST =
+            "📊 Transaction Digest: {count:number} transactions, income {income:money}, expenses {expense:money}"
+                    + "{category?, largest expense in }";
+
+    private final Locale locale;
+    private final CompiledTemplate transactionAlert;
+    private final CompiledTemplate digest;
+
+    public NotificationTemplates(@Value("${notification.templates.locale:en-US}") String locale,
+                                 @Value("${notification.templates.transaction-alert:}") String transactionAlert,
+                                 @Value("${notification.templates.digest:}") String digest) {
+        this.locale = Locale.forLanguageTag(locale);
+        // Compile eagerly so a broken template fails startup, not the first event
+        this.transactionAlert = CompiledTemplate.compile(
+                transactionAlert.isEmpty() ? DEFAULT_TRANSACTION_ALERT : transactionAlert,
+                "type", "amount", "category", "merchant");
+        this.digest = CompiledTemplate.compile(
+                digest.isEmpty() ? DEFAULT_DIGEST : digest,
+                "count", "income", "expense", "category");
+    }
+
+    public String transactionAlert(String type, BigDecimal amount, String category, String merchant) {
+        StringBuilder out = buffer();
+        transactionAlert.render(out, locale, type, amount, category, merchant);
+        return out.toString();
+    }
+
+    public String digest(int transactionCount, BigDecimal totalIncome, BigDecimal totalExpense, String topExpenseCategory) {
+        StringBuilder out = buffer();
+        digest.render(out, locale, transactionCount, totalIncome, totalExpense, topExpenseCategory);
+        return out.toString();
+    }
+
+    private static StringBuilder buffer() {
+        StringBuilder out = BUFFER.get();
+        if (out.capacity() > MAX_RETAINED_BUFFER) {
+            // Don't keep an unusually large buffer alive on the thread
+            out = new StringBuilder(256);
+            BUFFER.set(out);
+        }
+        out.setLength(0);
+        return out;
+    }
+}
@@ -0,0 +1,141 @@
+package com.fintrack.notificationservice.alert;
+
+import com.fintrack.notificationservice.entity.AlertRule;
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserRuleSetTest {
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void matchesExactAndWildcardBuckets() {
+        UserRuleSet rules = UserRuleSet.compile(List.of(
+                rule(1, "EXPENSE", "FOOD", null, null),
+                rule(2, null, "RENT", null, null)));
+
+        assertTrue(rules.matches(event("expense", "food", null, "5"), NOW, null));
+        assertTrue(rules.matches(event("INCOME", "RENT", null, "5"), NOW, null));
+        assertFalse(rules.matches(event("INCOME", "FOOD", null, "5"), NOW, null));
+        assertFalse(rules.matches(event("EXPENSE", "TRAVEL", null, "5"), NOW, null));
+    }
+
+    @Test
+    void appliesMerchantAndMinimumAmountFilters() {
+        UserRuleSet rules = UserRuleSet.compile(List.of(rule(1, null, null, "Corner Cafe", new BigDecimal("20.00"))));
+
+        assertTrue(rules.matches(event("EXPENSE", "FOOD", "corner cafe", "20"), NOW, null));
+        assertFalse(rules.matches(event("EXPENSE", "FOOD", "corner cafe", "19.99"), NOW, null));
+        assertFalse(rules.matches(event("EXPENSE", "FOOD", "Other Cafe", "50"), NOW, null));
+    }
+
+    @Test
+    void spendLimitFiresOnlyOnTheCrossingEvent() {
+        UserRuleSet rules = UserRuleSet.compile(List.of(spendRule(1, "100", 24)));
+        SpendWindows windows = new SpendWindows();
+
+        assertFalse(rules.matches(event("EXPENSE", "FOOD", null, "60"), NOW, windows));
+        assertTrue(rules.matches(event("EXPENSE", "FOOD", null, "50"), NOW + 1, windows));
+        assertFalse(rules.matches(event("EXPENSE", "FOOD", null, "10"), NOW + 2, windows));
+    }
+
+    @Test
+    void spendWindowForgetsAmountsOlderThanTheWindow() {
+        UserRuleSet rules = UserRuleSet.compile(List.of(spendRule(1, "100", 1)));
+        SpendWindows windows = new SpendWindows();
+
+        rules.matches(event("EXPENSE", "FOOD", null, "90"), NOW, windows);
+
+        assertFalse(rules.matches(event("EXPENSE", "FOOD", null, "20"), NOW + HOUR + 1, windows));
+    }
+
+    @Test
+    void spendWindowsOutliveARuleSetRebuild() {
+        SpendWindows windows = new SpendWindows();
+        UserRuleSet.compile(List.of(spendRule(1, "100", 24)))
+                .matches(event("EXPENSE", "FOOD", null, "60"), NOW, windows);
+
+        UserRuleSet rebuilt = UserRuleSet.compile(List.of(spendRule(1, "100", 24), rule(2, "INCOME", null, null, null)));
+
+        assertTrue(rebuilt.matches(event("EXPENSE", "FOOD", null, "50"), NOW + 1, windows));
+    }
+
+    @Test
+    void dropsWindowsOfRemovedRules() {
+        SpendWindows windows = new SpendWindows();
+        UserRuleSet.compile(List.of(spendRule(1, "100", 24), spendRule(2, "500", 24)))
+                .matches(event("EXPENSE", "FOOD", null, "60"), NOW, windows);
+        assertEquals(2, windows.size());
+
+        UserRuleSet.compile(List.of(spendRule(1, "100", 24)))
+                .matches(event("EXPENSE", "FOOD", null, "1"), NOW + 1, windows);
+
+        assertEquals(1, windows.size());
+    }
+
+    @Test
+    void spendRulesFailOpenWithoutWindows() {
+        UserRuleSet rules = UserRuleSet.compile(List.of(spendRule(1, "100", 24)));
+
+        assertTrue(rules.matches(event("EXPENSE", "FOOD", null, "1"), NOW, null));
+    }
+
+    @Test
+    void spendWindowsRoundTripThroughTheHandoffCodec() throws Exception {
+        UserRuleSet rules = UserRuleSet.compile(List.of(spendRule(1, "100", 24)));
+        SpendWindows windows = new SpendWindows();
+        rules.matches(event("EXPENSE", "FOOD", null, "60"), NOW, windows);
+        rules.matches(event("EXPENSE", "FOOD", null, "30"), NOW + 1, windows);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SpendWindows.CODEC.write(new DataOutputStream(bytes), windows);
+        SpendWindows restored = SpendWindows.CODEC.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertTrue(rules.matches(event("EXPENSE", "FOOD", null, "20"), NOW + 2, restored));
+    }
+
+    @Test
+    void emptyRuleListCompilesToTheSharedEmptySet() {
+        assertTrue(UserRuleSet.compile(List.of()).isEmpty());
+        assertEquals(2, UserRuleSet.compile(List.of(rule(1, null, null, null, null), spendRule(2, "1", 1))).size());
+    }
+
+    private static AlertRule rule(long id, String type, String category, String merchant, BigDecimal minAmount) {
+        AlertRule rule = new AlertRule();
+        rule.setId(id);
+        rule.setTransactionType(type);
+        rule.setCategory(category);
+        rule.setMerchant(merchant);
+        rule.setMinAmount(minAmount);
+        return rule;
+    }
+
+    private static AlertRule spendRule(long id, String limit, int windowHours) {
+        AlertRule rule = rule(id, "EXPENSE", null, null, null);
+        rule.setSpendLimit(new BigDecimal(limit));
+        rule.setWindowHours(windowHours);
+        return rule;
+    }
+
+    private static TransactionCreatedEvent event(String type, String category, String merchant, String amount) {
+        TransactionCreatedEvent event = new TransactionCreatedEvent();
+        event.setUserId(42L);
+        event.setType(type);
+        event.setCategory(category);
+        event.setMerchant(merchant);
+        event.setAmount(new BigDecimal(amount));
+        return event;
+    }
+}
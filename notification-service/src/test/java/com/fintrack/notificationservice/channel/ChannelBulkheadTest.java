@@ -0,0 +1,112 @@
+package com.fintrack.notificationservice.channel;
+
+import com.fintrack.notificationservice.entity.NotificationPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelBulkheadTest {
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<Long, Exception> handedOff = new ConcurrentHashMap<>();
+
+    @Test
+    void partialFailureRetriesOnlyUndeliveredMessages() throws Exception {
+        NotificationMessage ok = message(1);
+        NotificationMessage flaky = message(2);
+        Map<Long, Integer> attempts = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(2);
+        ChannelBulkhead bulkhead = bulkhead(batch -> {
+            for (NotificationMessage message : batch) {
+                attempts.merge(message.getUserId(), 1, Integer::sum);
+            }
+            if (batch.contains(flaky) && attempts.get(2L) == 1) {
+                batch.stream().filter(m -> m != flaky).forEach(m -> done.countDown());
+                throw new PartialDeliveryException(List.of(flaky), new IOException("503"));
+            }
+            batch.forEach(m -> done.countDown());
+        }, 3);
+
+        bulkhead.submit(ok);
+        bulkhead.submit(flaky);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Integer.valueOf(1), attempts.get(1L));
+        assertEquals(Integer.valueOf(2), attempts.get(2L));
+        assertTrue(handedOff.isEmpty());
+        bulkhead.shutdown(1000);
+    }
+
+    @Test
+    void exhaustedMessagesGoToTheFailureHandler() throws Exception {
+        ChannelBulkhead bulkhead = bulkhead(batch -> {
+            throw new IOException("endpoint down");
+        }, 2);
+
+        bulkhead.submit(message(7));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (handedOff.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("endpoint down", handedOff.get(7L).getMessage());
+        bulkhead.shutdown(1000);
+    }
+
+    @Test
+    void shutdownHandsOffQueuedAndHeldMessages() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        ChannelBulkhead bulkhead = bulkhead(batch -> {
+            started.countDown();
+            new CountDownLatch(1).await();
+        }, 1);
+
+        bulkhead.submit(message(1));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        bulkhead.submit(message(2));
+        bulkhead.submit(message(3));
+        bulkhead.shutdown(100);
+
+        assertEquals(3, handedOff.size());
+    }
+
+    private ChannelBulkhead bulkhead(Delivery delivery, int maxAttempts) {
+        NotificationChannel channel = new NotificationChannel() {
+            @Override
+            public String name() {
+                return "test";
+            }
+
+            @Override
+            public boolean isEnabledFor(NotificationPreference preference) {
+                return true;
+            }
+
+            @Override
+            public void deliver(List<NotificationMessage> batch, BiConsumer<NotificationMessage, Exception> lateFailures)
+                    throws Exception {
+                delivery.deliver(List.copyOf(batch));
+            }
+        };
+        return new ChannelBulkhead(channel, 1, 100, 10, maxAttempts, new CircuitBreaker(100, 1000),
+                (message, cause) -> handedOff.put(message.getUserId(), cause), registry);
+    }
+
+    private static NotificationMessage message(long userId) {
+        return new NotificationMessage(userId, "user" + userId + "@example.com", "TEST", "subject", "body", null, 0);
+    }
+
+    private interface Delivery {
+        void deliver(List<NotificationMessage> batch) throws Exception;
+    }
+}
@@ -0,0 +1,232 @@
+package com.fintrack.notificationservice.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Rolling restart of one of two group members against an embedded broker, per rebalance mode
+ * A producer writes to every partition every 20 ms; the longest gap between two consumed records of a partition
+ * while member B restarts is that partition's processing pause. Member A never restarts, so in cooperative mode
+ * with static membership its partitions should not pause at all, while eager mode stops the whole group.
+ */
+@EmbeddedKafka(partitions = RollingRestartPauseTest.PARTITIONS, topics = RollingRestartPauseTest.TOPIC)
+class RollingRestartPauseTest {
+    static final String TOPIC = "rolling-restart";
+    static final int PARTITIONS = 6;
+    private static final long RESTART_DOWNTIME_MS = 1500;
+    private static final int SESSION_TIMEOUT_MS = 10000;
+
+    @Test
+    void staticCooperativeMembersKeepTheirPartitionsThroughARestart(EmbeddedKafkaBroker broker) throws Exception {
+        Result result = rollingRestart(broker, "cooperative", "restart-cooperative");
+
+        // B's instance id rejoins inside the session timeout: no rebalance, A keeps running
+        assertEquals(0, result.revokedFromA);
+        assertTrue(result.maxPauseOnA < RESTART_DOWNTIME_MS, "A paused " + result.maxPauseOnA + " ms");
+    }
+
+    @Test
+    void eagerMembersAllStopDuringARestart(EmbeddedKafkaBroker broker) throws Exception {
+        Result result = rollingRestart(broker, "eager", "restart-eager");
+
+        assertTrue(result.revokedFromA > 0);
+    }
+
+    private Result rollingRestart(EmbeddedKafkaBroker broker, String mode, String groupId) throws Exception {
+        Timeline timeline = new Timeline();
+        try (Feeder feeder = new Feeder(broker.getBrokersAsString())) {
+            Member a = new Member("member-a", consumerConfig(broker, mode, groupId, "member-a"), timeline);
+            Member b = new Member("member-b", consumerConfig(broker, mode, groupId, "member-b"), timeline);
+            awaitSteadyState(timeline, a, b);
+
+            Set<Integer> partitionsOfA = Set.copyOf(a.owned);
+            timeline.startMeasuring();
+            b.close();
+            Thread.sleep(RESTART_DOWNTIME_MS);
+            Member restartedB = new Member("member-b", consumerConfig(broker, mode, groupId, "member-b"), timeline);
+            Thread.sleep(5000);
+
+            Result result = new Result(timeline.maxPause(partitionsOfA), timeline.maxPause(allPartitions()),
+                    a.revokedCount.get());
+            a.close();
+            restartedB.close();
+            System.out.printf("Rolling restart (%s): max pause on the untouched member's partitions %d ms, "
+                            + "on any partition %d ms, partitions revoked from it %d%n",
+                    mode, result.maxPauseOnA, result.maxPauseOverall, result.revokedFromA);
+            return result;
+        }
+    }
+
+    private static Map<String, Object> consumerConfig(EmbeddedKafkaBroker broker, String mode, String groupId,
+                                                      String instanceId) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.putAll(KafkaConsumerConfig.rebalanceProperties(mode, instanceId, SESSION_TIMEOUT_MS));
+        return config;
+    }
+
+    private static void awaitSteadyState(Timeline timeline, Member a, Member b) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (System.currentTimeMillis() < deadline) {
+            if (a.owned.size() + b.owned.size() == PARTITIONS && timeline.consumedEveryPartition()) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Group did not settle: A=" + a.owned + ", B=" + b.owned);
+    }
+
+    private static Set<Integer> allPartitions() {
+        Set<Integer> partitions = new HashSet<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(i);
+        }
+        return partitions;
+    }
+
+    private record Result(long maxPauseOnA, long maxPauseOverall, int revokedFromA) {
+    }
+
+    // Last consumption time per partition and the longest gap since measuring started
+    private static final class Timeline {
+        private final long[] lastConsumedAt = new long[PARTITIONS];
+        private final long[] maxGap = new long[PARTITIONS];
+        private long measuringSince = Long.MAX_VALUE;
+
+        synchronized void consumed(int partition) {
+            long now = System.currentTimeMillis();
+            if (lastConsumedAt[partition] > 0 && now > measuringSince) {
+                maxGap[partition] = Math.max(maxGap[partition], now - Math.max(lastConsumedAt[partition], measuringSince));
+            }
+            lastConsumedAt[partition] = now;
+        }
+
+        synchronized boolean consumedEveryPartition() {
+            for (long at : lastConsumedAt) {
+                if (at == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void startMeasuring() {
+            measuringSince = System.currentTimeMillis();
+        }
+
+        synchronized long maxPause(Set<Integer> partitions) {
+            long now = System.currentTimeMillis();
+            long max = 0;
+            for (int partition : partitions) {
+                // A partition still stalled at the end counts up to now
+                long gap = Math.max(maxGap[partition], now - Math.max(lastConsumedAt[partition], measuringSince));
+                max = Math.max(max, gap);
+            }
+            return max;
+        }
+    }
+
+    private static final class Member implements AutoCloseable {
+        private final Set<Integer> owned = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger revokedCount = new AtomicInteger();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Member(String name, Map<String, Object> config, Timeline timeline) {
+            thread = new Thread(() -> {
+                // A static member's close() does not leave the group, like a container stopping for a restart
+                try (KafkaConsumer<String, String> consumer = new KafkaConsumer<>(config)) {
+                    consumer.subscribe(List.of(TOPIC), new ConsumerRebalanceListener() {
+                        @Override
+                        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                            if (running) {
+                                revokedCount.addAndGet(partitions.size());
+                            }
+                            partitions.forEach(partition -> owned.remove(partition.partition()));
+                        }
+
+                        @Override
+                        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                            partitions.forEach(partition -> owned.add(partition.partition()));
+                        }
+                    });
+                    while (running) {
+                        for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(20))) {
+                            timeline.consumed(record.partition());
+                        }
+                    }
+                }
+            }, name);
+            thread.start();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            running = false;
+            thread.join(10000);
+        }
+    }
+
+    private static final class Feeder implements AutoCloseable {
+        private final KafkaProducer<String, String> producer;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Feeder(String bootstrapServers) {
+            Map<String, Object> config = new HashMap<>();
+            config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+            config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+            config.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+            producer = new KafkaProducer<>(config);
+            thread = new Thread(() -> {
+                while (running) {
+                    for (int partition = 0; partition < PARTITIONS; partition++) {
+                        producer.send(new ProducerRecord<>(TOPIC, partition, null, String.valueOf(System.currentTimeMillis())));
+                    }
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "feeder");
+            thread.start();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            running = false;
+            thread.join(5000);
+            producer.close();
+        }
+    }
+}
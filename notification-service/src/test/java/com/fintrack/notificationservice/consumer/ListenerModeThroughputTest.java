@@ -0,0 +1,167 @@
+package com.fintrack.notificationservice.consumer;
+
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import com.fintrack.notificationservice.state.UserActivity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Events/sec of the record and batch listeners against an embedded broker
+ * - Both read the same number of pre-produced TransactionCreatedEvents (JSON, keyed by userId, 1000 users) through a
+ *   container configured like KafkaConsumerConfig: JsonDeserializer, max.poll.records 500, AckMode.BATCH
+ * - The listeners are the production classes; only the processor behind them is a no-op, so the numbers are the
+ *   consumer path itself (poll, deserialize, listener dispatch, per-user grouping, logging, offset commits)
+ * - Timed from the first processed event to the last, so group join and partition assignment are not counted
+ */
+@EmbeddedKafka(partitions = ListenerModeThroughputTest.PARTITIONS,
+               topics = {ListenerModeThroughputTest.RECORD_TOPIC, ListenerModeThroughputTest.BATCH_TOPIC})
+class ListenerModeThroughputTest {
+    static final int PARTITIONS = 3;
+    static final String RECORD_TOPIC = "throughput-record";
+    static final String BATCH_TOPIC = "throughput-batch";
+    private static final int EVENTS = 20_000;
+    private static final int USERS = 1_000;
+
+    @Test
+    void batchAndRecordListenerThroughput(EmbeddedKafkaBroker broker) throws Exception {
+        produce(broker, RECORD_TOPIC);
+        produce(broker, BATCH_TOPIC);
+
+        double recordRate = consume(broker, RECORD_TOPIC, false);
+        double batchRate = consume(broker, BATCH_TOPIC, true);
+
+        System.out.printf("Listener throughput, %d events: record %.0f events/sec, batch %.0f events/sec (%.1fx)%n",
+                EVENTS, recordRate, batchRate, batchRate / recordRate);
+        assertTrue(recordRate > 0 && batchRate > 0);
+    }
+
+    private static double consume(EmbeddedKafkaBroker broker, String topic, boolean batch) throws InterruptedException {
+        CountingProcessor processor = new CountingProcessor(EVENTS);
+
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        containerProperties.setAckMode(ContainerProperties.AckMode.BATCH);
+        if (batch) {
+            TransactionEventBatchConsumer listener = new TransactionEventBatchConsumer(processor, null);
+            containerProperties.setMessageListener(
+                    (BatchMessageListener<String, TransactionCreatedEvent>) listener::consumeTransactionCreatedEvents);
+        } else {
+            TransactionEventConsumer listener = new TransactionEventConsumer(processor, null);
+            containerProperties.setMessageListener(
+                    (MessageListener<String, TransactionCreatedEvent>) listener::consumeTransactionCreatedEvent);
+        }
+
+        KafkaMessageListenerContainer<String, TransactionCreatedEvent> container =
+                new KafkaMessageListenerContainer<>(consumerFactory(broker, topic), containerProperties);
+        container.start();
+        try {
+            assertTrue(processor.done.await(120, TimeUnit.SECONDS),
+                    (batch ? "batch" : "record") + " listener consumed only " + (EVENTS - processor.done.getCount()));
+        } finally {
+            container.stop();
+        }
+        double seconds = (processor.lastAt.get() - processor.firstAt.get()) / 1e9;
+        return (EVENTS - 1) / seconds;
+    }
+
+    private static DefaultKafkaConsumerFactory<String, TransactionCreatedEvent> consumerFactory(EmbeddedKafkaBroker broker,
+                                                                                                String topic) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, topic + "-group");
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        config.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, TransactionCreatedEvent.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    private static void produce(EmbeddedKafkaBroker broker, String topic) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        try (KafkaProducer<String, TransactionCreatedEvent> producer = new KafkaProducer<>(config)) {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < EVENTS; i++) {
+                TransactionCreatedEvent event = event(i, now);
+                producer.send(new ProducerRecord<>(topic, String.valueOf(event.getUserId()), event));
+            }
+            producer.flush();
+        }
+    }
+
+    private static TransactionCreatedEvent event(int i, LocalDateTime now) {
+        TransactionCreatedEvent event = new TransactionCreatedEvent();
+        event.setTransactionId((long) i);
+        event.setUserId((long) (i % USERS));
+        event.setUserEmail("user" + (i % USERS) + "@example.com");
+        event.setAmount(BigDecimal.valueOf(1000 + i % 50_000, 2));
+        event.setType("EXPENSE");
+        event.setCategory("GROCERIES");
+        event.setDescription("Weekly groceries");
+        event.setTransactionDate(LocalDate.now());
+        event.setMerchant("Whole Foods Market");
+        event.setReferenceNumber("TXN-" + i);
+        event.setCreatedAt(now);
+        event.setEventId("event-" + i);
+        event.setEventTimestamp(now);
+        return event;
+    }
+
+    // The real processor with its collaborators left out: counts events and records when the first and last arrived
+    private static final class CountingProcessor extends TransactionEventProcessor {
+        private final CountDownLatch done;
+        private final AtomicLong firstAt = new AtomicLong();
+        private final AtomicLong lastAt = new AtomicLong();
+
+        CountingProcessor(int events) {
+            super(null, null, null, null, null, null, new SimpleMeterRegistry());
+            this.done = new CountDownLatch(events);
+        }
+
+        @Override
+        public UserActivity activityFor(TopicPartition partition, Long userId) {
+            return null;
+        }
+
+        @Override
+        public void process(TopicPartition partition, UserActivity activity, TransactionCreatedEvent event) {
+            long now = System.nanoTime();
+            firstAt.compareAndSet(0, now);
+            lastAt.set(now);
+            done.countDown();
+        }
+    }
+}
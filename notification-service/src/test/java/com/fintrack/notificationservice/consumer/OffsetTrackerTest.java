@@ -0,0 +1,73 @@
+package com.fintrack.notificationservice.consumer;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffsetTrackerTest {
+    private static final TopicPartition P0 = new TopicPartition("transaction-created-events", 0);
+    private static final TopicPartition P1 = new TopicPartition("transaction-created-events", 1);
+
+    @Test
+    void commitsOnlyTheContiguousCompletedPrefix() {
+        OffsetTracker tracker = new OffsetTracker();
+        for (long offset = 10; offset <= 14; offset++) {
+            tracker.dispatched(P0, offset);
+        }
+        tracker.completed(P0, 10);
+        tracker.completed(P0, 12);
+        tracker.completed(P0, 13);
+
+        // 11 is still running, so nothing past it may be committed
+        assertEquals(Map.of(P0, new OffsetAndMetadata(11)), tracker.commitReady(List.of(P0)));
+
+        tracker.completed(P0, 11);
+        tracker.completed(P0, 14);
+        assertEquals(Map.of(P0, new OffsetAndMetadata(15)), tracker.commitReady(List.of(P0)));
+    }
+
+    @Test
+    void doesNotRecommitAnUnchangedPosition() {
+        OffsetTracker tracker = new OffsetTracker();
+        tracker.dispatched(P0, 5);
+        tracker.completed(P0, 5);
+
+        Map<TopicPartition, OffsetAndMetadata> ready = tracker.commitReady(List.of(P0));
+        tracker.markCommitted(ready);
+
+        assertTrue(tracker.commitReady(List.of(P0)).isEmpty());
+    }
+
+    @Test
+    void onlyReportsOwnedPartitions() {
+        OffsetTracker tracker = new OffsetTracker();
+        tracker.dispatched(P0, 1);
+        tracker.dispatched(P1, 7);
+        tracker.completed(P0, 1);
+        tracker.completed(P1, 7);
+
+        assertEquals(Map.of(P1, new OffsetAndMetadata(8)), tracker.commitReady(List.of(P1)));
+    }
+
+    @Test
+    void tracksInFlightAndForgetsRevokedPartitions() {
+        OffsetTracker tracker = new OffsetTracker();
+        tracker.dispatched(P0, 1);
+        tracker.dispatched(P1, 1);
+
+        assertEquals(2, tracker.inFlight());
+        assertTrue(tracker.hasInFlight(List.of(P0)));
+
+        tracker.remove(List.of(P0));
+        assertFalse(tracker.hasInFlight(List.of(P0)));
+        assertEquals(1, tracker.inFlight());
+        assertTrue(tracker.commitReady(List.of(P0)).isEmpty());
+    }
+}
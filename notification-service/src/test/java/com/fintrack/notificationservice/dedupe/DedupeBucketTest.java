@@ -0,0 +1,96 @@
+package com.fintrack.notificationservice.dedupe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DedupeBucketTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void remembersAddedFingerprints() throws Exception {
+        DedupeBucket bucket = DedupeBucket.open(dir.resolve("b0"), 16);
+
+        assertTrue(bucket.add(7, 42L));
+        assertTrue(bucket.add(7, 42L));
+
+        assertTrue(bucket.contains(42L));
+        assertFalse(bucket.contains(43L));
+        assertEquals(1, bucket.size());
+        assertEquals(7, bucket.bucketIndex());
+    }
+
+    @Test
+    void removeKeepsCollidingFingerprintsReachable() throws Exception {
+        DedupeBucket bucket = DedupeBucket.open(dir.resolve("b0"), 16);
+        // 1, 17 and 33 share home slot 1 in a 16-slot table
+        bucket.add(0, 1L);
+        bucket.add(0, 17L);
+        bucket.add(0, 33L);
+        bucket.add(0, 2L);
+
+        assertTrue(bucket.remove(1L));
+
+        assertFalse(bucket.contains(1L));
+        assertTrue(bucket.contains(17L));
+        assertTrue(bucket.contains(33L));
+        assertTrue(bucket.contains(2L));
+        assertFalse(bucket.remove(1L));
+        assertEquals(3, bucket.size());
+    }
+
+    @Test
+    void refusesNewFingerprintsPastTheLoadLimit() throws Exception {
+        DedupeBucket bucket = DedupeBucket.open(dir.resolve("b0"), 16);
+        for (long fingerprint = 1; fingerprint <= 12; fingerprint++) {
+            assertTrue(bucket.add(0, fingerprint));
+        }
+
+        assertFalse(bucket.add(0, 100L));
+        assertFalse(bucket.contains(100L));
+    }
+
+    @Test
+    void wipesAnExpiredSliceOnFirstAddToTheNewOne() throws Exception {
+        DedupeBucket bucket = DedupeBucket.open(dir.resolve("b0"), 16);
+        bucket.add(3, 42L);
+
+        bucket.add(5, 99L);
+
+        assertFalse(bucket.contains(42L));
+        assertTrue(bucket.contains(99L));
+        assertEquals(5, bucket.bucketIndex());
+        assertEquals(1, bucket.size());
+    }
+
+    @Test
+    void reopensWithItsContents() throws Exception {
+        Path file = dir.resolve("b0");
+        DedupeBucket bucket = DedupeBucket.open(file, 16);
+        bucket.add(9, 42L);
+        bucket.force();
+
+        DedupeBucket reopened = DedupeBucket.open(file, 16);
+
+        assertTrue(reopened.contains(42L));
+        assertEquals(9, reopened.bucketIndex());
+        assertEquals(1, reopened.size());
+    }
+
+    @Test
+    void startsEmptyWhenTheCapacityChanged() throws Exception {
+        Path file = dir.resolve("b0");
+        DedupeBucket.open(file, 16).add(9, 42L);
+
+        DedupeBucket resized = DedupeBucket.open(file, 32);
+
+        assertFalse(resized.contains(42L));
+        assertEquals(-1, resized.bucketIndex());
+    }
+}
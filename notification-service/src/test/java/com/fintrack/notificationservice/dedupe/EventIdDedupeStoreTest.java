@@ -0,0 +1,65 @@
+package com.fintrack.notificationservice.dedupe;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventIdDedupeStoreTest {
+    @TempDir
+    Path dir;
+
+    private EventIdDedupeStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new EventIdDedupeStore(true, dir.toString(), 24, 24, 1024);
+        store.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void claimsAnEventIdOnlyOnce() {
+        assertTrue(store.markIfAbsent("evt-1"));
+        assertFalse(store.markIfAbsent("evt-1"));
+        assertTrue(store.markIfAbsent("evt-2"));
+    }
+
+    @Test
+    void releasedEventIdCanBeClaimedAgain() {
+        store.markIfAbsent("evt-1");
+
+        store.release("evt-1");
+
+        assertTrue(store.markIfAbsent("evt-1"));
+    }
+
+    @Test
+    void survivesAReopen() throws Exception {
+        store.markIfAbsent("evt-1");
+        store.close();
+
+        store = new EventIdDedupeStore(true, dir.toString(), 24, 24, 1024);
+        store.open();
+
+        assertFalse(store.markIfAbsent("evt-1"));
+    }
+
+    @Test
+    void claimsEverythingWhenDisabled() {
+        EventIdDedupeStore disabled = new EventIdDedupeStore(false, dir.toString(), 24, 24, 1024);
+
+        assertTrue(disabled.markIfAbsent("evt-1"));
+        assertTrue(disabled.markIfAbsent("evt-1"));
+        assertTrue(store.markIfAbsent(null));
+    }
+}
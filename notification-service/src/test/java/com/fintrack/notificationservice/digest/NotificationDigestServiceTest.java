@@ -0,0 +1,116 @@
+package com.fintrack.notificationservice.digest;
+
+import com.fintrack.notificationservice.channel.NotificationDispatcher;
+import com.fintrack.notificationservice.event.TransactionCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDigestServiceTest {
+    private static final TopicPartition P0 = new TopicPartition("transaction-created-events", 0);
+    private static final TopicPartition P1 = new TopicPartition("transaction-created-events", 1);
+
+    @TempDir
+    Path dir;
+
+    private final RecordingDispatcher dispatcher = new RecordingDispatcher();
+
+    @Test
+    void partitionAssignedBackKeepsItsOpenWindows() {
+        NotificationDigestService service = service();
+        service.add(P0, event(1L, "12.50"));
+
+        // Eager rebalance: everything is revoked, then the same partition comes back
+        service.onPartitionsRevoked(List.of(P0));
+        service.onPartitionsAssigned(List.of(P0));
+        service.flushClosedWindows();
+
+        assertTrue(dispatcher.sent.isEmpty());
+    }
+
+    @Test
+    void partitionMovedElsewhereIsFlushedOnce() {
+        NotificationDigestService service = service();
+        service.add(P0, event(1L, "12.50"));
+        service.add(P0, event(1L, "7.50"));
+        service.add(P1, event(2L, "3.00"));
+
+        service.onPartitionsRevoked(List.of(P0, P1));
+        service.onPartitionsAssigned(List.of(P1));
+
+        assertEquals(List.of("1:2"), dispatcher.sent);
+        service.onPartitionsAssigned(List.of());
+        service.flushClosedWindows();
+        assertEquals(List.of("1:2"), dispatcher.sent);
+    }
+
+    @Test
+    void retriedEventsDoNotFollowPartitions() {
+        NotificationDigestService service = service();
+        service.add(null, event(3L, "1.00"));
+
+        service.onPartitionsRevoked(List.of(P0, P1));
+        service.onPartitionsAssigned(List.of());
+
+        assertTrue(dispatcher.sent.isEmpty());
+    }
+
+    @Test
+    void restoredWindowsWaitForTheFirstAssignment() {
+        NotificationDigestService before = service();
+        before.add(P0, event(1L, "12.50"));
+        before.add(P1, event(2L, "3.00"));
+        before.shutdown();
+
+        NotificationDigestService after = service();
+        after.restore();
+        assertTrue(dispatcher.sent.isEmpty());
+
+        // P1 went to another instance while this one was down
+        after.onPartitionsAssigned(List.of(P0));
+        assertEquals(List.of("2:1"), dispatcher.sent);
+
+        after.onPartitionsRevoked(List.of(P0));
+        after.onPartitionsAssigned(List.of());
+        assertEquals(List.of("2:1", "1:1"), dispatcher.sent);
+    }
+
+    private NotificationDigestService service() {
+        return new NotificationDigestService(dispatcher, true, DigestWindow.TUMBLING, 900_000, 300_000, 3_600_000,
+                dir.resolve("digest.checkpoint").toString());
+    }
+
+    private static TransactionCreatedEvent event(long userId, String amount) {
+        TransactionCreatedEvent event = new TransactionCreatedEvent();
+        event.setUserId(userId);
+        event.setUserEmail("user" + userId + "@example.com");
+        event.setAmount(new BigDecimal(amount));
+        event.setType("EXPENSE");
+        event.setCategory("GROCERIES");
+        return event;
+    }
+
+    // No channels: records "userId:transactionCount" per digest instead of sending it
+    private static final class RecordingDispatcher extends NotificationDispatcher {
+        private final List<String> sent = new ArrayList<>();
+
+        RecordingDispatcher() {
+            super(List.of(), null, null, null, null, null, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public void dispatchDigest(long userId, String email, int transactionCount, BigDecimal totalIncome,
+                                   BigDecimal totalExpense, String topExpenseCategory) {
+            sent.add(userId + ":" + transactionCount);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fintrack.notificationservice.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * End-to-end against an in-process GreenMail SMTP server: real sockets, pooled connections, batching.
+ * The throughput/latency line printed by the first test is the number to compare across engine changes.
+ */
+class MailDeliveryEngineTest {
+    private static final int MAILS = 1000;
+    private static final int UNREACHABLE_PORT = 3026;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final List<MailDeliveryEngine> engines = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (MailDeliveryEngine engine : engines) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void deliversEveryMailOverPooledConnections() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MailDeliveryEngine engine = engine(registry, ServerSetupTest.SMTP.getPort(), 5);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MAILS; i++) {
+            engine.submit(new OutgoingMail("user" + i + "@fintrack.test", "Transaction alert " + i, "Body " + i));
+        }
+        assertTrue(greenMail.waitForIncomingEmail(60_000, MAILS));
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertEquals(MAILS, greenMail.getReceivedMessages().length);
+        assertEquals(MAILS, registry.get("notification.mail.sent").counter().count(), 0.0);
+
+        Timer latency = registry.get("notification.mail.delivery.latency").timer();
+        StringBuilder percentiles = new StringBuilder();
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            percentiles.append(String.format(" p%.0f=%.1fms", value.percentile() * 100, value.value(TimeUnit.MILLISECONDS)));
+        }
+        System.out.printf("GreenMail: %d mails in %.2fs = %.0f mails/s, enqueue-to-accept latency mean=%.1fms%s%n",
+                MAILS, seconds, MAILS / seconds, latency.mean(TimeUnit.MILLISECONDS), percentiles);
+    }
+
+    @Test
+    void requeuesMailsUntilTheServerComesBack() throws Exception {
+        GreenMail lateServer = new GreenMail(new ServerSetup(UNREACHABLE_PORT, null, ServerSetup.PROTOCOL_SMTP));
+        AtomicReference<Exception> gaveUp = new AtomicReference<>();
+        MailDeliveryEngine engine = engine(new SimpleMeterRegistry(), UNREACHABLE_PORT, 10);
+        try {
+            engine.submit(new OutgoingMail("late@fintrack.test", "Transaction alert", "Body", gaveUp::set));
+            // The first attempts hit a closed port
+            Thread.sleep(300);
+            lateServer.start();
+
+            assertTrue(lateServer.waitForIncomingEmail(10_000, 1));
+            assertNull(gaveUp.get());
+        } finally {
+            lateServer.stop();
+        }
+    }
+
+    @Test
+    void handsTheMailBackAfterMaxAttempts() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CompletableFuture<Exception> gaveUp = new CompletableFuture<>();
+        MailDeliveryEngine engine = engine(registry, UNREACHABLE_PORT, 3);
+
+        engine.submit(new OutgoingMail("nobody@fintrack.test", "Transaction alert", "Body", gaveUp::complete));
+
+        assertNotNull(gaveUp.get(10, TimeUnit.SECONDS));
+        assertEquals(1, registry.get("notification.mail.failed").counter().count(), 0.0);
+        assertEquals(2, registry.get("notification.mail.retried").counter().count(), 0.0);
+    }
+
+    @Test
+    void interruptedBatchHandsItsUnsentMailsBack() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // One worker, one send every two seconds, 200 ms to drain: the worker is parked on the rate limiter
+        // with the rest of its batch when shutdown interrupts it
+        MailDeliveryEngine engine = new MailDeliveryEngine(registry, true, "localhost", ServerSetupTest.SMTP.getPort(),
+                "", "", false, 5000, "no-reply@fintrack.com", 1, 1, 100, 10, 0.5, 1000, 200, 5, 50, 200);
+        engine.start();
+
+        List<CompletableFuture<Exception>> failures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<Exception> failure = new CompletableFuture<>();
+            failures.add(failure);
+            engine.submit(new OutgoingMail("user" + i + "@fintrack.test", "Transaction alert " + i, "Body " + i,
+                    failure::complete));
+        }
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 1));
+        engine.shutdown();
+
+        assertNotNull(failures.get(1).get(5, TimeUnit.SECONDS));
+        assertNotNull(failures.get(2).get(5, TimeUnit.SECONDS));
+        assertFalse(failures.get(0).isDone());
+        assertEquals(2, registry.get("notification.mail.failed").counter().count(), 0.0);
+    }
+
+    private MailDeliveryEngine engine(SimpleMeterRegistry registry, int port, int maxAttempts) {
+        MailDeliveryEngine engine = new MailDeliveryEngine(registry, true, "localhost", port, "", "", false, 5000,
+                "no-reply@fintrack.com", 4, 4, 10000, 50, 100000, 1000, 10000, maxAttempts, 50, 200);
+        engine.start();
+        engines.add(engine);
+        return engine;
+    }
+}
@@ -0,0 +1,89 @@
+package com.fintrack.notificationservice.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationLogTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysPendingNotificationsWithTheirKind() throws Exception {
+        Path path = dir.resolve("scheduled.log");
+        try (NotificationLog log = new NotificationLog(path)) {
+            log.open();
+            log.appendScheduled(new ScheduledNotification(1, 7, "a@x.com", "s", "quiet hours", 1_000));
+            log.appendScheduled(new ScheduledNotification(2, 7, "a@x.com", "s", "reminder", 2_000, true));
+            log.appendScheduled(new ScheduledNotification(3, 8, "b@x.com", "s", "done", 3_000));
+            log.appendDone(3);
+        }
+
+        List<ScheduledNotification> pending = reopen(path);
+
+        assertEquals(2, pending.size());
+        assertEquals(1, pending.get(0).getId());
+        assertEquals(false, pending.get(0).isReminder());
+        assertEquals(2, pending.get(1).getId());
+        assertTrue(pending.get(1).isReminder());
+        assertEquals("reminder", pending.get(1).getBody());
+    }
+
+    @Test
+    void rejectedNotificationLeavesTheLogIntact() throws Exception {
+        Path path = dir.resolve("scheduled.log");
+        try (NotificationLog log = new NotificationLog(path)) {
+            log.open();
+            log.appendScheduled(new ScheduledNotification(1, 7, "a@x.com", "s", "first", 1_000));
+            log.flush(false);
+            long size = Files.size(path);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> log.appendScheduled(new ScheduledNotification(2, 7, null, "s", "no email", 2_000)));
+            assertThrows(IllegalArgumentException.class,
+                    () -> log.appendScheduled(new ScheduledNotification(3, 7, "a@x.com", "s", "x".repeat(70_000), 3_000)));
+            log.flush(false);
+            assertEquals(size, Files.size(path));
+
+            log.appendScheduled(new ScheduledNotification(4, 7, "a@x.com", "s", "after", 4_000));
+        }
+
+        List<ScheduledNotification> pending = reopen(path);
+
+        assertEquals(2, pending.size());
+        assertEquals(1, pending.get(0).getId());
+        assertEquals(4, pending.get(1).getId());
+    }
+
+    @Test
+    void compactionKeepsReminderFlag() throws Exception {
+        Path path = dir.resolve("scheduled.log");
+        try (NotificationLog log = new NotificationLog(path)) {
+            log.open();
+            log.appendScheduled(new ScheduledNotification(1, 7, "a@x.com", "s", "reminder", 1_000, true));
+            log.appendScheduled(new ScheduledNotification(2, 7, "a@x.com", "s", "sent", 2_000));
+            log.appendDone(2);
+            log.compact(List.of(new ScheduledNotification(1, 7, "a@x.com", "s", "reminder", 1_000, true)));
+            assertEquals(0, log.doneRecords());
+        }
+
+        List<ScheduledNotification> pending = reopen(path);
+
+        assertEquals(1, pending.size());
+        assertTrue(pending.get(0).isReminder());
+    }
+
+    private static List<ScheduledNotification> reopen(Path path) throws Exception {
+        try (NotificationLog log = new NotificationLog(path)) {
+            return new ArrayList<>(log.open());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.fintrack.notificationservice.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+    private static final long TICK = 10;
+
+    @Test
+    void rejectsNodesThatAreAlreadyDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 2, 1_000);
+
+        assertFalse(wheel.add(new TimingWheel.Node<>("past", 500)));
+        assertFalse(wheel.add(new TimingWheel.Node<>("current tick", 1_005)));
+        assertTrue(wheel.add(new TimingWheel.Node<>("next tick", 1_010)));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void expiresWithinOneTickOfDueTime() {
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 8, 2, 0);
+        Random random = new Random(42);
+        int added = 0;
+        for (int i = 0; i < 500; i++) {
+            // Spans level 0 (80 ms), level 1 (640 ms) and beyond the wheel's reach
+            long dueAt = TICK + random.nextInt(2_000);
+            if (wheel.add(new TimingWheel.Node<>(dueAt, dueAt))) {
+                added++;
+            }
+        }
+        assertEquals(500, added);
+
+        Map<Long, Long> expiredAt = new HashMap<>();
+        List<Long> order = new ArrayList<>();
+        for (long now = 0; now <= 2_100; now++) {
+            long time = now;
+            wheel.advanceTo(now, node -> {
+                expiredAt.merge(node.value, time, Math::max);
+                order.add(node.value);
+            });
+        }
+
+        assertEquals(500, order.size());
+        assertEquals(0, wheel.size());
+        for (Map.Entry<Long, Long> entry : expiredAt.entrySet()) {
+            long dueAt = entry.getKey();
+            long at = entry.getValue();
+            assertTrue(at >= dueAt - TICK, "expired too early: due " + dueAt + ", at " + at);
+            assertTrue(at <= dueAt, "expired late: due " + dueAt + ", at " + at);
+        }
+        for (int i = 1; i < order.size(); i++) {
+            assertTrue(order.get(i) / TICK >= order.get(i - 1) / TICK, "expired out of tick order");
+        }
+    }
+
+    @Test
+    void largeJumpExpiresEverythingDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 3, 0);
+        wheel.add(new TimingWheel.Node<>("soon", 50));
+        wheel.add(new TimingWheel.Node<>("level one", 300));
+        wheel.add(new TimingWheel.Node<>("level two", 3_000));
+        wheel.add(new TimingWheel.Node<>("later", 9_000));
+
+        List<String> expired = new ArrayList<>();
+        wheel.advanceTo(5_000, node -> expired.add(node.value));
+
+        assertEquals(List.of("soon", "level one", "level two"), expired);
+        assertEquals(1, wheel.size());
+        List<String> remaining = new ArrayList<>();
+        wheel.forEach(node -> remaining.add(node.value));
+        assertEquals(List.of("later"), remaining);
+    }
+}
@@ -0,0 +1,83 @@
+package com.fintrack.notificationservice.security;
+
+import com.fintrack.common.security.IdentityAssertion;
+import com.fintrack.common.security.JwtTokenService;
+import com.fintrack.notificationservice.dto.UserContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtAuthenticationFilterTest {
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256";
+
+    private final JwtTokenService jwtTokenService = new JwtTokenService(SECRET, 60_000);
+    private final IdentityAssertion identityAssertion = new IdentityAssertion(SECRET, 30_000);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtTokenService, identityAssertion, true);
+
+    @Test
+    void acceptsSignedGatewayHeaders() throws Exception {
+        MockHttpServletRequest request = request("/api/notifications/inbox");
+        request.addHeader(IdentityAssertion.USER_ID_HEADER, "42");
+        request.addHeader(IdentityAssertion.USER_EMAIL_HEADER, "user@example.com");
+        request.addHeader(IdentityAssertion.ASSERTION_HEADER,
+                identityAssertion.sign(42L, "user@example.com", System.currentTimeMillis()));
+
+        MockFilterChain chain = run(request, 200);
+
+        UserContext user = (UserContext) request.getAttribute(JwtAuthenticationFilter.USER_CONTEXT_ATTRIBUTE);
+        assertEquals(Long.valueOf(42), user.getUserId());
+        assertEquals("user@example.com", user.getEmail());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void rejectsUnsignedOrForgedUserHeaders() throws Exception {
+        MockHttpServletRequest unsigned = request("/api/notifications/alert-rules");
+        unsigned.addHeader(IdentityAssertion.USER_ID_HEADER, "42");
+        assertNull(run(unsigned, 401).getRequest());
+
+        MockHttpServletRequest forged = request("/api/notifications/alert-rules");
+        forged.addHeader(IdentityAssertion.USER_ID_HEADER, "43");
+        forged.addHeader(IdentityAssertion.USER_EMAIL_HEADER, "user@example.com");
+        forged.addHeader(IdentityAssertion.ASSERTION_HEADER,
+                identityAssertion.sign(42L, "user@example.com", System.currentTimeMillis()));
+        assertNull(run(forged, 401).getRequest());
+        assertNull(forged.getAttribute(JwtAuthenticationFilter.USER_CONTEXT_ATTRIBUTE));
+    }
+
+    @Test
+    void acceptsBearerTokenAndRejectsBadOnes() throws Exception {
+        MockHttpServletRequest request = request("/api/notifications/preferences");
+        request.addHeader("Authorization", "Bearer " + jwtTokenService.generateToken("user@example.com", 7L));
+        run(request, 200);
+        UserContext user = (UserContext) request.getAttribute(JwtAuthenticationFilter.USER_CONTEXT_ATTRIBUTE);
+        assertEquals(Long.valueOf(7), user.getUserId());
+
+        MockHttpServletRequest bad = request("/api/notifications/preferences");
+        bad.addHeader("Authorization", "Bearer not-a-token");
+        assertNull(run(bad, 401).getRequest());
+    }
+
+    @Test
+    void leavesAdminAndActuatorPathsAlone() throws Exception {
+        assertNotNull(run(request("/api/notifications/dlt/replay"), 200).getRequest());
+        assertNotNull(run(request("/actuator/health"), 200).getRequest());
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    private MockFilterChain run(MockHttpServletRequest request, int expectedStatus) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        assertEquals(expectedStatus, response.getStatus());
+        return chain;
+    }
+}
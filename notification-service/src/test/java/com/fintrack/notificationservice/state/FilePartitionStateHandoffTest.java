@@ -0,0 +1,82 @@
+package com.fintrack.notificationservice.state;
+
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilePartitionStateHandoffTest {
+    private static final TopicPartition P0 = new TopicPartition("transaction-created-events", 0);
+    private static final TopicPartition P1 = new TopicPartition("transaction-created-events", 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void restartedOwnerGetsTheReleasedStateBack() {
+        FilePartitionStateHandoff<UserActivity> handoff = handoff(60000);
+        UserActivity activity = new UserActivity();
+        activity.record(7L, LocalDateTime.of(2026, 1, 2, 3, 4, 5, 600));
+        activity.record(8L, LocalDateTime.of(2026, 1, 2, 3, 4, 6));
+
+        handoff.release(P0, Map.of(42L, activity));
+        Map<Long, UserActivity> restored = handoff.restore(P0);
+
+        UserActivity restoredActivity = restored.get(42L);
+        assertEquals(2, restoredActivity.getEventCount());
+        assertEquals(Long.valueOf(8L), restoredActivity.getLastTransactionId());
+        assertEquals(LocalDateTime.of(2026, 1, 2, 3, 4, 6), restoredActivity.getLastEventTimestamp());
+    }
+
+    @Test
+    void stateIsRestoredOnlyOnce() {
+        FilePartitionStateHandoff<UserActivity> handoff = handoff(60000);
+        handoff.release(P0, Map.of(42L, new UserActivity()));
+
+        handoff.restore(P0);
+
+        assertTrue(handoff.restore(P0).isEmpty());
+        assertFalse(Files.exists(dir.resolve("user-activity-transaction-created-events-0.state")));
+    }
+
+    @Test
+    void ignoresStateOlderThanMaxAge() throws Exception {
+        FilePartitionStateHandoff<UserActivity> handoff = handoff(50);
+        handoff.release(P0, Map.of(42L, new UserActivity()));
+
+        // The partition may have been owned and changed elsewhere meanwhile
+        Thread.sleep(100);
+
+        assertTrue(handoff.restore(P0).isEmpty());
+    }
+
+    @Test
+    void keepsPartitionsApart() {
+        FilePartitionStateHandoff<UserActivity> handoff = handoff(60000);
+        handoff.release(P0, Map.of(1L, new UserActivity()));
+        handoff.release(P1, Map.of(2L, new UserActivity(), 3L, new UserActivity()));
+
+        assertEquals(List.of(1L), List.copyOf(handoff.restore(P0).keySet()));
+        assertEquals(2, handoff.restore(P1).size());
+    }
+
+    @Test
+    void startsEmptyOnACorruptFile() throws Exception {
+        Files.write(dir.resolve("user-activity-transaction-created-events-0.state"), new byte[] {1, 2, 3});
+
+        assertTrue(handoff(60000).restore(P0).isEmpty());
+    }
+
+    private FilePartitionStateHandoff<UserActivity> handoff(long maxAgeMs) {
+        return new FilePartitionStateHandoff<>(dir, "user-activity", UserActivity.CODEC, maxAgeMs);
+    }
+}
@@ -0,0 +1,74 @@
+package com.fintrack.notificationservice.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledTemplateTest {
+    private static final CompiledTemplate ALERT = CompiledTemplate.compile(
+            "{type} of {amount:money} for {category}{merchant? at }", "type", "amount", "category", "merchant");
+
+    @Test
+    void rendersEveryPlaceholderKind() {
+        assertEquals("EXPENSE of $1,234.50 for FOOD at Cafe",
+                render(ALERT, Locale.US, "EXPENSE", new BigDecimal("1234.5"), "FOOD", "Cafe"));
+    }
+
+    @Test
+    void dropsOptionalPlaceholderAndPrefixWhenNull() {
+        assertEquals("INCOME of $10.00 for SALARY",
+                render(ALERT, Locale.US, "INCOME", new BigDecimal("10"), "SALARY", null));
+    }
+
+    @Test
+    void formatsMoneyForTheLocale() {
+        // CLDR puts a no-break space before the symbol
+        assertEquals("EXPENSE of 1.234,50\u00a0€ for FOOD",
+                render(ALERT, Locale.GERMANY, "EXPENSE", new BigDecimal("1234.5"), "FOOD", null));
+    }
+
+    @Test
+    void formatsIntegralNumbersWithoutAFormatter() {
+        CompiledTemplate template = CompiledTemplate.compile("{count:number} / {ratio:number}", "count", "ratio");
+
+        assertEquals("12345 / 1,234.5", render(template, Locale.US, 12345, new BigDecimal("1234.5")));
+    }
+
+    @Test
+    void namedPlaceholdersCanRepeatAndComeInAnyOrder() {
+        CompiledTemplate template = CompiledTemplate.compile("{b}-{a}-{b}", "a", "b");
+
+        assertEquals("2-1-2", render(template, Locale.US, "1", "2"));
+    }
+
+    @Test
+    void appendsToTheGivenBuffer() {
+        StringBuilder out = new StringBuilder("> ");
+
+        ALERT.render(out, Locale.US, "EXPENSE", new BigDecimal("5"), "FOOD", null);
+
+        assertEquals("> EXPENSE of $5.00 for FOOD", out.toString());
+    }
+
+    @Test
+    void rejectsMalformedTemplatesAtCompileTime() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{type", "type"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{kind}", "type"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{type:date}", "type"));
+    }
+
+    @Test
+    void rejectsTheWrongNumberOfArguments() {
+        assertThrows(IllegalArgumentException.class, () -> render(ALERT, Locale.US, "EXPENSE", BigDecimal.ONE));
+    }
+
+    private static String render(CompiledTemplate template, Locale locale, Object... args) {
+        StringBuilder out = new StringBuilder();
+        template.render(out, locale, args);
+        return out.toString();
+    }
+}
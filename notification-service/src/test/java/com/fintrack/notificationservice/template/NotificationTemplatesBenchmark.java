@@ -0,0 +1,61 @@
+package com.fintrack.notificationservice.template;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compiled templates vs the String.format rendering they replaced, per message
+ * Run: mvn -pl notification-service test-compile, then main() with the test classpath
+ * (or org.openjdk.jmh.Main NotificationTemplatesBenchmark); add -prof gc for allocation per op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationTemplatesBenchmark {
+    private final NotificationTemplates templates = new NotificationTemplates("en-US", "", "");
+    private final BigDecimal amount = new BigDecimal("1234.56");
+    private final BigDecimal income = new BigDecimal("5200.00");
+    private final BigDecimal expense = new BigDecimal("3187.45");
+
+    @Benchmark
+    public String transactionAlertCompiled() {
+        return templates.transactionAlert("EXPENSE", amount, "FOOD", "Corner Cafe");
+    }
+
+    @Benchmark
+    public String transactionAlertStringFormat() {
+        return String.format("💰 Transaction Alert: %s of $%.2f for %s%s",
+                "EXPENSE", amount, "FOOD", " at " + "Corner Cafe");
+    }
+
+    @Benchmark
+    public String digestCompiled() {
+        return templates.digest(42, income, expense, "RENT");
+    }
+
+    @Benchmark
+    public String digestStringFormat() {
+        return String.format("📊 Transaction Digest: %d transactions, income $%.2f, expenses $%.2f%s",
+                42, income, expense, ", largest expense in " + "RENT");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NotificationTemplatesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -2,7 +2,9 @@ package com.fintrack.transactionservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication(scanBasePackages = {"com.fintrack.transactionservice", "com.fintrack.common"})
 public class TransactionServiceApplication {
     public static void main(String[] args) {
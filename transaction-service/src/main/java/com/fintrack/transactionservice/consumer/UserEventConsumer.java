@@ -0,0 +1,58 @@
+package com.fintrack.transactionservice.consumer;
+
+import com.fintrack.transactionservice.directory.UserDirectory;
+import com.fintrack.transactionservice.event.UserEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/*
+ * Feeds the local UserDirectory from the compacted user-events topic
+ * - The group id is unique per replica (user-directory.consumer-group), so each replica is assigned every partition
+ *   instead of sharing them with the other replicas and missing their users
+ * - Positions come from the directory snapshot; the group's committed offsets are ignored
+ */
+@Component
+public class UserEventConsumer implements ConsumerSeekAware {
+    private static final Logger log = LoggerFactory.getLogger(UserEventConsumer.class);
+
+    private final UserDirectory userDirectory;
+
+    public UserEventConsumer(UserDirectory userDirectory) {
+        this.userDirectory = userDirectory;
+    }
+
+    @KafkaListener(topics = "${kafka.topic.user-events}",
+                   groupId = "${user-directory.consumer-group}",
+                   containerFactory = "userEventListenerContainerFactory")
+    public void consumeUserEvent(ConsumerRecord<String, UserEvent> record) {
+        UserEvent event = record.value();
+        if (event == null || event.getUserId() == null) {
+            log.warn("Skipping user event without userId at partition={} offset={}", record.partition(), record.offset());
+            return;
+        }
+
+        log.debug("Applying user event: eventId={}, eventType={}, userId={}",
+                event.getEventId(), event.getEventType(), event.getUserId());
+        userDirectory.apply(event.getUserId(), event.getEmail(), record.partition(), record.offset());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        // Resume right after the snapshot, or replay the partition if the snapshot has never seen it
+        assignments.keySet().forEach(partition -> {
+            Long lastApplied = userDirectory.lastAppliedOffset(partition.partition());
+            if (lastApplied == null) {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            } else {
+                callback.seek(partition.topic(), partition.partition(), lastApplied + 1);
+            }
+        });
+    }
+}
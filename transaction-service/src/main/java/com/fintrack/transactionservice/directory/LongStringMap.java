@@ -0,0 +1,113 @@
+package com.fintrack.transactionservice.directory;
+
+import java.util.Arrays;
+
+/*
+ * Open-addressing hash map from primitive long keys to String values.
+ * - No boxing of keys and no per-entry node objects, so a million users costs two flat arrays
+ * - Key 0 marks an empty slot (user ids are database IDENTITY values starting at 1)
+ * - Not thread-safe, callers guard it (see UserDirectory)
+ */
+class LongStringMap {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private String[] values;
+    private int size;
+    private int resizeThreshold;
+
+    LongStringMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    String get(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        long current;
+        while ((current = keys[slot]) != 0L) {
+            if (current == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    void put(long key, String value) {
+        if (key == 0L) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        long current;
+        while ((current = keys[slot]) != 0L) {
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0L) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        String[] oldValues = values;
+        allocate(newCapacity);
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new String[capacity];
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Sequential ids would cluster under linear probing, so mix the bits first (murmur3 finalizer)
+    private static int slot(long key, int mask) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    interface Visitor {
+        void visit(long key, String value);
+    }
+}
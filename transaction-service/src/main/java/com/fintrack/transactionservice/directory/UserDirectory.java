@@ -0,0 +1,184 @@
+/*
+ * Local userId -> email directory fed by the user-events topic
+ * 1. UserEventConsumer applies every USER_REGISTERED / USER_UPDATED event
+ * 2. Transaction events are enriched from memory, no call to user-service per transaction
+ * 3. Snapshot (entries + consumed offsets) is written to disk so a restart resumes from the
+ *    snapshot instead of replaying the whole topic
+ */
+package com.fintrack.transactionservice.directory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class UserDirectory {
+    private static final Logger log = LoggerFactory.getLogger(UserDirectory.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x46545544; // "FTUD"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final LongStringMap emails = new LongStringMap(1024);
+    private final Map<Integer, Long> partitionOffsets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean dirty;
+
+    @Value("${user-directory.snapshot-path}")
+    private String snapshotPath;
+
+    @PostConstruct
+    public void loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            log.info("No user directory snapshot at {}, directory will be rebuilt from the topic", path);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            readSnapshot(in);
+            log.info("Loaded user directory snapshot: users={}, partitions={}", emails.size(), partitionOffsets.size());
+        } catch (IOException e) {
+            // A corrupt snapshot only costs a full replay of the topic
+            log.warn("Failed to load user directory snapshot {}, rebuilding from the topic: {}", path, e.getMessage());
+            emails.clear();
+            partitionOffsets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public String findEmail(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            return emails.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void apply(long userId, String email, int partition, long offset) {
+        lock.writeLock().lock();
+        try {
+            if (email != null) {
+                emails.put(userId, email);
+            }
+            partitionOffsets.put(partition, offset);
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Last offset applied for the partition, or null if the snapshot has nothing for it
+    public Long lastAppliedOffset(int partition) {
+        lock.readLock().lock();
+        try {
+            return partitionOffsets.get(partition);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user-directory.snapshot-interval-ms:30000}")
+    public void snapshotIfDirty() {
+        if (dirty) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshotIfDirty();
+    }
+
+    private void writeSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        // Hold the read lock for the whole write so entries and offsets stay consistent
+        lock.readLock().lock();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (OutputStream file = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                writeSnapshot(out);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+            log.debug("Wrote user directory snapshot: users={}", emails.size());
+        } catch (IOException e) {
+            log.error("Failed to write user directory snapshot to {}: {}", path, e.getMessage(), e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+
+        out.writeInt(partitionOffsets.size());
+        for (Map.Entry<Integer, Long> entry : partitionOffsets.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+
+        out.writeInt(emails.size());
+        IOException[] failure = new IOException[1];
+        emails.forEach((userId, email) -> {
+            if (failure[0] != null) {
+                return;
+            }
+            try {
+                out.writeLong(userId);
+                out.writeUTF(email);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    private void readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+            throw new IOException("Unrecognized snapshot format");
+        }
+
+        int partitions = in.readInt();
+        for (int i = 0; i < partitions; i++) {
+            partitionOffsets.put(in.readInt(), in.readLong());
+        }
+
+        int users = in.readInt();
+        for (int i = 0; i < users; i++) {
+            emails.put(in.readLong(), in.readUTF());
+        }
+    }
+}
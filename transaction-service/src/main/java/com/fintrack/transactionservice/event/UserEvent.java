@@ -0,0 +1,67 @@
+package com.fintrack.transactionservice.event;
+
+import java.time.LocalDateTime;
+
+/*
+ * Consumer-side view of the user-service UserEvent (USER_REGISTERED / USER_UPDATED)
+ */
+public class UserEvent {
+    private String eventId;
+    private String eventType;
+    private Long userId;
+    private String email;
+    private Boolean active;
+    private LocalDateTime eventTimestamp;
+
+    public UserEvent() {
+    }
+
+    // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getEventTimestamp() {
+        return eventTimestamp;
+    }
+
+    public void setEventTimestamp(LocalDateTime eventTimestamp) {
+        this.eventTimestamp = eventTimestamp;
+    }
+}
@@ -1,12 +1,17 @@
 package com.fintrack.transactionservice.security;
 
+import com.fintrack.common.security.IdentityAssertion;
+import com.fintrack.common.security.JwtIdentity;
+import com.fintrack.common.security.JwtTokenService;
 import com.fintrack.transactionservice.dto.UserContext;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,16 +26,36 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
-    private final JwtUtil jwtUtil;
+    private final JwtTokenService jwtTokenService;
+    private final IdentityAssertion identityAssertion;
+    private final boolean trustGateway;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, IdentityAssertion identityAssertion,
+                                   @Value("${internal-auth.trust-gateway:true}") boolean trustGateway) {
+        this.jwtTokenService = jwtTokenService;
+        this.identityAssertion = identityAssertion;
+        this.trustGateway = trustGateway;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        // Trusted-internal mode: the gateway already verified the JWT and signed the identity headers
+        final String assertion = request.getHeader(IdentityAssertion.ASSERTION_HEADER);
+        if (trustGateway && assertion != null) {
+            String userIdHeader = request.getHeader(IdentityAssertion.USER_ID_HEADER);
+            String email = request.getHeader(IdentityAssertion.USER_EMAIL_HEADER);
+            if (!identityAssertion.verify(assertion, userIdHeader, email, System.currentTimeMillis())) {
+                log.warn("Gateway identity assertion rejected");
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return;
+            }
+            authenticate(request, Long.valueOf(userIdHeader), email);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -38,43 +63,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        final JwtIdentity identity;
         try {
-            final String jwt = authHeader.substring(7);
-
-            if (jwtUtil.validateToken(jwt)) {
-                Long userId = jwtUtil.extractUserId(jwt);
-                String email = jwtUtil.extractUsername(jwt);
-
-                // Store user context in request attribute (for controller use)
-                UserContext userContext = UserContext.builder()
-                        .userId(userId)
-                        .email(email)
-                        .build();
-                request.setAttribute("userContext", userContext);
-                
-                // Set Spring Security Authentication in SecurityContext
-                // This tells Spring Security that the user is authenticated
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        email, // principal
-                        null,  // credentials (not needed for JWT)
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")) // authorities
-                );
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                
-                log.debug("Authenticated user: userId={}, email={}", userId, email);
-            } else {
-                log.warn("JWT token validation failed - token is invalid or expired");
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                return;
-            }
-        } catch (Exception e) {
-            log.error("JWT validation error: {}", e.getMessage(), e);
+            // Signature, expiry and claims in one parse
+            identity = jwtTokenService.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("JWT token validation failed - token is invalid or expired: {}", e.getMessage());
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
 
+        authenticate(request, identity.getUserId(), identity.getSubject());
         filterChain.doFilter(request, response);
     }
-}
 
+    private void authenticate(HttpServletRequest request, Long userId, String email) {
+        // Store user context in request attribute (for controller use)
+        UserContext userContext = UserContext.builder()
+                .userId(userId)
+                .email(email)
+                .build();
+        request.setAttribute("userContext", userContext);
+
+        // Set Spring Security Authentication in SecurityContext
+        // This tells Spring Security that the user is authenticated
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                email, // principal
+                null,  // credentials (not needed for JWT)
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")) // authorities
+        );
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        log.debug("Authenticated user: userId={}, email={}", userId, email);
+    }
+}
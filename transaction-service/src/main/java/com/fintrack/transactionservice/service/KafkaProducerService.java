@@ -32,7 +32,7 @@ public class KafkaProducerService {
             CompletableFuture<SendResult<String, TransactionCreatedEvent>> future = 
                     kafkaTemplate.send(
                         transactionCreatedTopic, 
-                        event.getTransactionId().toString(), // Key
+                        event.getUserId().toString(), // Key: same partition (and order) for all of a user's events
                         event  // Value
                     );
 
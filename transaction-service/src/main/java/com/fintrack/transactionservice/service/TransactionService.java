@@ -2,6 +2,7 @@ package com.fintrack.transactionservice.service;
 
 import com.fintrack.common.dto.ApiResponse;
 import com.fintrack.common.exception.ResourceNotFoundException;
+import com.fintrack.transactionservice.directory.UserDirectory;
 import com.fintrack.transactionservice.dto.*;
 import com.fintrack.transactionservice.entity.Transaction;
 import com.fintrack.transactionservice.entity.TransactionCategory;
@@ -29,11 +30,14 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final KafkaProducerService kafkaProducerService;  // NEW!
+    private final UserDirectory userDirectory;
 
     public TransactionService(TransactionRepository transactionRepository,
-                             KafkaProducerService kafkaProducerService) {  // NEW!
+                             KafkaProducerService kafkaProducerService,  // NEW!
+                             UserDirectory userDirectory) {
         this.transactionRepository = transactionRepository;
         this.kafkaProducerService = kafkaProducerService;  // NEW!
+        this.userDirectory = userDirectory;
     }
 
     @Transactional
@@ -69,7 +73,7 @@ public class TransactionService {
                     .eventTimestamp(LocalDateTime.now())
                     .transactionId(transaction.getId())
                     .userId(transaction.getUserId())
-                    .userEmail("user-" + transaction.getUserId() + "@fintrack.com") // Will get from User Service later
+                    .userEmail(resolveUserEmail(transaction.getUserId()))
                     .amount(transaction.getAmount())
                     .type(transaction.getType())
                     .category(transaction.getCategory())
@@ -89,6 +93,16 @@ public class TransactionService {
         }
     }
     
+    private String resolveUserEmail(Long userId) {
+        String email = userDirectory.findEmail(userId);
+        if (email == null) {
+            // Directory hasn't seen this user yet (e.g. registered before user-events existed)
+            log.warn("No directory entry for user: {}, using placeholder email", userId);
+            return "user-" + userId + "@fintrack.com";
+        }
+        return email;
+    }
+
     public ApiResponse<TransactionResponse> getTransactionById(Long transactionId, Long userId) {
         log.info("Fetching transaction ID: {} for user: {}", transactionId, userId);
 
@@ -0,0 +1,69 @@
+package com.fintrack.transactionservice.directory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongStringMapTest {
+
+    @Test
+    void putGetAndOverwrite() {
+        LongStringMap map = new LongStringMap(16);
+        map.put(1L, "a@fintrack.com");
+        map.put(2L, "b@fintrack.com");
+        map.put(1L, "a2@fintrack.com");
+
+        assertEquals("a2@fintrack.com", map.get(1L));
+        assertEquals("b@fintrack.com", map.get(2L));
+        assertNull(map.get(3L));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void growsPastInitialCapacityWithoutLosingEntries() {
+        LongStringMap map = new LongStringMap(4);
+        for (long id = 1; id <= 100_000; id++) {
+            map.put(id, "user" + id);
+        }
+
+        assertEquals(100_000, map.size());
+        for (long id = 1; id <= 100_000; id++) {
+            assertEquals("user" + id, map.get(id));
+        }
+        assertNull(map.get(100_001L));
+    }
+
+    @Test
+    void forEachVisitsEveryEntryOnce() {
+        LongStringMap map = new LongStringMap(16);
+        for (long id = 1; id <= 1000; id++) {
+            map.put(id * 7919, "u" + id);
+        }
+
+        Map<Long, String> seen = new HashMap<>();
+        map.forEach((key, value) -> assertNull(seen.put(key, value)));
+        assertEquals(1000, seen.size());
+        assertEquals("u5", seen.get(5L * 7919));
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongStringMap map = new LongStringMap(16);
+        map.put(42L, "x");
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(42L));
+    }
+
+    @Test
+    void rejectsReservedZeroKey() {
+        LongStringMap map = new LongStringMap(16);
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "x"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.fintrack.userservice.config;
+
+import com.fintrack.userservice.event.UserEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaProducerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${kafka.topic.user-events}")
+    private String userEventsTopic;
+
+    @Value("${kafka.topic.user-events-partitions:3}")
+    private int userEventsPartitions;
+
+    // Compacted: consumers rebuild their user directory from the beginning, so the latest event per user must never expire
+    @Bean
+    public NewTopic userEventsTopic() {
+        return TopicBuilder.name(userEventsTopic)
+                .partitions(userEventsPartitions)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, UserEvent> producerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        // Consumers bind to their own event classes, so don't add type info headers
+        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, UserEvent> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+}
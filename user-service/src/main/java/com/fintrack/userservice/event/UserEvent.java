@@ -0,0 +1,132 @@
+package com.fintrack.userservice.event;
+
+import java.time.LocalDateTime;
+
+public class UserEvent {
+    private String eventId;
+    private UserEventType eventType;
+    private Long userId;
+    private String email;
+    private Boolean active;
+    private LocalDateTime eventTimestamp;
+
+    public UserEvent() {
+    }
+
+    public UserEvent(String eventId, UserEventType eventType, Long userId, String email,
+                     Boolean active, LocalDateTime eventTimestamp) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.userId = userId;
+        this.email = email;
+        this.active = active;
+        this.eventTimestamp = eventTimestamp;
+    }
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private String eventId;
+        private UserEventType eventType;
+        private Long userId;
+        private String email;
+        private Boolean active;
+        private LocalDateTime eventTimestamp;
+
+        public Builder eventId(String eventId) {
+            this.eventId = eventId;
+            return this;
+        }
+
+        public Builder eventType(UserEventType eventType) {
+            this.eventType = eventType;
+            return this;
+        }
+
+        public Builder userId(Long userId) {
+            this.userId = userId;
+            return this;
+        }
+
+        public Builder email(String email) {
+            this.email = email;
+            return this;
+        }
+
+        public Builder active(Boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        public Builder eventTimestamp(LocalDateTime eventTimestamp) {
+            this.eventTimestamp = eventTimestamp;
+            return this;
+        }
+
+        public UserEvent build() {
+            return new UserEvent(eventId, eventType, userId, email, active, eventTimestamp);
+        }
+    }
+
+    // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public UserEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(UserEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public LocalDateTime getEventTimestamp() {
+        return eventTimestamp;
+    }
+
+    public void setEventTimestamp(LocalDateTime eventTimestamp) {
+        this.eventTimestamp = eventTimestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "UserEvent{" +
+                "eventId='" + eventId + '\'' +
+                ", eventType=" + eventType +
+                ", userId=" + userId +
+                ", eventTimestamp=" + eventTimestamp +
+                '}';
+    }
+}
@@ -0,0 +1,6 @@
+package com.fintrack.userservice.event;
+
+public enum UserEventType {
+    USER_REGISTERED,
+    USER_UPDATED
+}
@@ -5,15 +5,23 @@
  * 3. Validates the token
  * 4. If valid -> tells Spring Security "this user is authenticated"
  * 5. If invalid -> request continues but user is NOT authenticated (will be blocked by protected endpoints)
+ * Behind the gateway (internal-auth.trust-gateway), a valid signed X-User_Assertion is accepted instead:
+ * no JWT parsing and no user lookup
  */
 
 package com.fintrack.userservice.security;
 
+import com.fintrack.common.security.IdentityAssertion;
+import com.fintrack.common.security.JwtIdentity;
+import com.fintrack.common.security.JwtTokenService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -21,15 +29,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtUtil jwtUtil;
+    private final JwtTokenService jwtTokenService;
     private final CustomUserDetailsService userDetailsService;
+    private final IdentityAssertion identityAssertion;
+    private final boolean trustGateway;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(JwtTokenService jwtTokenService, CustomUserDetailsService userDetailsService,
+                                   IdentityAssertion identityAssertion,
+                                   @Value("${internal-auth.trust-gateway:true}") boolean trustGateway) {
+        this.jwtTokenService = jwtTokenService;
         this.userDetailsService = userDetailsService;
+        this.identityAssertion = identityAssertion;
+        this.trustGateway = trustGateway;
     }
 
     @Override
@@ -37,9 +52,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         // This method runs for EVERY request
 
+        // Trusted-internal mode: the gateway already verified the JWT and signed the identity headers
+        final String assertion = request.getHeader(IdentityAssertion.ASSERTION_HEADER);
+        if (trustGateway && assertion != null) {
+            String email = request.getHeader(IdentityAssertion.USER_EMAIL_HEADER);
+            if (identityAssertion.verify(assertion, request.getHeader(IdentityAssertion.USER_ID_HEADER), email,
+                    System.currentTimeMillis())) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        email,
+                        null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
+            // An invalid assertion leaves the request unauthenticated, same as an invalid JWT
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
+        final JwtIdentity identity;
 
         // Check if auth header is valid
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -47,16 +79,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtUtil.extractUsername(jwt);
+        // Validate JWT token (signature + expiry, one parse)
+        try {
+            identity = jwtTokenService.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
         // if statement check if the user is already authenticated or not
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
             // Load user data from database
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(identity.getSubject());
 
-            // Validate JWT token
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (userDetails.getUsername().equals(identity.getSubject())) {
                 // Spring Security's way of representing "this user is authenticated"
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -0,0 +1,47 @@
+package com.fintrack.userservice.service;
+
+import com.fintrack.userservice.event.UserEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class KafkaProducerService {
+    private static final Logger log = LoggerFactory.getLogger(KafkaProducerService.class);
+
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+
+    @Value("${kafka.topic.user-events}")
+    private String userEventsTopic;
+
+    public KafkaProducerService(KafkaTemplate<String, UserEvent> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public void publishUserEvent(UserEvent event) {
+        log.info("Publishing user event: eventId={}, eventType={}, userId={}",
+                event.getEventId(), event.getEventType(), event.getUserId());
+
+        try {
+            // Keyed by userId: the compacted topic (see KafkaProducerConfig) keeps the latest state per user
+            kafkaTemplate.send(userEventsTopic, event.getUserId().toString(), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            log.info("Successfully published user event: eventId={} to topic={} partition={} offset={}",
+                                    event.getEventId(),
+                                    result.getRecordMetadata().topic(),
+                                    result.getRecordMetadata().partition(),
+                                    result.getRecordMetadata().offset());
+                        } else {
+                            log.error("Failed to publish user event: eventId={}, error={}",
+                                    event.getEventId(), ex.getMessage(), ex);
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("Exception while publishing user event: eventId={}, error={}",
+                    event.getEventId(), e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.fintrack.userservice.service;
+
+import com.fintrack.userservice.entity.User;
+import com.fintrack.userservice.event.UserEvent;
+import com.fintrack.userservice.event.UserEventType;
+import com.fintrack.userservice.repository.UserRepository;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * Republishes every existing user to the compacted user-events topic on startup
+ * - if-empty (default): only when nothing has ever been written to the topic, i.e. the first start after the
+ *   topic was introduced; later starts of any replica leave it alone
+ * - always: on every start, e.g. once by hand to repair events lost to a failed publish
+ * - never: off
+ * Idempotent either way: consumers keep only the latest email per userId and compaction keeps only the latest record.
+ */
+@Component
+public class UserEventBackfill {
+    private static final Logger log = LoggerFactory.getLogger(UserEventBackfill.class);
+
+    private final UserRepository userRepository;
+    private final KafkaProducerService kafkaProducerService;
+    private final KafkaAdmin kafkaAdmin;
+
+    // if-empty | always | never
+    @Value("${kafka.user-events.backfill:if-empty}")
+    private String mode;
+
+    @Value("${kafka.topic.user-events}")
+    private String userEventsTopic;
+
+    @Value("${kafka.user-events.backfill-page-size:500}")
+    private int pageSize;
+
+    public UserEventBackfill(UserRepository userRepository, KafkaProducerService kafkaProducerService,
+                             KafkaAdmin kafkaAdmin) {
+        this.userRepository = userRepository;
+        this.kafkaProducerService = kafkaProducerService;
+        this.kafkaAdmin = kafkaAdmin;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if ("never".equals(mode)) {
+            return;
+        }
+        if (!"always".equals(mode) && !topicIsEmpty()) {
+            log.debug("Skipping user-events backfill, topic {} already has events", userEventsTopic);
+            return;
+        }
+        long lastId = 0L;
+        int published = 0;
+        List<User> page;
+        do {
+            page = userRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize));
+            for (User user : page) {
+                kafkaProducerService.publishUserEvent(UserEvent.builder()
+                        .eventId(UUID.randomUUID().toString())
+                        .eventType(UserEventType.USER_UPDATED)
+                        .userId(user.getId())
+                        .email(user.getEmail())
+                        .active(user.getActive())
+                        .eventTimestamp(LocalDateTime.now())
+                        .build());
+                lastId = user.getId();
+                published++;
+            }
+        } while (page.size() == pageSize);
+        log.info("Backfilled user-events with {} existing users", published);
+    }
+
+    // True only if no partition of the topic has ever been written to (end offset 0 everywhere)
+    private boolean topicIsEmpty() {
+        try (AdminClient admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            TopicDescription topic = admin.describeTopics(List.of(userEventsTopic))
+                    .allTopicNames().get(10, TimeUnit.SECONDS).get(userEventsTopic);
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            topic.partitions().forEach(p -> latest.put(new TopicPartition(userEventsTopic, p.partition()), OffsetSpec.latest()));
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> offsets =
+                    admin.listOffsets(latest).all().get(10, TimeUnit.SECONDS);
+            return offsets.values().stream().allMatch(info -> info.offset() == 0);
+        } catch (ExecutionException | TimeoutException e) {
+            // Publishing would fail just the same; the next start tries again
+            log.warn("Could not read the end offsets of {}, skipping backfill: {}", userEventsTopic, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
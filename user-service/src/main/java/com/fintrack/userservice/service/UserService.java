@@ -2,14 +2,16 @@ package com.fintrack.userservice.service;
 
 import com.fintrack.common.dto.ApiResponse;
 import com.fintrack.common.exception.ResourceNotFoundException;
+import com.fintrack.common.security.JwtTokenService;
 import com.fintrack.userservice.dto.AuthResponse;
 import com.fintrack.userservice.dto.LoginRequest;
 import com.fintrack.userservice.dto.RegisterRequest;
 import com.fintrack.userservice.dto.UserResponse;
 import com.fintrack.userservice.entity.User;
 import com.fintrack.userservice.entity.UserRole;
+import com.fintrack.userservice.event.UserEvent;
+import com.fintrack.userservice.event.UserEventType;
 import com.fintrack.userservice.repository.UserRepository;
-import com.fintrack.userservice.security.JwtUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,6 +21,11 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Service
 public class UserService {
@@ -26,16 +33,18 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JwtUtil jwtUtil;
+    private final JwtTokenService jwtTokenService;
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
+    private final KafkaProducerService kafkaProducerService;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, AuthenticationManager authenticationManager, UserDetailsService userDetailsService) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenService jwtTokenService, AuthenticationManager authenticationManager, UserDetailsService userDetailsService, KafkaProducerService kafkaProducerService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.jwtUtil = jwtUtil;
+        this.jwtTokenService = jwtTokenService;
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
+        this.kafkaProducerService = kafkaProducerService;
     }
 
     @Transactional  // Ensure database operations are atomic (all or nothing)
@@ -61,8 +70,10 @@ public class UserService {
         user = userRepository.save(user);   // Save to database
         log.info("User registered successfully with ID: {}", user.getId());
 
+        publishUserEvent(user, UserEventType.USER_REGISTERED);
+
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String token = jwtUtil.generateToken(userDetails, user.getId());
+        String token = jwtTokenService.generateToken(userDetails.getUsername(), user.getId());
 
         AuthResponse authResponse = AuthResponse.builder()
                 .token(token)
@@ -75,6 +86,38 @@ public class UserService {
         return ApiResponse.success("User registered successfully", authResponse);
     }
 
+    // Published only once the user row is committed, so a rolled-back registration never reaches the directories
+    private void publishUserEvent(User user, UserEventType eventType) {
+        UserEvent event = UserEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .eventType(eventType)
+                .userId(user.getId())
+                .email(user.getEmail())
+                .active(user.getActive())
+                .eventTimestamp(LocalDateTime.now())
+                .build();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendUserEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendUserEvent(event);
+            }
+        });
+    }
+
+    private void sendUserEvent(UserEvent event) {
+        try {
+            kafkaProducerService.publishUserEvent(event);
+        } catch (Exception e) {
+            // Downstream directories catch up from the next event or the startup backfill, don't fail registration
+            log.error("Failed to publish {} event for user: {}", event.getEventType(), event.getUserId(), e);
+        }
+    }
+
     public ApiResponse<AuthResponse> login(LoginRequest request) {
         log.info("Login attempt for email: {}", request.getEmail());
 
@@ -86,7 +129,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found!"));
         
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String token = jwtUtil.generateToken(userDetails, user.getId());    // Generate a new JWT token upon login for fresh session
+        String token = jwtTokenService.generateToken(userDetails.getUsername(), user.getId());    // Generate a new JWT token upon login for fresh session
 
         AuthResponse authResponse = AuthResponse.builder()
                 .token(token)